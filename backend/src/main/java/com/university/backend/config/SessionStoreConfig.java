@@ -0,0 +1,35 @@
+package com.university.backend.config;
+
+import com.university.backend.session.InMemorySessionStore;
+import com.university.backend.session.JdbcSessionStore;
+import com.university.backend.session.SessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Picks the session store from session.store: "memory" (compact in-process store), "jdbc" (app_sessions
+ * table) or "servlet" (default; no SessionStore bean, the container's HttpSession is used as before).
+ * "token" also registers no store: TokenAuthenticationFilter makes requests stateless instead.
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "session.store", havingValue = "memory")
+    public SessionStore inMemorySessionStore(
+            @Value("${session.memory.capacity:65536}") int capacity,
+            @Value("${session.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        return new InMemorySessionStore(capacity, idleTimeoutMinutes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "session.store", havingValue = "jdbc")
+    public SessionStore jdbcSessionStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${session.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        return new JdbcSessionStore(jdbcTemplate, idleTimeoutMinutes);
+    }
+}
@@ -30,6 +30,17 @@ public class AnnouncementController {
         return ResponseEntity.ok(announcements);
     }
 
+    // Keyset-paged feed, newest first; pass the returned nextCursor to get the following page
+    @GetMapping("/feed")
+    public ResponseEntity<?> getAnnouncementFeed(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(announcementService.getAnnouncementFeed(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // NEW: Fetch a single announcement by ID for the details page
     @GetMapping("/{id}")
     public ResponseEntity<AnnouncementDTO> getAnnouncementById(@PathVariable Integer id) {
@@ -1,44 +1,74 @@
 package com.university.backend.controller;
+import com.university.backend.dto.LoginPrincipalDTO;
 import com.university.backend.dto.LoginRequest;
 import com.university.backend.dto.LoginResponse;
 import com.university.backend.service.AuthService;
+import com.university.backend.service.PasswordHashingService;
+import com.university.backend.session.AuthTokenService;
+import com.university.backend.session.SessionStore;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class AuthController {
 
     private final AuthService authService;
+    private final PasswordHashingService passwordHashingService;
+    private final ObjectProvider<SessionStore> sessionStore;
+    private final ObjectProvider<AuthTokenService> authTokenService;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, PasswordHashingService passwordHashingService,
+                          ObjectProvider<SessionStore> sessionStore,
+                          ObjectProvider<AuthTokenService> authTokenService) {
         this.authService = authService;
+        this.passwordHashingService = passwordHashingService;
+        this.sessionStore = sessionStore;
+        this.authTokenService = authTokenService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpSession session)
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpSession session,
+                                               HttpServletResponse response)
     {
         String username = loginRequest.getUsername();
         String password = loginRequest.getPassword();
 
-        // TODO: Check if username and password are correct
-        boolean isValid = authService.authenticate(username, password);
-
-        if (isValid) {
-            String userRole = authService.getUserRole(username);
-            int accountID = authService.getAccountID(username);
-            int userID = authService.getUserID(accountID);
+        // Account, role and user id are resolved together (one query, or none when cached)
+        Optional<LoginPrincipalDTO> principal;
+        try {
+            principal = authService.login(username, password);
+        } catch (IllegalStateException e) {
+            // Password hashing pool is saturated; ask the client to retry instead of piling up
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(new LoginResponse(e.getMessage()));
+        }
 
+        if (principal.isPresent()) {
+            String userRole = principal.get().getRole();
+            int accountID = principal.get().getAccountId();
+            int userID = principal.get().getUserId() != null ? principal.get().getUserId() : 0;
 
-            session.setAttribute("user", username);
-            session.setAttribute("userRole", userRole);
-            session.setAttribute("accountID", accountID);
-            session.setAttribute("userID", userID);
+            AuthTokenService tokens = authTokenService.getIfAvailable();
+            if (tokens != null) {
+                // Stateless mode: the signed token replaces the session
+                response.addCookie(tokens.cookie(tokens.issue(userID, userRole, accountID)));
+            } else {
+                session.setAttribute("user", username);
+                session.setAttribute("userRole", userRole);
+                session.setAttribute("accountID", accountID);
+                session.setAttribute("userID", userID);
+            }
 
             System.out.println("Login successful! User: " + username + ", Role: " + userRole + ", Account ID: " + accountID + ", User ID: " + userID);
-            System.out.println(session.getAttribute("userID"));
             return ResponseEntity.ok(new LoginResponse("Login successful", userRole));
         } else {
             System.out.println("Login Failed!");
@@ -55,6 +85,33 @@ public class AuthController {
         return ResponseEntity.ok(new LoginResponse("Logged out successfully"));
     }
 
+    // Admin: password hashing pool metrics (queue depth, rejections, average wait and hash time)
+    @GetMapping("/hashing-metrics")
+    public ResponseEntity<?> getHashingMetrics(HttpSession session) {
+        if (!"ADMIN".equals(session.getAttribute("userRole"))) {
+            return ResponseEntity.status(403).body(new LoginResponse("Access denied. Admin role required."));
+        }
+        return ResponseEntity.ok(passwordHashingService.getMetrics());
+    }
+
+    // Admin: session store metrics (live sessions, approximate bytes per session, evictions)
+    @GetMapping("/session-metrics")
+    public ResponseEntity<?> getSessionMetrics(HttpSession session) {
+        if (!"ADMIN".equals(session.getAttribute("userRole"))) {
+            return ResponseEntity.status(403).body(new LoginResponse("Access denied. Admin role required."));
+        }
+        AuthTokenService tokens = authTokenService.getIfAvailable();
+        if (tokens != null) {
+            return ResponseEntity.ok(tokens.getMetrics());
+        }
+        SessionStore store = sessionStore.getIfAvailable();
+        if (store == null) {
+            // Container-managed sessions; nothing to report from here
+            return ResponseEntity.ok(Map.of("store", "servlet"));
+        }
+        return ResponseEntity.ok(store.getMetrics());
+    }
+
     // Simple credential check (you'll replace this later)
     private boolean checkCredentials(String username, String password) {
         // For now, just check against hardcoded values
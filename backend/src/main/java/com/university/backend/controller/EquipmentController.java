@@ -4,7 +4,10 @@
     import com.university.backend.dto.AddEquipmentDTOs.CreateEquipmentResponseDTO;
     import com.university.backend.dto.AddEquipmentDTOs.EquipmentAttributeDTO;
     import com.university.backend.dto.EquipmentAllocationDTO;
+    import com.university.backend.dto.EquipmentAllocationPageDTO;
     import com.university.backend.dto.EquipmentDTO;
+    import com.university.backend.dto.EquipmentImportResultDTO;
+    import com.university.backend.dto.EquipmentSearchPageDTO;
     import com.university.backend.model.Department;
     import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentAttributes;
     import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentEntities;
@@ -14,12 +17,15 @@
     import com.university.backend.repository.DepartmentRepository;
     import com.university.backend.repository.StaffMemberRepository;
     import com.university.backend.repository.StudentRepository;
+    import com.university.backend.service.EquipmentImportService;
     import com.university.backend.service.EquipmentService;
     import lombok.RequiredArgsConstructor;
     import org.springframework.http.ResponseEntity;
     import org.springframework.web.bind.annotation.*;
     import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentAttributeRepository;
 
+    import java.io.InputStream;
+    import java.util.LinkedHashMap;
     import java.util.List;
     import java.util.Map;
 
@@ -31,6 +37,7 @@
     public class EquipmentController {
 
         private final EquipmentService equipmentService;
+        private final EquipmentImportService equipmentImportService;
         private final EquipmentAttributeRepository equipmentAttributeRepository;
 
         @GetMapping("/filters/departments")
@@ -51,6 +58,22 @@
             return ResponseEntity.ok(studentEquipments);
         }
 
+        // Paged listing of all allocations: /allocations?allocatedToType=FACULTY&allocatedToId=12&cursor=...&limit=100
+        // Replaces calling the three /filters endpoints; the response also carries per-type counts
+        @GetMapping("/allocations")
+        public ResponseEntity<?> getAllocations(@RequestParam(required = false) String allocatedToType,
+                                                @RequestParam(required = false) Integer allocatedToId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+            try {
+                EquipmentAllocationPageDTO page = equipmentService.getAllocationsPage(
+                        allocatedToType, allocatedToId, cursor, limit);
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
         @GetMapping("/{equipmentId}")
         public ResponseEntity<List<EquipmentDTO>> getEquipmentById(@PathVariable Integer equipmentId) {
             List<EquipmentDTO> equipmentValues = equipmentService.getEquipmentById(equipmentId);
@@ -62,6 +85,41 @@
             equipmentService.addEquipment(equipment);
         }
 
+        // Bulk import from a CSV request body (Content-Type: text/csv), streamed row by row
+        @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+        public ResponseEntity<?> importEquipment(InputStream csv) {
+            try {
+                EquipmentImportResultDTO result = equipmentImportService.importCsv(csv);
+                return ResponseEntity.ok(result);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
+        // Attribute search: /search?name=projector&attr.HDMI=yes&allocatedToType=DEPARTMENT&allocatedToId=3
+        // Every "attr.<attribute name>" parameter is one condition; all conditions must match
+        @GetMapping("/search")
+        public ResponseEntity<?> searchEquipment(@RequestParam(required = false) String name,
+                                                 @RequestParam(required = false) String allocatedToType,
+                                                 @RequestParam(required = false) Integer allocatedToId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam Map<String, String> params) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            params.forEach((key, value) -> {
+                if (key.startsWith("attr.") && key.length() > 5) {
+                    attributes.put(key.substring(5), value);
+                }
+            });
+            try {
+                EquipmentSearchPageDTO page = equipmentService.searchEquipment(
+                        name, attributes, allocatedToType, allocatedToId, cursor, limit);
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
         @GetMapping("/departments/list")
         public ResponseEntity<List<Department>> getAllDepartments() {
             List<Department> departments = equipmentService.getAllDepartments();
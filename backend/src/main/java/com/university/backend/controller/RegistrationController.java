@@ -1,10 +1,15 @@
 package com.university.backend.controller;
 
+import com.university.backend.dto.RegistrationConfigUpdateDTO;
 import com.university.backend.dto.RegistrationRequestDTO;
 import com.university.backend.dto.RegistrationResponseDTO;
+import com.university.backend.dto.RegistrationTicketDTO;
+import com.university.backend.model.RegistrationConfig;
 import com.university.backend.service.RegistrationService;
+import com.university.backend.service.RegistrationSurgeQueue;
 import com.university.backend.service.RegistrationService.RegistrationStatusDTO;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
@@ -15,13 +20,16 @@ import java.util.Map;
 public class RegistrationController {
 
     private final RegistrationService registrationService;
+    private final RegistrationSurgeQueue registrationSurgeQueue;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService,
+                                  RegistrationSurgeQueue registrationSurgeQueue) {
         this.registrationService = registrationService;
+        this.registrationSurgeQueue = registrationSurgeQueue;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<RegistrationResponseDTO> registerForCourse(
+    public ResponseEntity<?> registerForCourse(
             @RequestBody RegistrationRequestDTO request,
             HttpSession session) {
 
@@ -34,6 +42,25 @@ public class RegistrationController {
             return ResponseEntity.status(401).body(errorResponse);
         }
 
+        // Surge mode: accept into the queue and answer with a ticket to poll
+        if (registrationSurgeQueue.isEnabled()) {
+            if (request.getCourseId() == null) {
+                RegistrationResponseDTO errorResponse = new RegistrationResponseDTO();
+                errorResponse.setSuccess(false);
+                errorResponse.setMessage("Course ID is required");
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+
+            RegistrationTicketDTO ticket = registrationSurgeQueue.submit(studentId, request.getCourseId());
+            if (ticket == null) {
+                RegistrationResponseDTO busyResponse = new RegistrationResponseDTO();
+                busyResponse.setSuccess(false);
+                busyResponse.setMessage("Registration is busy. Please try again in a few seconds");
+                return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").body(busyResponse);
+            }
+            return ResponseEntity.accepted().body(ticket);
+        }
+
         RegistrationResponseDTO response = registrationService.registerForCourse(studentId, request);
 
         if (response.isSuccess()) {
@@ -43,6 +70,28 @@ public class RegistrationController {
         }
     }
 
+    // Result of a registration queued in surge mode
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<?> getRegistrationTicket(@PathVariable String ticketId, HttpSession session) {
+        Integer studentId = (Integer) session.getAttribute("userID");
+
+        if (studentId == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "message", "Please login first"
+            ));
+        }
+
+        RegistrationTicketDTO ticket = registrationSurgeQueue.getTicket(ticketId, studentId);
+        if (ticket == null) {
+            return ResponseEntity.status(404).body(Map.of(
+                    "success", false,
+                    "message", "Ticket not found or expired"
+            ));
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
     @GetMapping("/status")
     public ResponseEntity<?> getRegistrationStatus(HttpSession session) {
         Integer studentId = (Integer) session.getAttribute("userID");
@@ -67,4 +116,36 @@ public class RegistrationController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    // Admin: change registration settings (credit limit, open/closed, current term)
+    @PutMapping("/config")
+    public ResponseEntity<?> updateRegistrationConfig(@RequestBody RegistrationConfigUpdateDTO changes, HttpSession session) {
+        String userRole = (String) session.getAttribute("userRole");
+
+        if (session.getAttribute("userID") == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "message", "Please login first"
+            ));
+        }
+        if (!"ADMIN".equals(userRole)) {
+            return ResponseEntity.status(403).body(Map.of(
+                    "success", false,
+                    "message", "Access denied. Admin role required."
+            ));
+        }
+
+        try {
+            RegistrationConfig config = registrationService.updateRegistrationConfig(changes);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "config", config
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.university.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.backend.dto.BookingRequestDTO;
+import com.university.backend.dto.RecurringBookingRequestDTO;
+import com.university.backend.dto.RecurringBookingResponseDTO;
 import com.university.backend.dto.RoomAvailabilityDTO;
 import com.university.backend.dto.RoomDTO;
 import com.university.backend.model.Booking;
+import com.university.backend.service.RoomAvailabilityRange;
 import com.university.backend.service.RoomService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import jakarta.servlet.http.HttpSession;
 import com.university.backend.dto.BookingResponseDTO;
@@ -22,10 +33,12 @@ import com.university.backend.dto.BookingResponseDTO;
 public class RoomController {
 
     private final RoomService roomService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, ObjectMapper objectMapper) {
         this.roomService = roomService;
+        this.objectMapper = objectMapper;
     }
 
     // Endpoint: GET http://localhost:8080/api/rooms/availability?date=...&roomType=...
@@ -41,6 +54,46 @@ public class RoomController {
         return roomService.getAvailableRooms(date, roomType);
     }
 
+    // Endpoint: GET http://localhost:8080/api/rooms/availability/range?from=...&to=...&roomType=...&building=...&minCapacity=...
+    // Streams newline-delimited JSON, one RoomDailyAvailabilityDTO per day, so month views are never built as one list.
+    @GetMapping(value = "/availability/range", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getRoomAvailabilityRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "roomType", defaultValue = "All Rooms") String roomType,
+            @RequestParam(value = "building", required = false) String building,
+            @RequestParam(value = "minCapacity", required = false) Integer minCapacity) {
+
+        RoomAvailabilityRange range;
+        try {
+            // Database work happens here, on the request thread; streaming only reads the bitmap
+            range = roomService.getAvailabilityRange(from, to, roomType, building, minCapacity);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                range.forEachDay(day -> {
+                    try {
+                        // writeValueAsBytes so Jackson does not close the response stream after the first day
+                        outputStream.write(objectMapper.writeValueAsBytes(day));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @PostMapping("/book")
     public ResponseEntity<?> createNewBooking(@RequestBody BookingRequestDTO request, HttpSession session) {
         try {
@@ -65,6 +118,27 @@ public class RoomController {
         }
     }
 
+    // Books the same room on a weekly pattern; returns a per-occurrence ACCEPTED/CONFLICT report
+    @PostMapping("/book/recurring")
+    public ResponseEntity<?> createRecurringBooking(@RequestBody RecurringBookingRequestDTO request, HttpSession session) {
+        Integer facultyMemberID = (Integer) session.getAttribute("userID");
+
+        if (facultyMemberID == null) {
+            return new ResponseEntity<>("Authentication required.", HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            RecurringBookingResponseDTO report = roomService.createRecurringBooking(request, facultyMemberID);
+            return new ResponseEntity<>(report, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Internal server error during booking: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/bookings/my")
     public ResponseEntity<?> getMyBookings(HttpSession session) {
         Integer facultyId = (Integer) session.getAttribute("userID");
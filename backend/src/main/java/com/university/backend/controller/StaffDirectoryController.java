@@ -1,7 +1,8 @@
 package com.university.backend.controller;
 
 import com.university.backend.dto.OfficeHourSlotDTO;
-import com.university.backend.dto.StaffMemberDTO;
+import com.university.backend.dto.StaffDirectoryPageDTO;
+import com.university.backend.dto.StaffFreeSlotsDTO;
 import com.university.backend.service.StaffDirectoryService;
 import jakarta.servlet.http.HttpSession;
 import lombok.Getter;
@@ -19,19 +20,64 @@ import java.util.List;
 public class StaffDirectoryController {
     private final StaffDirectoryService staffDirectoryService;
 
+    // Without cursor/limit these return the whole directory as before; with either one they return a page
     @GetMapping("/all")
-    public ResponseEntity<List<StaffMemberDTO>> getAllStaff() {
-        return ResponseEntity.ok(staffDirectoryService.getAllStaff());
+    public ResponseEntity<?> getAllStaff(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(staffDirectoryService.getAllStaff());
+            }
+            return ResponseEntity.ok(staffDirectoryService.getAllStaffPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/professors")
-    public ResponseEntity<List<StaffMemberDTO>> getProfessors() {
-        return ResponseEntity.ok(staffDirectoryService.getProfessors());
+    public ResponseEntity<?> getProfessors(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(staffDirectoryService.getProfessors());
+            }
+            return ResponseEntity.ok(staffDirectoryService.getProfessorsPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/tas")
-    public ResponseEntity<List<StaffMemberDTO>> getTAs() {
-        return ResponseEntity.ok(staffDirectoryService.getTAs());
+    public ResponseEntity<?> getTAs(@RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(staffDirectoryService.getTAs());
+            }
+            return ResponseEntity.ok(staffDirectoryService.getTAsPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Name/email search; type is "professors", "tas" or omitted for all staff
+    @GetMapping("/search")
+    public ResponseEntity<?> searchStaff(@RequestParam("q") String query,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            StaffDirectoryPageDTO page = staffDirectoryService.searchStaff(query, type, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Staff with free office hour slots this week (summary for the whole directory)
+    @GetMapping("/free-slots/this-week")
+    public ResponseEntity<List<StaffFreeSlotsDTO>> getStaffWithFreeSlotsThisWeek() {
+        return ResponseEntity.ok(staffDirectoryService.getStaffWithFreeSlotsThisWeek());
     }
 
     // Changed return type to OfficeHourSlotDTO
@@ -1,5 +1,6 @@
 package com.university.backend.controller;
 
+import com.university.backend.dto.TADashboardDTO;
 import com.university.backend.service.TADashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -7,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpSession;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/dashboard/ta")
@@ -24,9 +26,6 @@ public class TADashboardController {
     public ResponseEntity<?> getTADashboard(HttpSession session) {
         // Check session
         Integer userID = (Integer) session.getAttribute("userID");
-        String userRole = (String) session.getAttribute("userRole");
-
-        System.out.println("TA Dashboard endpoint called - UserID: " + userID + ", Role: " + userRole);
 
         if (userID == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -35,20 +34,20 @@ public class TADashboardController {
 
         // Try to get TA data regardless of role
         try {
-            Map<String, Object> taData = taService.getTADashboardDataAsMap(userID);
+            Optional<TADashboardDTO> taData = taService.getTADashboard(userID);
 
-            // Check if we got actual TA data
-            if (taData.get("success") != null && !(Boolean) taData.get("success")) {
+            if (taData.isEmpty()) {
                 // TA not found in database
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("{\"error\": \"User is not registered as a Teaching Assistant\"}");
             }
 
             // Add session info
-            taData.put("sessionUserId", userID);
-            taData.put("sessionRole", userRole);
+            TADashboardDTO dashboard = taData.get();
+            dashboard.setSessionUserId(userID);
+            dashboard.setSessionRole((String) session.getAttribute("userRole"));
 
-            return ResponseEntity.ok(taData);
+            return ResponseEntity.ok(dashboard);
 
         } catch (Exception e) {
             System.err.println("Error in TA dashboard: " + e.getMessage());
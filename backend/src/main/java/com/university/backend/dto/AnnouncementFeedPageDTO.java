@@ -0,0 +1,16 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the announcement feed, newest first; nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementFeedPageDTO {
+    private List<AnnouncementDTO> items;
+    private String nextCursor;
+}
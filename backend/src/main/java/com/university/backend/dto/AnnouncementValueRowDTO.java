@@ -0,0 +1,25 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// One (announcement, attribute, value) row of the announcement EAV model; attributeName is null for an announcement without values
+@Data
+public class AnnouncementValueRowDTO {
+    private Integer announcementId;
+    private String announcementName;
+    private LocalDateTime createdAt;
+    private String attributeName;
+    private String stringValue;
+
+    // Constructor for JPQL
+    public AnnouncementValueRowDTO(Integer announcementId, String announcementName, LocalDateTime createdAt,
+                                   String attributeName, String stringValue) {
+        this.announcementId = announcementId;
+        this.announcementName = announcementName;
+        this.createdAt = createdAt;
+        this.attributeName = attributeName;
+        this.stringValue = stringValue;
+    }
+}
@@ -0,0 +1,19 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingIntervalDTO {
+    private Integer roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    // Constructor for JPQL
+    public BookingIntervalDTO(Integer roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
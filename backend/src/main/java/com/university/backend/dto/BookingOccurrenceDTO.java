@@ -0,0 +1,20 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Outcome of one occurrence of a recurring booking request
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingOccurrenceDTO {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status; // "ACCEPTED" or "CONFLICT"
+    private Integer conflictingBookingId; // Set when status is CONFLICT
+}
@@ -0,0 +1,19 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One allocation in the unified inventory listing; holder fields match EquipmentAllocationDTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentAllocationListItemDTO {
+    private String allocatedToType;       // "DEPARTMENT", "FACULTY" or "STUDENT"
+    private Integer allocationId;
+    private Integer equipmentId;
+    private String equipmentName;
+    private String allocatedToFirstName;  // Department name, Faculty name, or Student name
+    private String allocatedToLastName;
+    private Integer allocatedEntityId;    // Department ID, Faculty ID, or Student ID
+}
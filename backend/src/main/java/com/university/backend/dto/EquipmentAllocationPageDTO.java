@@ -0,0 +1,19 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the allocation listing plus per-type totals (ignoring the type filter); nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentAllocationPageDTO {
+    private List<EquipmentAllocationListItemDTO> items;
+    private String nextCursor;
+    private long departmentCount;
+    private long facultyCount;
+    private long studentCount;
+}
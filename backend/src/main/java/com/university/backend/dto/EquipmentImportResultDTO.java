@@ -0,0 +1,15 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of a CSV equipment import
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentImportResultDTO {
+    private int equipmentImported;
+    private int valuesImported;
+    private long elapsedMillis;
+}
@@ -0,0 +1,17 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of equipment search results in id order; nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentSearchPageDTO {
+    private List<EquipmentSearchResultDTO> items;
+    private String nextCursor;
+    private int totalMatches;
+}
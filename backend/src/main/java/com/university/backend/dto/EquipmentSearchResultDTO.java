@@ -0,0 +1,20 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// An equipment item found by attribute search, with its holder and all attribute values
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentSearchResultDTO {
+    private Integer equipmentId;
+    private String equipmentName;
+    private String allocatedToType;     // "DEPARTMENT", "FACULTY", "STUDENT" or null if unallocated
+    private Integer allocatedEntityId;
+    private String allocatedToName;
+    private Map<String, String> attributes;
+}
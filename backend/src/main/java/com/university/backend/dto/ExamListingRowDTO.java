@@ -0,0 +1,45 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ExamListingRowDTO {
+    private Integer examId;
+    private Integer courseId;
+    private String courseCode;
+    private String courseName;
+    private String title;
+    private String description;
+    private Integer totalMarks;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer durationMinutes;
+    private String examType;
+    private Integer examSubmissionId;   // null when the student has not attempted the exam
+    private Integer obtainedMarks;
+    private String submissionStatus;
+
+    // Constructor for JPQL
+    public ExamListingRowDTO(Integer examId, Integer courseId, String courseCode, String courseName,
+                             String title, String description, Integer totalMarks,
+                             LocalDateTime startTime, LocalDateTime endTime,
+                             Integer durationMinutes, String examType,
+                             Integer examSubmissionId, Integer obtainedMarks, String submissionStatus) {
+        this.examId = examId;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.title = title;
+        this.description = description;
+        this.totalMarks = totalMarks;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.durationMinutes = durationMinutes;
+        this.examType = examType;
+        this.examSubmissionId = examSubmissionId;
+        this.obtainedMarks = obtainedMarks;
+        this.submissionStatus = submissionStatus;
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+// Everything login needs about an account, resolved in one query
+@Data
+public class LoginPrincipalDTO {
+    private Integer accountId;
+    private String email;
+    private String password;
+    private String role;
+    private Integer userId;
+    private Boolean active;
+
+    // Constructor for JPQL
+    public LoginPrincipalDTO(Integer accountId, String email, String password, String role,
+                             Integer userId, Boolean active) {
+        this.accountId = accountId;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.userId = userId;
+        this.active = active;
+    }
+}
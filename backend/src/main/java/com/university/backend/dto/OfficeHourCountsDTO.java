@@ -0,0 +1,20 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+// Office hour slot counters for one staff member
+@Data
+public class OfficeHourCountsDTO {
+    private Long total;
+    private Long upcoming;
+    private Long booked;
+    private Long available;
+
+    // Constructor for JPQL
+    public OfficeHourCountsDTO(Long total, Long upcoming, Long booked, Long available) {
+        this.total = total;
+        this.upcoming = upcoming;
+        this.booked = booked;
+        this.available = available;
+    }
+}
@@ -0,0 +1,37 @@
+package com.university.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO used to book one room on a weekly pattern (e.g. every lecture of a semester) in a single request.
+ */
+@Getter
+@Setter
+public class RecurringBookingRequestDTO {
+
+    // The Room ID being booked (FK to Room entity)
+    private Integer roomId;
+
+    // Purpose shared by all occurrences
+    private String purpose;
+
+    // First and last day of the pattern (inclusive)
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Weekdays the booking repeats on, e.g. ["MONDAY", "WEDNESDAY"]
+    private List<DayOfWeek> daysOfWeek;
+
+    // Daily time window of every occurrence (HH:mm)
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    // Dates inside the range to skip (holidays, exam weeks)
+    private List<LocalDate> excludedDates;
+}
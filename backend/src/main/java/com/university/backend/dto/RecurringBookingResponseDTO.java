@@ -0,0 +1,22 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Per-occurrence accept/conflict report of a recurring booking request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringBookingResponseDTO {
+    private Integer roomId;
+    private int acceptedCount;
+    private int conflictCount;
+    private List<BookingOccurrenceDTO> occurrences;
+}
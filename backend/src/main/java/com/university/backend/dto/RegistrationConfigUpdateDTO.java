@@ -0,0 +1,11 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+// Admin changes to the registration config; null fields are left unchanged
+@Data
+public class RegistrationConfigUpdateDTO {
+    private Integer maxCreditsPerStudent;
+    private Boolean isRegistrationOpen;
+    private String currentTerm;
+}
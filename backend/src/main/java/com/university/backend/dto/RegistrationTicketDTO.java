@@ -0,0 +1,18 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Handle returned for a queued registration; polled until status is COMPLETED
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationTicketDTO {
+    private String ticketId;
+    private Integer courseId;
+    private String status; // "QUEUED" or "COMPLETED"
+    private RegistrationResponseDTO result; // Set once COMPLETED
+}
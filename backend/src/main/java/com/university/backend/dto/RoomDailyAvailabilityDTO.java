@@ -0,0 +1,19 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One day of a multi-day availability response; streamed to the client one day at a time
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomDailyAvailabilityDTO {
+    private LocalDate date;
+    private List<RoomAvailabilityDTO> slots;
+}
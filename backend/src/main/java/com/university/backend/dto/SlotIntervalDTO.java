@@ -0,0 +1,18 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Start/end of an existing office hour slot, for in-memory overlap checks
+@Data
+public class SlotIntervalDTO {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    // Constructor for JPQL
+    public SlotIntervalDTO(LocalDateTime startTime, LocalDateTime endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
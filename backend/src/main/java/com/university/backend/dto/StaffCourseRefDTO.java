@@ -0,0 +1,20 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+// A course taught or assisted by a staff member
+@Data
+public class StaffCourseRefDTO {
+    private Integer staffId;
+    private Integer courseId;
+    private String code;
+    private String name;
+
+    // Constructor for JPQL
+    public StaffCourseRefDTO(Integer staffId, Integer courseId, String code, String name) {
+        this.staffId = staffId;
+        this.courseId = courseId;
+        this.code = code;
+        this.name = name;
+    }
+}
@@ -0,0 +1,16 @@
+package com.university.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the staff directory; nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffDirectoryPageDTO {
+    private List<StaffMemberDTO> items;
+    private String nextCursor;
+}
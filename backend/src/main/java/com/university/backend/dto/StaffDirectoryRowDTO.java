@@ -0,0 +1,27 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+// One staff directory entry without its course list, loaded in a single query
+@Data
+public class StaffDirectoryRowDTO {
+    private Integer userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String departmentName;
+    private Boolean hasOfficeHours;
+    private String staffType;
+
+    // Constructor for JPQL
+    public StaffDirectoryRowDTO(Integer userId, String firstName, String lastName, String email,
+                                String departmentName, Boolean hasOfficeHours, String staffType) {
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.departmentName = departmentName;
+        this.hasOfficeHours = hasOfficeHours;
+        this.staffType = staffType;
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// A staff member with free office hour slots in the current week
+@Data
+public class StaffFreeSlotsDTO {
+    private Integer staffId;
+    private String firstName;
+    private String lastName;
+    private Long freeSlots;
+    private LocalDateTime nextFreeSlot;
+
+    // Constructor for JPQL
+    public StaffFreeSlotsDTO(Integer staffId, String firstName, String lastName,
+                             Long freeSlots, LocalDateTime nextFreeSlot) {
+        this.staffId = staffId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.freeSlots = freeSlots;
+        this.nextFreeSlot = nextFreeSlot;
+    }
+}
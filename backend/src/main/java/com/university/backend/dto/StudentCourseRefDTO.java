@@ -0,0 +1,15 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class StudentCourseRefDTO {
+    private Integer studentId;
+    private Integer courseId;
+
+    // Constructor for JPQL
+    public StudentCourseRefDTO(Integer studentId, Integer courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class StudentCreditTotalDTO {
+    private Integer studentId;
+    private Long totalCredits;
+
+    // Constructor for JPQL
+    public StudentCreditTotalDTO(Integer studentId, Long totalCredits) {
+        this.studentId = studentId;
+        this.totalCredits = totalCredits;
+    }
+}
@@ -0,0 +1,17 @@
+package com.university.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class StudentGradeSummaryDTO {
+    private Integer studentId;
+    private Long gradedCount;   // Exams with obtained marks > 0
+    private Long totalMarks;    // Sum of obtained marks over graded exams
+
+    // Constructor for JPQL
+    public StudentGradeSummaryDTO(Integer studentId, Long gradedCount, Long totalMarks) {
+        this.studentId = studentId;
+        this.gradedCount = gradedCount;
+        this.totalMarks = totalMarks;
+    }
+}
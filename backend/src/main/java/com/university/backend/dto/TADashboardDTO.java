@@ -1,9 +1,10 @@
 package com.university.backend.dto;
 
 import lombok.Data;
-import java.util.List;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class TADashboardDTO {
     private Integer userId;
     private Integer staffMemberId;
@@ -14,6 +15,30 @@ public class TADashboardDTO {
     private String departmentName;
     private Integer assignedCourses;
     private Integer officeHours;
+    private Integer upcomingOfficeHours;
+    private Integer pastOfficeHours;
+    private Integer bookedOfficeHours;
+    private Integer availableOfficeHours;
     private Double salary;
     private String accountType;
-}
\ No newline at end of file
+    private Boolean success;
+    private String message;
+
+    // Filled in by the controller from the session
+    private Integer sessionUserId;
+    private String sessionRole;
+
+    // Constructor for JPQL (profile columns only; counts are filled in separately)
+    public TADashboardDTO(Integer userId, String firstName, String lastName, String email,
+                          String phone, String departmentName, Double salary) {
+        this.userId = userId;
+        this.staffMemberId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.departmentName = departmentName;
+        this.salary = salary;
+        this.accountType = "TA";
+    }
+}
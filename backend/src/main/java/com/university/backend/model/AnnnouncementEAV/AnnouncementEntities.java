@@ -22,7 +22,9 @@ public class AnnouncementEntities {
     @Column(nullable = false)       // <--- NEW FIELD
     private String announcementName; // e.g., "Midterm Exam", "Guest Lecture"
 
+    @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+    @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
 
     @OneToMany(mappedBy = "announcement", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "student_courses")
+// One row per student and course: concurrent requests of the same student cannot both enroll
+@Table(name = "student_courses",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}))
 public class StudentCourses {
 
     @Id
@@ -1,7 +1,13 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.LoginPrincipalDTO;
 import com.university.backend.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +17,24 @@ public interface AccountRepository extends JpaRepository<Account, Long>
     Account findByEmail(String username);
     boolean existsByEmail(String email);
     //Optional<Account> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Account, role, user id and active flag for login in a single query
+    @Query("SELECT new com.university.backend.dto.LoginPrincipalDTO(a.id, a.email, a.password, t.name, u.userId, a.isActive) " +
+            "FROM Account a JOIN a.accountType t LEFT JOIN User u ON u.account = a " +
+            "WHERE a.email = :email")
+    Optional<LoginPrincipalDTO> findLoginPrincipal(@Param("email") String email);
+
+    // Same projection by account id; used to re-check an account before a token is refreshed
+    @Query("SELECT new com.university.backend.dto.LoginPrincipalDTO(a.id, a.email, a.password, t.name, u.userId, a.isActive) " +
+            "FROM Account a JOIN a.accountType t LEFT JOIN User u ON u.account = a " +
+            "WHERE a.id = :accountId")
+    Optional<LoginPrincipalDTO> findLoginPrincipalByAccountId(@Param("accountId") Integer accountId);
+
+    // Replaces a stored password only if it is still the value that was verified (login-time hash upgrade)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.password = :newPassword WHERE a.id = :accountId AND a.password = :oldPassword")
+    int upgradePassword(@Param("accountId") Integer accountId,
+                        @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
+}
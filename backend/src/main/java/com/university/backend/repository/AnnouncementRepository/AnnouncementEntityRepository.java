@@ -1,7 +1,40 @@
 package com.university.backend.repository.AnnouncementRepository;
 
+import com.university.backend.dto.AnnouncementValueRowDTO;
 import com.university.backend.model.AnnnouncementEAV.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AnnouncementEntityRepository extends JpaRepository<AnnouncementEntities, Integer> {}
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
+public interface AnnouncementEntityRepository extends JpaRepository<AnnouncementEntities, Integer> {
+
+    // Entity, values and attribute names in one pass; pivoted into AnnouncementDTOs by the service
+    String VALUE_ROW_SELECT = "SELECT new com.university.backend.dto.AnnouncementValueRowDTO(" +
+            "e.id, e.announcementName, e.createdAt, a.name, v.stringValue) " +
+            "FROM AnnouncementEntities e LEFT JOIN e.values v LEFT JOIN v.attribute a ";
+
+    // Feed order is newest first; rows created before createdAt was populated (NULL) come last, by id
+    String FEED_ORDER = "ORDER BY e.createdAt DESC NULLS LAST, e.id DESC";
+
+    @Query(VALUE_ROW_SELECT + "ORDER BY e.id, v.id")
+    List<AnnouncementValueRowDTO> findAllValueRows();
+
+    @Query(VALUE_ROW_SELECT + "WHERE e.id IN :ids " + FEED_ORDER + ", v.id")
+    List<AnnouncementValueRowDTO> findValueRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    // Keyset page of announcement ids strictly after the cursor (createdAt, id) in feed order
+    @Query("SELECT e.id FROM AnnouncementEntities e " +
+            "WHERE :cursorId IS NULL " +
+            "OR (:cursorCreatedAt IS NOT NULL AND (e.createdAt < :cursorCreatedAt " +
+            "OR (e.createdAt = :cursorCreatedAt AND e.id < :cursorId) OR e.createdAt IS NULL)) " +
+            "OR (:cursorCreatedAt IS NULL AND e.createdAt IS NULL AND e.id < :cursorId) " +
+            FEED_ORDER)
+    List<Integer> findFeedPageIds(@Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                  @Param("cursorId") Integer cursorId,
+                                  Pageable pageable);
+}
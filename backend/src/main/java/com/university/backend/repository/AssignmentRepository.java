@@ -22,6 +22,10 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Integer>
     @Query("SELECT a FROM Assignment a WHERE a.course.courseId IN :courseIds")
     List<Assignment> findByCourseIdIn(@Param("courseIds") List<Integer> courseIds);
 
+    // Find assignments by multiple course IDs with their course already loaded
+    @Query("SELECT a FROM Assignment a JOIN FETCH a.course c WHERE c.courseId IN :courseIds")
+    List<Assignment> findByCourseIdInWithCourse(@Param("courseIds") List<Integer> courseIds);
+
     // Find assignments due after a specific date
     @Query("SELECT a FROM Assignment a WHERE a.course.courseId = :courseId AND a.dueDate > :date")
     List<Assignment> findByCourseIdAndDueAfter(@Param("courseId") Integer courseId,
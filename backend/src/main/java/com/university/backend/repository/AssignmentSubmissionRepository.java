@@ -1,10 +1,12 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StudentCourseRefDTO;
 import com.university.backend.model.AssignmentSubmission;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,12 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
             "WHERE a.assignment_id.assignmentId = :assignmentId")
     List<AssignmentSubmission> findSubmissionsWithStudent(@Param("assignmentId") int assignmentId);
 
+    // Find a student's submissions for a set of assignments in one query
+    @Query("SELECT s FROM AssignmentSubmission s WHERE s.student.userId = :studentId " +
+            "AND s.assignment_id.assignmentId IN :assignmentIds")
+    List<AssignmentSubmission> findByStudentIdAndAssignmentIdIn(@Param("studentId") Integer studentId,
+                                                                @Param("assignmentIds") Collection<Integer> assignmentIds);
+
     // Find all submissions for a student
     @Query("SELECT s FROM AssignmentSubmission s WHERE s.student.userId = :studentId")
     List<AssignmentSubmission> findByStudentId(@Param("studentId") Integer studentId);
@@ -44,5 +52,27 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
             "AND (a.submitted_at IS NULL OR a.grade = 0)")
     List<AssignmentSubmission> findPendingByStudentId(@Param("studentId") Integer studentId);
 
+    // Parent dashboard: all submissions of a student with their assignment in one query
+    @Query("SELECT a FROM AssignmentSubmission a " +
+            "JOIN FETCH a.assignment_id " +
+            "WHERE a.student.userId = :studentId")
+    List<AssignmentSubmission> findByStudentIdWithAssignment(@Param("studentId") Integer studentId);
+
+    // Parent dashboard: pending submissions of several students with their assignment
+    @Query("SELECT a FROM AssignmentSubmission a " +
+            "JOIN FETCH a.assignment_id " +
+            "WHERE a.student.userId IN :studentIds " +
+            "AND (a.submitted_at IS NULL OR a.grade = 0)")
+    List<AssignmentSubmission> findPendingByStudentIds(@Param("studentIds") Collection<Integer> studentIds);
+
+    // Parent dashboard: distinct (student, course) pairs reached through assignment submissions
+    @Query("SELECT DISTINCT new com.university.backend.dto.StudentCourseRefDTO(" +
+            "a.student.userId, c.courseId) " +
+            "FROM AssignmentSubmission a " +
+            "JOIN a.assignment_id asg " +
+            "JOIN asg.course c " +
+            "WHERE a.student.userId IN :studentIds")
+    List<StudentCourseRefDTO> findCourseRefsByStudentIds(@Param("studentIds") Collection<Integer> studentIds);
+
 
 }
@@ -1,5 +1,6 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.BookingIntervalDTO;
 import com.university.backend.model.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -23,6 +24,16 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     @Query("SELECT b FROM Booking b WHERE b.status.id = :statusId AND b.startTime < :endOfDay AND b.endTime > :startOfDay")
     List<Booking> findByDayAndStatus(LocalDateTime startOfDay, LocalDateTime endOfDay, Integer statusId);
 
+    /**
+     * Room id and time bounds of every booking with the given status overlapping [rangeStart, rangeEnd).
+     * Used to build occupancy bitmaps for multi-day availability in a single range scan.
+     */
+    @Query("SELECT new com.university.backend.dto.BookingIntervalDTO(b.room.room_id, b.startTime, b.endTime) " +
+            "FROM Booking b WHERE b.status.id = :statusId AND b.startTime < :rangeEnd AND b.endTime > :rangeStart")
+    List<BookingIntervalDTO> findIntervalsInRange(@Param("rangeStart") LocalDateTime rangeStart,
+                                                  @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                  @Param("statusId") Integer statusId);
+
 
 
     @Query("SELECT b FROM Booking b WHERE b.room.room_id = :roomId AND b.status.id = 1 AND b.startTime < :newEndTime AND b.endTime > :newStartTime")
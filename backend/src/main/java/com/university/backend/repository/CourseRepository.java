@@ -1,13 +1,18 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StaffCourseRefDTO;
 import com.university.backend.model.Course;
 import com.university.backend.model.Professor;
 import com.university.backend.model.Professor;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,5 +33,27 @@ public interface CourseRepository extends JpaRepository<Course, Integer> { // Ch
     Optional<Course> findByIdWithRelationships(@Param("courseId") Integer courseId); // Changed to Integer
     List<Course> findByProfessor(Professor professor);
 
+    // Locks the course row until the surrounding transaction ends (batched registration)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.courseId = :courseId")
+    Optional<Course> findByIdForUpdate(@Param("courseId") Integer courseId);
+
+    // Atomically takes one seat if the course is not full; returns the number of rows updated (0 = full)
+    @Modifying
+    @Query("UPDATE Course c SET c.currentEnrollment = COALESCE(c.currentEnrollment, 0) + 1 " +
+            "WHERE c.courseId = :courseId " +
+            "AND (c.capacity IS NULL OR COALESCE(c.currentEnrollment, 0) < c.capacity)")
+    int tryReserveSeat(@Param("courseId") Integer courseId);
+
+    // Every (professor, course) pair, for assembling the staff directory in memory
+    @Query("SELECT new com.university.backend.dto.StaffCourseRefDTO(c.professor.userId, c.courseId, c.code, c.name) " +
+            "FROM Course c WHERE c.professor IS NOT NULL ORDER BY c.code")
+    List<StaffCourseRefDTO> findProfessorCourseRefs();
+
+    // (professor, course) pairs for one directory page
+    @Query("SELECT new com.university.backend.dto.StaffCourseRefDTO(c.professor.userId, c.courseId, c.code, c.name) " +
+            "FROM Course c WHERE c.professor.userId IN :staffIds ORDER BY c.code")
+    List<StaffCourseRefDTO> findProfessorCourseRefsByStaffIds(@Param("staffIds") Collection<Integer> staffIds);
+
 
 }
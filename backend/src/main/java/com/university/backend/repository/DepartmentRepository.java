@@ -2,8 +2,11 @@ package com.university.backend.repository;
 
 import com.university.backend.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,8 @@ public interface DepartmentRepository extends JpaRepository<Department, Integer>
 {
     Department findByDepartmentName(String DepartmentName);
     List<Department> findAll();
+
+    // Which of the given ids exist (bulk import validation)
+    @Query("SELECT d.departmentId FROM Department d WHERE d.departmentId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.ExamListingRowDTO;
 import com.university.backend.model.Exam;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,4 +18,26 @@ public interface ExamRepository extends JpaRepository<Exam, Integer> {
     @Query("SELECT e FROM Exam e WHERE e.course.courseId IN :courseIds AND e.isActive = true")
     List<Exam> findByCourseIdIn(@Param("courseIds") List<Integer> courseIds);
     List<Exam> findByCourseCourseId(int courseId);
+
+    String EXAM_LISTING_SELECT = "SELECT new com.university.backend.dto.ExamListingRowDTO(" +
+            "e.examId, c.courseId, c.code, c.name, e.title, e.description, e.totalMarks, " +
+            "e.startTime, e.endTime, e.durationMinutes, e.examType, " +
+            "es.examSubmissionId, es.obtainedMarks, es.status) " +
+            "FROM Exam e " +
+            "JOIN e.course c " +
+            "LEFT JOIN ExamSubmission es ON es.exam = e AND es.student.userId = :studentId ";
+
+    // Exam list of a student: enrolled courses, course data and the student's submission in one query
+    @Query(EXAM_LISTING_SELECT +
+            "WHERE e.isActive = true AND c.courseId IN " +
+            "(SELECT sc.course.courseId FROM StudentCourses sc WHERE sc.student.userId = :studentId) " +
+            "ORDER BY e.startTime ASC")
+    List<ExamListingRowDTO> findExamListingForStudent(@Param("studentId") Integer studentId);
+
+    // Exam list of one course for a student, with the student's submission
+    @Query(EXAM_LISTING_SELECT +
+            "WHERE e.isActive = true AND c.courseId = :courseId " +
+            "ORDER BY e.startTime ASC")
+    List<ExamListingRowDTO> findExamListingForCourse(@Param("studentId") Integer studentId,
+                                                     @Param("courseId") Integer courseId);
 }
\ No newline at end of file
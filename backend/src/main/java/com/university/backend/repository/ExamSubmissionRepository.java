@@ -1,10 +1,14 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StudentCourseRefDTO;
+import com.university.backend.dto.StudentGradeSummaryDTO;
 import com.university.backend.model.ExamSubmission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,5 +33,35 @@ public interface ExamSubmissionRepository extends JpaRepository<ExamSubmission,
     @Query("SELECT e FROM ExamSubmission e WHERE e.student.userId = :studentId")
     List<ExamSubmission> findByStudentUserId(@Param("studentId") Integer studentId);
 
+    // Parent dashboard: graded exam count and sum of marks per student, aggregated in SQL
+    @Query("SELECT new com.university.backend.dto.StudentGradeSummaryDTO(" +
+            "es.student.userId, COUNT(es), SUM(es.obtainedMarks)) " +
+            "FROM ExamSubmission es " +
+            "WHERE es.student.userId IN :studentIds AND es.obtainedMarks > 0 " +
+            "GROUP BY es.student.userId")
+    List<StudentGradeSummaryDTO> summarizeGradesByStudentIds(@Param("studentIds") Collection<Integer> studentIds);
+
+    // Parent dashboard: distinct (student, course) pairs reached through exam submissions
+    @Query("SELECT DISTINCT new com.university.backend.dto.StudentCourseRefDTO(" +
+            "es.student.userId, c.courseId) " +
+            "FROM ExamSubmission es " +
+            "JOIN es.exam e " +
+            "JOIN e.course c " +
+            "WHERE es.student.userId IN :studentIds")
+    List<StudentCourseRefDTO> findCourseRefsByStudentIds(@Param("studentIds") Collection<Integer> studentIds);
+
+    // Parent dashboard: most recent graded exams of a student, limited by the pageable
+    @Query("SELECT es FROM ExamSubmission es " +
+            "JOIN FETCH es.exam " +
+            "WHERE es.student.userId = :studentId AND es.obtainedMarks > 0 " +
+            "ORDER BY es.submittedAt DESC")
+    List<ExamSubmission> findRecentGradedByStudentId(@Param("studentId") Integer studentId, Pageable pageable);
+
+    // Parent dashboard: all graded exams of a student with their exam in one query
+    @Query("SELECT es FROM ExamSubmission es " +
+            "JOIN FETCH es.exam " +
+            "WHERE es.student.userId = :studentId AND es.obtainedMarks > 0")
+    List<ExamSubmission> findGradedByStudentIdWithExam(@Param("studentId") Integer studentId);
+
 
     }
@@ -1,7 +1,12 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.OfficeHourCountsDTO;
+import com.university.backend.dto.SlotIntervalDTO;
+import com.university.backend.dto.StaffFreeSlotsDTO;
 import com.university.backend.model.OfficeHourSlot;
+import com.university.backend.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -53,5 +58,70 @@ public interface OfficeHourSlotRepository extends JpaRepository<OfficeHourSlot,
             @Param("endTime") LocalDateTime endTime
     );
 
+    // All non-cancelled slots of a staff member overlapping [from, to), ordered by start (recurring generation)
+    @Query("SELECT new com.university.backend.dto.SlotIntervalDTO(os.startTime, os.endTime) FROM OfficeHourSlot os " +
+            "WHERE os.staffMember.userId = :staffId " +
+            "AND os.startTime < :to AND os.endTime > :from " +
+            "AND os.status != com.university.backend.model.OfficeHourSlot.SlotStatus.CANCELLED " +
+            "ORDER BY os.startTime ASC")
+    List<SlotIntervalDTO> findActiveIntervals(@Param("staffId") Integer staffId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    // Staff members with available slots starting in [from, to), with the count and the earliest one
+    @Query("SELECT new com.university.backend.dto.StaffFreeSlotsDTO(s.userId, s.firstName, s.lastName, " +
+            "COUNT(os), MIN(os.startTime)) " +
+            "FROM OfficeHourSlot os JOIN os.staffMember s " +
+            "WHERE os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.AVAILABLE " +
+            "AND os.startTime >= :from AND os.startTime < :to " +
+            "GROUP BY s.userId, s.firstName, s.lastName " +
+            "ORDER BY MIN(os.startTime) ASC")
+    List<StaffFreeSlotsDTO> findStaffWithFreeSlots(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    // Total / upcoming / booked / upcoming-available slot counts of a staff member, in one aggregate
+    @Query("SELECT new com.university.backend.dto.OfficeHourCountsDTO(" +
+            "COUNT(os), " +
+            "COALESCE(SUM(CASE WHEN os.startTime >= :now THEN 1 ELSE 0 END), 0L), " +
+            "COALESCE(SUM(CASE WHEN os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.BOOKED " +
+            "THEN 1 ELSE 0 END), 0L), " +
+            "COALESCE(SUM(CASE WHEN os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.AVAILABLE " +
+            "AND os.startTime >= :now THEN 1 ELSE 0 END), 0L)) " +
+            "FROM OfficeHourSlot os WHERE os.staffMember.userId = :staffId")
+    OfficeHourCountsDTO countSlotsByStaff(@Param("staffId") Integer staffId, @Param("now") LocalDateTime now);
+
+    // Atomically books a slot if it is still available and in the future and the student holds no other booking
+    // with the same staff member in [dayStart, dayEnd); returns 0 if either condition failed. The NOT EXISTS is
+    // evaluated by the UPDATE itself, so there is no gap between checking and booking: under locking READ
+    // COMMITTED a concurrent booking of another slot by the same student blocks the subquery until it commits.
+    @Modifying
+    @Query("UPDATE OfficeHourSlot os SET os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.BOOKED, " +
+            "os.bookedBy = :student, os.purpose = :purpose " +
+            "WHERE os.id = :slotId " +
+            "AND os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.AVAILABLE " +
+            "AND os.startTime > :now " +
+            "AND NOT EXISTS (SELECT 1 FROM OfficeHourSlot other " +
+            "WHERE other.bookedBy = :student " +
+            "AND other.staffMember = os.staffMember " +
+            "AND other.status = com.university.backend.model.OfficeHourSlot.SlotStatus.BOOKED " +
+            "AND other.startTime >= :dayStart AND other.startTime < :dayEnd)")
+    int tryBookSlot(@Param("slotId") Integer slotId,
+                    @Param("student") Student student,
+                    @Param("purpose") String purpose,
+                    @Param("now") LocalDateTime now,
+                    @Param("dayStart") LocalDateTime dayStart,
+                    @Param("dayEnd") LocalDateTime dayEnd);
+
+    // Does the student already hold a booking with this staff member in the given window?
+    @Query("SELECT COUNT(os) > 0 FROM OfficeHourSlot os " +
+            "WHERE os.bookedBy.userId = :studentId " +
+            "AND os.staffMember.userId = :staffId " +
+            "AND os.status = com.university.backend.model.OfficeHourSlot.SlotStatus.BOOKED " +
+            "AND os.startTime >= :from AND os.startTime < :to")
+    boolean existsStudentBookingWithStaff(@Param("studentId") Integer studentId,
+                                          @Param("staffId") Integer staffId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
     //List<OfficeHourSlot> findByStaffMemberUserIdOrderByStartTimeAsc(Integer userId);
 }
\ No newline at end of file
@@ -5,8 +5,10 @@ import com.university.backend.model.ResourceAllocation.EquipmentAllocation.Equip
 import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentEntities;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +23,12 @@ public interface EquipmentDepartmentRepository extends JpaRepository<EquipmentDe
             "JOIN EquipmentDepartmentAllocation eda ON ee.equipmentId = eda.equipment.equipmentId " +
             "JOIN Department d ON eda.department.departmentId = d.departmentId")
     List<EquipmentAllocationDTO> findAllDepartmentEquipmentsWithNames();
+
+    @Query("SELECT new com.university.backend.dto.EquipmentAllocationDTO(" +
+            "ee.equipmentId, ee.name, d.departmentName, '', d.departmentId) " +
+            "FROM EquipmentEntities ee " +
+            "JOIN EquipmentDepartmentAllocation eda ON ee.equipmentId = eda.equipment.equipmentId " +
+            "JOIN Department d ON eda.department.departmentId = d.departmentId " +
+            "WHERE ee.equipmentId IN :ids")
+    List<EquipmentAllocationDTO> findAllDepartmentEquipmentsWithNamesByEquipmentIds(@Param("ids") Collection<Integer> ids);
 }
@@ -6,7 +6,9 @@ import com.university.backend.model.ResourceAllocation.EquipmentAllocation.Equip
 import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentEntities;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +23,12 @@ public interface EquipmentFacultyRepository extends JpaRepository<EquipmentFacul
             "JOIN EquipmentFacultyAllocation efa ON ee.equipmentId = efa.equipment.equipmentId " +
             "JOIN StaffMember s ON efa.staff.userId = s.userId ")
     List<EquipmentAllocationDTO> findAllFacultyEquipmentsWithNames();
+
+    @Query("SELECT new com.university.backend.dto.EquipmentAllocationDTO(" +
+            "ee.equipmentId, ee.name, s.firstName, s.lastName, s.userId) " +
+            "FROM EquipmentEntities ee " +
+            "JOIN EquipmentFacultyAllocation efa ON ee.equipmentId = efa.equipment.equipmentId " +
+            "JOIN StaffMember s ON efa.staff.userId = s.userId " +
+            "WHERE ee.equipmentId IN :ids")
+    List<EquipmentAllocationDTO> findAllFacultyEquipmentsWithNamesByEquipmentIds(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
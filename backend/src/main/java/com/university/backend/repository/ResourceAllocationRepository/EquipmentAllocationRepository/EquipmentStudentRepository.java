@@ -6,7 +6,9 @@ import com.university.backend.model.ResourceAllocation.EquipmentAllocation.Equip
 import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentEntities;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +23,12 @@ public interface EquipmentStudentRepository extends JpaRepository<EquipmentStude
             "JOIN EquipmentStudentAllocation esa ON ee.equipmentId = esa.equipment.equipmentId " +
             "JOIN Student s ON esa.student.userId = s.userId ")
     List<EquipmentAllocationDTO> findAllStudentEquipmentsWithNames();
+
+    @Query("SELECT new com.university.backend.dto.EquipmentAllocationDTO(" +
+            "ee.equipmentId, ee.name, s.firstName, s.lastName, s.userId) " +
+            "FROM EquipmentEntities ee " +
+            "JOIN EquipmentStudentAllocation esa ON ee.equipmentId = esa.equipment.equipmentId " +
+            "JOIN Student s ON esa.student.userId = s.userId " +
+            "WHERE ee.equipmentId IN :ids")
+    List<EquipmentAllocationDTO> findAllStudentEquipmentsWithNamesByEquipmentIds(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +22,20 @@ public interface EquipmentEntityRepository extends JpaRepository<EquipmentEntiti
             "JOIN ev.attribute ea " +
             "WHERE e.equipmentId = :equipmentId")
     List<EquipmentDTO> findByEquipmentId(@Param("equipmentId") Integer equipmentId);
+
+    // Every equipment item with its values (one row per value, or one row with null attribute when it has none),
+    // in id order; used to build the search index
+    String INDEX_ROW_SELECT = "SELECT new com.university.backend.dto.EquipmentDTO(" +
+            "e.equipmentId, e.name, " +
+            "ea.equipmentAttributeId, ea.name, " +
+            "ev.equipmentValueId, ev.value) " +
+            "FROM EquipmentEntities e " +
+            "LEFT JOIN EquipmentValues ev ON ev.equipment.equipmentId = e.equipmentId " +
+            "LEFT JOIN ev.attribute ea ";
+
+    @Query(INDEX_ROW_SELECT + "ORDER BY e.equipmentId")
+    List<EquipmentDTO> findIndexRows();
+
+    @Query(INDEX_ROW_SELECT + "WHERE e.equipmentId IN :ids ORDER BY e.equipmentId")
+    List<EquipmentDTO> findIndexRowsByIds(@Param("ids") Collection<Integer> ids);
 }
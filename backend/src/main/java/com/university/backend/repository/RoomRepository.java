@@ -1,13 +1,16 @@
 package com.university.backend.repository;
 
 import com.university.backend.model.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Integer> {
@@ -20,6 +23,21 @@ public interface RoomRepository extends JpaRepository<Room, Integer> {
     @Query("SELECT r FROM Room r JOIN r.room_type rt WHERE r.isActive = TRUE AND LOWER(rt.type) = LOWER(:roomType)")
     List<Room> findActiveRoomsByType(@Param("roomType") String roomType);
 
+    // Locks the room row until the surrounding transaction ends; serializes bookings of one room across app nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.room_id = :roomId")
+    Optional<Room> findByIdForUpdate(@Param("roomId") Integer roomId);
+
+    // Active rooms with optional type, building and minimum capacity filters (null means no filter)
+    @Query("SELECT r FROM Room r JOIN FETCH r.room_type rt WHERE r.isActive = TRUE " +
+            "AND (:roomType IS NULL OR LOWER(rt.type) = LOWER(:roomType)) " +
+            "AND (:building IS NULL OR LOWER(r.building) = LOWER(:building)) " +
+            "AND (:minCapacity IS NULL OR r.capacity >= :minCapacity) " +
+            "ORDER BY r.room_id")
+    List<Room> findActiveRoomsFiltered(@Param("roomType") String roomType,
+                                       @Param("building") String building,
+                                       @Param("minCapacity") Integer minCapacity);
+
 
 
 }
\ No newline at end of file
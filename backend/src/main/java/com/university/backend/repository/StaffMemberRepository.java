@@ -1,16 +1,70 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StaffDirectoryRowDTO;
 import com.university.backend.model.StaffMember;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface StaffMemberRepository extends JpaRepository<StaffMember, Integer> {
 
+    // Directory columns shared by the queries below; the staff type expression and FROM clause follow
+    String DIRECTORY_SELECT = "SELECT new com.university.backend.dto.StaffDirectoryRowDTO(" +
+            "s.userId, s.firstName, s.lastName, a.email, d.departmentName, " +
+            "CASE WHEN EXISTS (SELECT os.id FROM OfficeHourSlot os WHERE os.staffMember = s) THEN true ELSE false END, ";
+
+    String DIRECTORY_JOINS = " s JOIN s.account a LEFT JOIN s.department d ";
+
+    String DIRECTORY_ORDER = "ORDER BY s.lastName, s.firstName, s.userId";
+
+    String DIRECTORY_TYPE = "CASE WHEN TYPE(s) = Professor THEN 'Professor' " +
+            "WHEN TYPE(s) = TA THEN 'Teaching Assistant' ELSE 'Staff' END) ";
+
+    // Keyset condition: rows strictly after the cursor in DIRECTORY_ORDER (no cursor = first page)
+    String DIRECTORY_AFTER_CURSOR = "WHERE (:cursorId IS NULL OR s.lastName > :cursorLast " +
+            "OR (s.lastName = :cursorLast AND (s.firstName > :cursorFirst " +
+            "OR (s.firstName = :cursorFirst AND s.userId > :cursorId)))) ";
+
+    @Query(DIRECTORY_SELECT + DIRECTORY_TYPE + "FROM StaffMember" + DIRECTORY_JOINS + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findDirectoryRows();
+
+    @Query(DIRECTORY_SELECT + DIRECTORY_TYPE + "FROM StaffMember" + DIRECTORY_JOINS +
+            "WHERE s.userId IN :ids " + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findDirectoryRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(DIRECTORY_SELECT + DIRECTORY_TYPE + "FROM StaffMember" + DIRECTORY_JOINS +
+            DIRECTORY_AFTER_CURSOR + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findDirectoryPage(@Param("cursorLast") String cursorLast,
+                                                 @Param("cursorFirst") String cursorFirst,
+                                                 @Param("cursorId") Integer cursorId,
+                                                 Pageable pageable);
+
+    @Query(DIRECTORY_SELECT + "'Professor') FROM Professor" + DIRECTORY_JOINS + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findProfessorDirectoryRows();
+
+    @Query(DIRECTORY_SELECT + "'Professor') FROM Professor" + DIRECTORY_JOINS +
+            DIRECTORY_AFTER_CURSOR + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findProfessorDirectoryPage(@Param("cursorLast") String cursorLast,
+                                                          @Param("cursorFirst") String cursorFirst,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Pageable pageable);
+
+    @Query(DIRECTORY_SELECT + "'Teaching Assistant') FROM TA" + DIRECTORY_JOINS + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findTADirectoryRows();
+
+    @Query(DIRECTORY_SELECT + "'Teaching Assistant') FROM TA" + DIRECTORY_JOINS +
+            DIRECTORY_AFTER_CURSOR + DIRECTORY_ORDER)
+    List<StaffDirectoryRowDTO> findTADirectoryPage(@Param("cursorLast") String cursorLast,
+                                                   @Param("cursorFirst") String cursorFirst,
+                                                   @Param("cursorId") Integer cursorId,
+                                                   Pageable pageable);
+
     // Search by staff name
     List<StaffMember> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
 
@@ -24,4 +78,8 @@ public interface StaffMemberRepository extends JpaRepository<StaffMember, Intege
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(s.account.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<StaffMember> searchByNameOrEmail(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+
+    // Which of the given ids exist (bulk import validation)
+    @Query("SELECT s.userId FROM StaffMember s WHERE s.userId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+}
@@ -1,5 +1,6 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StudentCreditTotalDTO;
 import com.university.backend.model.Course;
 import com.university.backend.model.Professor;
 import com.university.backend.model.Student;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +36,27 @@ public interface StudentCourseRepository extends JpaRepository<StudentCourses, I
     Optional<StudentCourses> findByStudentUserIdAndCourseCourseId(@Param("studentId") Integer studentId,
                                                                   @Param("courseId") Integer courseId);
 
+    // Which of the given students are already enrolled in the course
+    @Query("SELECT sc.student.userId FROM StudentCourses sc " +
+            "WHERE sc.course.courseId = :courseId AND sc.student.userId IN :studentIds")
+    List<Integer> findEnrolledStudentIds(@Param("courseId") Integer courseId,
+                                         @Param("studentIds") Collection<Integer> studentIds);
+
+    // Total enrolled credit hours per student in a term, summed in SQL
+    @Query("SELECT new com.university.backend.dto.StudentCreditTotalDTO(sc.student.userId, SUM(sc.course.creditHours)) " +
+            "FROM StudentCourses sc " +
+            "WHERE sc.student.userId IN :studentIds AND sc.term = :term " +
+            "GROUP BY sc.student.userId")
+    List<StudentCreditTotalDTO> sumCreditsByStudentIds(@Param("studentIds") Collection<Integer> studentIds,
+                                                       @Param("term") String term);
+
+    // Total enrolled credit hours of one student in a term (0 when not enrolled in anything)
+    @Query("SELECT COALESCE(SUM(sc.course.creditHours), 0) FROM StudentCourses sc " +
+            "WHERE sc.student.userId = :studentId AND sc.term = :term")
+    Long sumCreditsForTerm(@Param("studentId") Integer studentId, @Param("term") String term);
+
+    // Number of courses a student is enrolled in for a term
+    @Query("SELECT COUNT(sc) FROM StudentCourses sc WHERE sc.student.userId = :studentId AND sc.term = :term")
+    long countByStudentAndTerm(@Param("studentId") Integer studentId, @Param("term") String term);
+
 }
\ No newline at end of file
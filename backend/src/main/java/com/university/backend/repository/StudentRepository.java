@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +29,8 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(s.account.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Student> searchByNameOrEmail(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+
+    // Which of the given ids exist (bulk import validation)
+    @Query("SELECT s.userId FROM Student s WHERE s.userId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+}
@@ -1,11 +1,14 @@
 package com.university.backend.repository;
 
+import com.university.backend.dto.StaffCourseRefDTO;
+import com.university.backend.dto.TADashboardDTO;
 import com.university.backend.model.TA;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,24 @@ public interface TARepository extends JpaRepository<TA, Integer> {
     // Only keep this simple query
     @Query("SELECT t FROM TA t WHERE t.userId = :userId")
     Optional<TA> findByUserId(@Param("userId") Integer userId);
+
+    // Dashboard profile of a TA in one row
+    @Query("SELECT new com.university.backend.dto.TADashboardDTO(" +
+            "t.userId, t.firstName, t.lastName, a.email, t.phone, d.departmentName, t.salary) " +
+            "FROM TA t JOIN t.account a LEFT JOIN t.department d " +
+            "WHERE t.userId = :userId")
+    Optional<TADashboardDTO> findDashboardProfile(@Param("userId") Integer userId);
+
+    @Query("SELECT COUNT(c) FROM TA t JOIN t.assistingCourses c WHERE t.userId = :userId")
+    long countAssistingCourses(@Param("userId") Integer userId);
+
+    // Every (TA, assisted course) pair, for assembling the staff directory in memory
+    @Query("SELECT new com.university.backend.dto.StaffCourseRefDTO(t.userId, c.courseId, c.code, c.name) " +
+            "FROM TA t JOIN t.assistingCourses c ORDER BY c.code")
+    List<StaffCourseRefDTO> findAssistingCourseRefs();
+
+    // (TA, assisted course) pairs for one directory page
+    @Query("SELECT new com.university.backend.dto.StaffCourseRefDTO(t.userId, c.courseId, c.code, c.name) " +
+            "FROM TA t JOIN t.assistingCourses c WHERE t.userId IN :staffIds ORDER BY c.code")
+    List<StaffCourseRefDTO> findAssistingCourseRefsByStaffIds(@Param("staffIds") Collection<Integer> staffIds);
 }
\ No newline at end of file
@@ -32,6 +32,15 @@ public class AccountService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private StaffSearchIndex staffSearchIndex;
+
+    @Autowired
+    private LoginPrincipalCache loginPrincipalCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
 //    @Autowired
 //    private AdminRepository adminRepository;
 //
@@ -73,7 +82,7 @@ public class AccountService {
             // 3. Create and Save the ACCOUNT (Authentication details only)
             Account account = new Account();
             account.setEmail(email);
-            account.setPassword(password); // Ensure this is hashed in production!
+            account.setPassword(passwordHashingService.hash(password));
             account.setAccountType(accountType);
             account.setDepartment(department);
             account.setCreatedAt(LocalDateTime.now());
@@ -129,6 +138,7 @@ public class AccountService {
 
             // 6. Save the User using the generic repository (Hibernate handles the subclass table insertion)
             userRepository.save(newUser);
+            staffSearchIndex.markChanged(newUser.getUserId());
 
             response.put("success", true);
             response.put("message", "Account and User profile created successfully!");
@@ -181,9 +191,15 @@ public class AccountService {
             }
             User user = userOpt.get();
 
+            // Cached logins for the old (and, below, the new) email must not outlive this change
+            loginPrincipalCache.invalidate(account.getEmail());
+
             // 3. Update Account Details (Auth info)
-            if (email != null && !email.isEmpty()) account.setEmail(email);
-            if (password != null && !password.isEmpty()) account.setPassword(password);
+            if (email != null && !email.isEmpty()) {
+                account.setEmail(email);
+                loginPrincipalCache.invalidate(email);
+            }
+            if (password != null && !password.isEmpty()) account.setPassword(passwordHashingService.hash(password));
             account.setDepartment(department);
 
             // Update Role (AccountType) - Careful, this doesn't change the User Subclass (Table)
@@ -205,6 +221,7 @@ public class AccountService {
             // 5. Save Both
             accountRepository.save(account);
             userRepository.save(user);
+            staffSearchIndex.markChanged(user.getUserId());
 
             response.put("success", true);
             response.put("message", "Account updated successfully");
@@ -222,16 +239,22 @@ public class AccountService {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            if (!accountRepository.existsById(Long.valueOf(accountId))) {
+            Optional<Account> account = accountRepository.findById(Long.valueOf(accountId));
+            if (account.isEmpty()) {
                 response.put("success", false);
                 response.put("message", "Account not found");
                 return response;
             }
+            loginPrincipalCache.invalidate(account.get().getEmail());
 
             // 1. Delete the User first
             // Because User has the ForeignKey (account_id), we must remove User first
             // or we get a Foreign Key Constraint violation.
+            User user = userRepository.findUserByAccountId(accountId);
             userRepository.deleteByAccountId(accountId);
+            if (user != null) {
+                staffSearchIndex.markChanged(user.getUserId());
+            }
 
             // 2. Delete the Account
             accountRepository.deleteById(Long.valueOf(accountId));
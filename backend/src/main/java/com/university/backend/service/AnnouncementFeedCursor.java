@@ -0,0 +1,47 @@
+package com.university.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the announcement feed: the (createdAt, id) of the last announcement served.
+ * createdAt may be null for announcements stored before it was populated.
+ */
+class AnnouncementFeedCursor {
+
+    final LocalDateTime createdAt;
+    final Integer id;
+
+    AnnouncementFeedCursor(LocalDateTime createdAt, Integer id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    String encode() {
+        String raw = id + "\n" + (createdAt == null ? "" : createdAt.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor (first page).
+     */
+    static AnnouncementFeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdAt = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new AnnouncementFeedCursor(createdAt, Integer.valueOf(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,26 +1,28 @@
 package com.university.backend.service;
 
 import com.university.backend.dto.AnnouncementDTO;
+import com.university.backend.dto.AnnouncementFeedPageDTO;
+import com.university.backend.dto.AnnouncementValueRowDTO;
 import com.university.backend.model.AnnnouncementEAV.*;
-import com.university.backend.repository.AnnouncementRepository.AnnouncementAttributeRepository;
 import com.university.backend.repository.AnnouncementRepository.AnnouncementEntityRepository;
-import com.university.backend.repository.AnnouncementRepository.AnnouncementValueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AnnouncementService {
 
     private final AnnouncementEntityRepository entityRepository;
-    private final AnnouncementAttributeRepository attributeRepository;
-    private final AnnouncementValueRepository valueRepository;
+    private final AttributeDictionary attributeDictionary;
+    private final EavBulkWriter eavBulkWriter;
 
     private static final List<String> MANDATORY_KEYS = List.of("Title", "Date", "Content", "Summary");
 
@@ -37,68 +39,106 @@ public class AnnouncementService {
 
         AnnouncementEntities savedEntity = entityRepository.save(entity);
 
+        // Attribute ids come from the in-memory dictionary; all values go in one multi-row insert
+        Map<Integer, String> values = new LinkedHashMap<>();
         request.getAttributes().forEach((key, value) -> {
             if (value != null) {
-                saveAttribute(savedEntity, key, value);
+                values.put(attributeDictionary.announcementAttributeId(key), String.valueOf(value));
             }
         });
+        eavBulkWriter.insertAnnouncementValues(savedEntity.getId(), values);
     }
 
-    private void saveAttribute(AnnouncementEntities entity, String key, Object rawValue) {
-        AnnouncementAttributes attribute = attributeRepository.findByName(key)
-                .orElseGet(() -> attributeRepository.save(
-                        AnnouncementAttributes.builder().name(key).build()
-                ));
+    // --- NEW FUNCTIONS ---
 
-        AnnouncementValues valueEntry = AnnouncementValues.builder()
-                .announcement(entity)
-                .attribute(attribute)
-                .stringValue(String.valueOf(rawValue))
-                .build();
+    static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    static final int MAX_FEED_PAGE_SIZE = 100;
 
-        valueRepository.save(valueEntry);
+    /**
+     * Fetches all announcements and transforms them into DTOs (one query for entities, values and attribute names)
+     */
+    @Transactional(readOnly = true)
+    public List<AnnouncementDTO> getAllAnnouncements() {
+        return new ArrayList<>(pivot(entityRepository.findAllValueRows()).values());
     }
 
-    // --- NEW FUNCTIONS ---
-
     /**
-     * Fetches all announcements and transforms them into DTOs
+     * One page of the announcement feed, newest first. Two bounded queries per page:
+     * the next page of ids by keyset on (createdAt, id), then their values and attribute names.
      */
-    public List<AnnouncementDTO> getAllAnnouncements() {
-        return entityRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public AnnouncementFeedPageDTO getAnnouncementFeed(String cursor, Integer limit) {
+        AnnouncementFeedCursor after = AnnouncementFeedCursor.decode(cursor);
+        int pageSize = feedPageSize(limit);
+
+        List<Integer> ids = entityRepository.findFeedPageIds(
+                after == null ? null : after.createdAt,
+                after == null ? null : after.id,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        if (ids.isEmpty()) {
+            return new AnnouncementFeedPageDTO(List.of(), null);
+        }
+
+        List<AnnouncementValueRowDTO> rows = entityRepository.findValueRowsByIds(ids);
+        Map<Integer, AnnouncementDTO> pivoted = pivot(rows);
+
+        String nextCursor = null;
+        if (hasMore) {
+            AnnouncementValueRowDTO last = rows.get(rows.size() - 1);
+            nextCursor = new AnnouncementFeedCursor(last.getCreatedAt(), last.getAnnouncementId()).encode();
+        }
+        return new AnnouncementFeedPageDTO(new ArrayList<>(pivoted.values()), nextCursor);
     }
 
     /**
      * Fetches a single announcement by ID for the details page
      */
+    @Transactional(readOnly = true)
     public AnnouncementDTO getAnnouncementById(Integer id) {
-        AnnouncementEntities entity = entityRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Announcement not found with ID: " + id));
-        return mapToDTO(entity);
+        AnnouncementDTO dto = pivot(entityRepository.findValueRowsByIds(List.of(id))).get(id);
+        if (dto == null) {
+            throw new RuntimeException("Announcement not found with ID: " + id);
+        }
+        return dto;
     }
 
     /**
-     * Helper to transform EAV Entity structure to a flat DTO
+     * Helper to transform EAV rows to flat DTOs in a single pass, keeping the row order of announcements
      */
-    private AnnouncementDTO mapToDTO(AnnouncementEntities entity) {
-        AnnouncementDTO dto = new AnnouncementDTO();
-        dto.setName(entity.getAnnouncementName());
-
-        Map<String, Object> attributes = new HashMap<>();
-
-        // Ensure the ID is included in attributes so the frontend can use it for routing
-        attributes.put("id", entity.getId());
+    private Map<Integer, AnnouncementDTO> pivot(List<AnnouncementValueRowDTO> rows) {
+        Map<Integer, AnnouncementDTO> dtos = new LinkedHashMap<>();
+        for (AnnouncementValueRowDTO row : rows) {
+            AnnouncementDTO dto = dtos.get(row.getAnnouncementId());
+            if (dto == null) {
+                dto = new AnnouncementDTO();
+                dto.setName(row.getAnnouncementName());
+
+                Map<String, Object> attributes = new HashMap<>();
+                // Ensure the ID is included in attributes so the frontend can use it for routing
+                attributes.put("id", row.getAnnouncementId());
+                dto.setAttributes(attributes);
+                dtos.put(row.getAnnouncementId(), dto);
+            }
 
-        // Map each EAV value back to the attributes map
-        if (entity.getValues() != null) {
-            for (AnnouncementValues val : entity.getValues()) {
-                attributes.put(val.getAttribute().getName(), val.getStringValue());
+            // Announcements without values come back as a single row with no attribute
+            if (row.getAttributeName() != null) {
+                dto.getAttributes().put(row.getAttributeName(), row.getStringValue());
             }
         }
+        return dtos;
+    }
 
-        dto.setAttributes(attributes);
-        return dto;
+    private int feedPageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_FEED_PAGE_SIZE;
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_FEED_PAGE_SIZE);
     }
-}
\ No newline at end of file
+}
@@ -7,8 +7,11 @@ import com.university.backend.model.*;
 import com.university.backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,6 +24,7 @@ public class AssignmentViewService {
     private final StudentCourseRepository studentCourseRepository;
 
     // Get all assignments for a student
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAssignmentsForStudent(Integer studentId) {
         // Get courses the student is enrolled in
         List<Course> enrolledCourses = studentCourseRepository.findCoursesById(studentId);
@@ -33,14 +37,13 @@ public class AssignmentViewService {
         }
 
         // Get assignments for those courses
-        List<Assignment> assignments = assignmentRepository.findByCourseIdIn(courseIds);
+        List<Assignment> assignments = assignmentRepository.findByCourseIdInWithCourse(courseIds);
 
-        return assignments.stream()
-                .map(assignment -> convertToDTO(assignment, studentId))
-                .collect(Collectors.toList());
+        return convertToDTOs(assignments, studentId);
     }
 
     // Get assignments for a specific course
+    @Transactional(readOnly = true)
     public List<AssignmentDTO> getAssignmentsForCourse(Integer studentId, Integer courseId) {
         // Check if student is enrolled in the course
         boolean isEnrolled = studentCourseRepository.existsByStudentUserIdAndCourseCourseId(studentId, courseId);
@@ -48,11 +51,9 @@ public class AssignmentViewService {
             throw new RuntimeException("Student is not enrolled in this course");
         }
 
-        List<Assignment> assignments = assignmentRepository.findByCourseId(courseId);
+        List<Assignment> assignments = assignmentRepository.findByCourseIdInWithCourse(List.of(courseId));
 
-        return assignments.stream()
-                .map(assignment -> convertToDTO(assignment, studentId))
-                .collect(Collectors.toList());
+        return convertToDTOs(assignments, studentId);
     }
 
     // Get assignment details
@@ -136,8 +137,28 @@ public class AssignmentViewService {
         return submissionDTO;
     }
 
+    // Helper method to convert assignments to DTOs, loading all of the student's submissions in one query
+    private List<AssignmentDTO> convertToDTOs(List<Assignment> assignments, Integer studentId) {
+        if (assignments.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> assignmentIds = assignments.stream()
+                .map(Assignment::getAssignmentId)
+                .collect(Collectors.toList());
+
+        Map<Integer, AssignmentSubmission> submissionsByAssignment = new HashMap<>();
+        for (AssignmentSubmission submission : submissionRepository.findByStudentIdAndAssignmentIdIn(studentId, assignmentIds)) {
+            submissionsByAssignment.putIfAbsent(submission.getAssignment_id().getAssignmentId(), submission);
+        }
+
+        return assignments.stream()
+                .map(assignment -> convertToDTO(assignment, submissionsByAssignment.get(assignment.getAssignmentId())))
+                .collect(Collectors.toList());
+    }
+
     // Helper method to convert Assignment to DTO
-    private AssignmentDTO convertToDTO(Assignment assignment, Integer studentId) {
+    private AssignmentDTO convertToDTO(Assignment assignment, AssignmentSubmission submission) {
         AssignmentDTO dto = new AssignmentDTO();
         dto.setAssignmentId(assignment.getAssignmentId());
         dto.setCourseId(assignment.getCourse().getCourseId());
@@ -148,18 +169,12 @@ public class AssignmentViewService {
         dto.setDueDate(assignment.getDueDate());
         dto.setTotalMarks(assignment.getMarks());
 
-        // Check submission status
-        boolean hasSubmitted = submissionRepository.existsByAssignmentIdAndStudentId(
-                assignment.getAssignmentId(), studentId);
-        dto.setSubmitted(hasSubmitted);
-
-        if (hasSubmitted) {
-            Optional<AssignmentSubmission> submission = submissionRepository
-                    .findByAssignmentIdAndStudentId(assignment.getAssignmentId(), studentId);
-            submission.ifPresent(s -> {
-                dto.setMarksObtained(s.getGrade());
-                dto.setSubmittedAt(s.getSubmitted_at());
-            });
+        // Submission status from the preloaded submission, if any
+        dto.setSubmitted(submission != null);
+
+        if (submission != null) {
+            dto.setMarksObtained(submission.getGrade());
+            dto.setSubmittedAt(submission.getSubmitted_at());
         }
 
         // Determine assignment status based on due date
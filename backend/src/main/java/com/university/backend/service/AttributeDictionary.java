@@ -0,0 +1,152 @@
+package com.university.backend.service;
+
+import com.university.backend.model.AnnnouncementEAV.AnnouncementAttributes;
+import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentAttributes;
+import com.university.backend.repository.AnnouncementRepository.AnnouncementAttributeRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentAttributeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory name <-> id dictionary for the announcement and equipment EAV attributes. The vocabulary is
+ * small and rarely changes, so it is preloaded once the application starts and then served without
+ * queries; misses (e.g. attributes added on another node) fall back to the database and are remembered.
+ * Names are interned, so every DTO built from the dictionary shares one String per attribute.
+ *
+ * New announcement attributes are created in their own transaction, so a cached id always refers to a
+ * committed row even if the announcement that introduced it rolls back. Concurrent first use of the
+ * same name is serialized here and, across nodes, by the unique constraint on the name.
+ */
+@Service
+public class AttributeDictionary {
+
+    private final AnnouncementAttributeRepository announcementAttributeRepository;
+    private final EquipmentAttributeRepository equipmentAttributeRepository;
+    private final TransactionTemplate newTransaction;
+
+    private final ConcurrentHashMap<String, Integer> announcementIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, String> equipmentNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> equipmentIds = new ConcurrentHashMap<>();
+
+    private final Object announcementCreationLock = new Object();
+
+    public AttributeDictionary(AnnouncementAttributeRepository announcementAttributeRepository,
+                               EquipmentAttributeRepository equipmentAttributeRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.announcementAttributeRepository = announcementAttributeRepository;
+        this.equipmentAttributeRepository = equipmentAttributeRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        for (AnnouncementAttributes attribute : announcementAttributeRepository.findAll()) {
+            announcementIds.put(attribute.getName().intern(), attribute.getId());
+        }
+        for (EquipmentAttributes attribute : equipmentAttributeRepository.findAll()) {
+            putEquipment(attribute.getEquipmentAttributeId(), attribute.getName());
+        }
+    }
+
+    // ---- Announcement attributes ----
+
+    /**
+     * Id of the announcement attribute with this name, creating the attribute if it does not exist yet.
+     */
+    public Integer announcementAttributeId(String name) {
+        Integer id = announcementIds.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (announcementCreationLock) {
+            id = announcementIds.get(name);
+            if (id == null) {
+                id = findOrCreateAnnouncementAttribute(name);
+                announcementIds.put(name.intern(), id);
+            }
+            return id;
+        }
+    }
+
+    private Integer findOrCreateAnnouncementAttribute(String name) {
+        try {
+            return newTransaction.execute(status -> announcementAttributeRepository.findByName(name)
+                    .orElseGet(() -> announcementAttributeRepository.saveAndFlush(
+                            AnnouncementAttributes.builder().name(name).build()))
+                    .getId());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+            return announcementAttributeRepository.findByName(name)
+                    .orElseThrow(() -> e)
+                    .getId();
+        }
+    }
+
+    // ---- Equipment attributes ----
+
+    /**
+     * Whether an equipment attribute with this id exists.
+     */
+    public boolean hasEquipmentAttribute(Integer id) {
+        return equipmentAttributeName(id) != null;
+    }
+
+    /**
+     * Name of the equipment attribute, or null if there is none with this id.
+     */
+    public String equipmentAttributeName(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = equipmentNames.get(id);
+        if (name == null) {
+            name = equipmentAttributeRepository.findById(id)
+                    .map(attribute -> putEquipment(attribute.getEquipmentAttributeId(), attribute.getName()))
+                    .orElse(null);
+        }
+        return name;
+    }
+
+    /**
+     * Id of the equipment attribute with this name (the lowest id if names repeat), or null.
+     */
+    public Integer equipmentAttributeId(String name) {
+        return name == null ? null : equipmentIds.get(name);
+    }
+
+    /**
+     * Records a newly saved equipment attribute once the current transaction commits.
+     */
+    public void equipmentAttributeAdded(EquipmentAttributes attribute) {
+        Integer id = attribute.getEquipmentAttributeId();
+        String name = attribute.getName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putEquipment(id, name);
+                }
+            });
+        } else {
+            putEquipment(id, name);
+        }
+    }
+
+    private String putEquipment(Integer id, String name) {
+        String interned = name.intern();
+        equipmentNames.put(id, interned);
+        equipmentIds.merge(interned, id, Math::min);
+        return interned;
+    }
+}
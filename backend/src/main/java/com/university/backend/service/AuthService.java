@@ -1,58 +1,75 @@
 package com.university.backend.service;
-import com.university.backend.model.Account;
-import com.university.backend.model.User;
+import com.university.backend.dto.LoginPrincipalDTO;
 import com.university.backend.repository.AccountRepository;
-import com.university.backend.repository.UserRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class AuthService {
 
     private final AccountRepository accountRepository;
-    private final UserRepository userRepository;
+    private final LoginPrincipalCache loginPrincipalCache;
+    private final PasswordHashingService passwordHashingService;
 
     // Use constructor injection for the repository
-    public AuthService(AccountRepository accountRepository, UserRepository userRepository) {
+    public AuthService(AccountRepository accountRepository, LoginPrincipalCache loginPrincipalCache,
+                       PasswordHashingService passwordHashingService) {
         this.accountRepository = accountRepository;
-        this.userRepository = userRepository;
+        this.loginPrincipalCache = loginPrincipalCache;
+        this.passwordHashingService = passwordHashingService;
     }
 
-    public boolean authenticate(String username, String password) {
-        // Find account by username
-        Account account = accountRepository.findByEmail(username);
+    /**
+     * Checks the credentials and returns the resolved principal (account id, role, user id),
+     * or empty if the email is unknown, the password is wrong or the account is inactive.
+     * The principal comes from the cache or from one projection query. Legacy plaintext passwords and
+     * hashes with an outdated work factor are re-hashed after a successful check. Every outcome costs one
+     * password hash, so the response time does not reveal whether the email has an account.
+     * Throws IllegalStateException when the password hashing pool is saturated.
+     */
+    public Optional<LoginPrincipalDTO> login(String username, String password) {
+        if (username == null || password == null) {
+            return Optional.empty();
+        }
 
-        // Check if account exists and password matches
-        if (account != null && account.getPassword().equals(password)) {
-            return true;
+        LoginPrincipalDTO principal = loginPrincipalCache.get(username);
+        if (principal == null) {
+            Long generation = loginPrincipalCache.generation(username);
+            principal = accountRepository.findLoginPrincipal(username).orElse(null);
+            if (principal == null) {
+                // Same cost as a real check, so timing does not tell unknown emails apart
+                passwordHashingService.verifyDummy(password);
+                return Optional.empty();
+            }
+            loginPrincipalCache.put(username, principal, generation);
         }
-        return false;
-    }
 
-    public String getUserRole(String username)
-    {
-        Account account = accountRepository.findByEmail(username);
-        if (account != null && account.getAccountType() != null)
-        {
-            return account.getAccountType().getName();
+        if (!Boolean.TRUE.equals(principal.getActive())) {
+            passwordHashingService.verifyDummy(password);
+            return Optional.empty();
+        }
+
+        PasswordHashingService.Verification verification =
+                passwordHashingService.verify(password, principal.getPassword());
+        if (!verification.matches()) {
+            return Optional.empty();
         }
-        return null;
-    }
 
-    public int getAccountID(String username) {
-        Account account = accountRepository.findByEmail(username);
-        if (account != null && account.getAccountType() != null) {
-            return account.getId();
+        if (verification.needsUpgrade()) {
+            upgradePassword(principal, password);
         }
-        return 0;
+        return Optional.of(principal);
     }
 
-    public int getUserID(int accountID)
-    {
-        User user = userRepository.findUserByAccountId(accountID);
-        if (user != null && user.getUserId() != null)
-        {
-            return user.getUserId();
+    // Best effort: a failed upgrade never fails the login, it is simply retried next time
+    private void upgradePassword(LoginPrincipalDTO principal, String password) {
+        try {
+            String upgraded = passwordHashingService.hash(password);
+            accountRepository.upgradePassword(principal.getAccountId(), principal.getPassword(), upgraded);
+            loginPrincipalCache.invalidate(principal.getEmail());
+        } catch (RuntimeException e) {
+            System.err.println("Password upgrade skipped for account " + principal.getAccountId() + ": " + e.getMessage());
         }
-        return 0;
     }
-}
\ No newline at end of file
+}
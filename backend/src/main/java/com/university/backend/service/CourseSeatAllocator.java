@@ -0,0 +1,61 @@
+package com.university.backend.service;
+
+import com.university.backend.repository.CourseRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out course seats without oversubscribing.
+ * The database is the source of truth: a seat is taken with a single conditional UPDATE that only
+ * succeeds while current_enrollment < capacity, so concurrent registrations (on any node) can never
+ * exceed capacity. Courses found full are remembered in memory for a short time so the registration
+ * rush on a popular course is rejected without touching the database.
+ */
+@Service
+public class CourseSeatAllocator {
+
+    // How long a "full" verdict is trusted before asking the database again (seats freed on other nodes)
+    private static final long FULL_FLAG_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final CourseRepository courseRepository;
+
+    // courseId -> System.nanoTime() until which the course is considered full
+    private final ConcurrentHashMap<Integer, Long> fullCourses = new ConcurrentHashMap<>();
+
+    public CourseSeatAllocator(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * True if the course was recently found full; answered from memory only.
+     */
+    public boolean isKnownFull(Integer courseId) {
+        Long fullUntil = fullCourses.get(courseId);
+        if (fullUntil == null) {
+            return false;
+        }
+        if (System.nanoTime() - fullUntil > 0) {
+            fullCourses.remove(courseId, fullUntil);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes one seat inside the caller's transaction. Returns false if the course is full.
+     */
+    public boolean tryReserve(Integer courseId) {
+        if (isKnownFull(courseId)) {
+            return false;
+        }
+
+        if (courseRepository.tryReserveSeat(courseId) == 1) {
+            return true;
+        }
+
+        fullCourses.put(courseId, System.nanoTime() + FULL_FLAG_TTL_NANOS);
+        return false;
+    }
+}
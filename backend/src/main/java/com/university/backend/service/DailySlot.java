@@ -0,0 +1,29 @@
+package com.university.backend.service;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A daily room slot label (e.g. "08:00-09:30") with its pre-parsed boundaries.
+ */
+class DailySlot {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    final String label;
+    final LocalTime start;
+    final LocalTime end;
+
+    private DailySlot(String label, LocalTime start, LocalTime end) {
+        this.label = label;
+        this.start = start;
+        this.end = end;
+    }
+
+    static DailySlot parse(String label) {
+        String[] bounds = label.split("-");
+        return new DailySlot(label,
+                LocalTime.parse(bounds[0], TIME_FORMATTER),
+                LocalTime.parse(bounds[1], TIME_FORMATTER));
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.backend.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes EAV rows with multi-row INSERT statements instead of one JPA save() per row (IDENTITY ids stop
+ * Hibernate from batching). Statements are sized to stay under SQL Server's 2100-parameter limit, so
+ * 50k equipment items with 8 attributes each are a few hundred statements rather than 400k.
+ * Callers provide the transaction; everything here joins it.
+ */
+@Service
+public class EavBulkWriter {
+
+    // SQL Server allows 2100 parameters per statement; keep some headroom
+    private static final int MAX_PARAMETERS = 2000;
+    // INSERT ... VALUES accepts at most 1000 rows
+    private static final int MAX_ROWS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EavBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAnnouncementValues(Integer announcementId, Map<Integer, String> valuesByAttributeId) {
+        List<Object[]> rows = new ArrayList<>(valuesByAttributeId.size());
+        valuesByAttributeId.forEach((attributeId, value) -> rows.add(new Object[]{announcementId, attributeId, value}));
+        insertRows("announcement_values", "announcement_id, attribute_id, string_value", rows);
+    }
+
+    /**
+     * Inserts equipment entities and returns their generated ids in input order. MERGE ... OUTPUT is used
+     * because it can return the source row number next to each identity value; a plain INSERT ... OUTPUT
+     * does not guarantee the order of the returned ids.
+     */
+    public List<Integer> insertEquipmentEntities(List<String> names) {
+        Integer[] ids = new Integer[names.size()];
+        int rowsPerStatement = Math.min(MAX_ROWS, MAX_PARAMETERS / 2);
+
+        for (int from = 0; from < names.size(); from += rowsPerStatement) {
+            int to = Math.min(names.size(), from + rowsPerStatement);
+            StringBuilder sql = new StringBuilder("MERGE INTO equipment_entities USING (VALUES ");
+            List<Object> args = new ArrayList<>((to - from) * 2);
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "(?, ?)" : ", (?, ?)");
+                args.add(i);
+                args.add(names.get(i));
+            }
+            sql.append(") AS src (rn, name) ON 1 = 0 " +
+                    "WHEN NOT MATCHED THEN INSERT (name) VALUES (src.name) " +
+                    "OUTPUT src.rn, INSERTED.equipment_id;");
+
+            jdbcTemplate.query(sql.toString(), rs -> {
+                ids[rs.getInt(1)] = rs.getInt(2);
+            }, args.toArray());
+        }
+        return List.of(ids);
+    }
+
+    /**
+     * Rows of (equipment_id, equipment_attribute_id, value).
+     */
+    public void insertEquipmentValues(List<Object[]> rows) {
+        insertRows("equipment_values", "equipment_id, equipment_attribute_id, value", rows);
+    }
+
+    /**
+     * Rows of (equipment_id, holder id); holderType is DEPARTMENT, FACULTY or STUDENT.
+     */
+    public void insertAllocations(String holderType, List<Object[]> rows) {
+        switch (holderType) {
+            case "DEPARTMENT":
+                insertRows("equipment_department_allocation", "equipment_id, department_id", rows);
+                break;
+            case "FACULTY":
+                insertRows("equipment_faculty_allocation", "equipment_id, staff_id", rows);
+                break;
+            case "STUDENT":
+                insertRows("equipment_student_allocation", "equipment_id, student_id", rows);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid account type: " + holderType);
+        }
+    }
+
+    private void insertRows(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int width = rows.get(0).length;
+        String placeholders = "(" + "?, ".repeat(width - 1) + "?)";
+        int rowsPerStatement = Math.min(MAX_ROWS, MAX_PARAMETERS / width);
+
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            int to = Math.min(rows.size(), from + rowsPerStatement);
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(columns).append(") VALUES ");
+            List<Object> args = new ArrayList<>((to - from) * width);
+            for (int i = from; i < to; i++) {
+                if (i > from) {
+                    sql.append(", ");
+                }
+                sql.append(placeholders);
+                for (Object value : rows.get(i)) {
+                    args.add(value);
+                }
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+}
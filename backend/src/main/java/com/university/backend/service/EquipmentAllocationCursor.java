@@ -0,0 +1,46 @@
+package com.university.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the allocation listing: the (equipmentId, allocatedToType, allocationId) of the last row served.
+ */
+class EquipmentAllocationCursor {
+
+    final Integer equipmentId;
+    final String type;
+    final Integer allocationId;
+
+    EquipmentAllocationCursor(Integer equipmentId, String type, Integer allocationId) {
+        this.equipmentId = equipmentId;
+        this.type = type;
+        this.allocationId = allocationId;
+    }
+
+    String encode() {
+        String raw = equipmentId + "\n" + type + "\n" + allocationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor (first page).
+     */
+    static EquipmentAllocationCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length != 3
+                    || (!parts[1].equals("DEPARTMENT") && !parts[1].equals("FACULTY") && !parts[1].equals("STUDENT"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new EquipmentAllocationCursor(Integer.valueOf(parts[0]), parts[1], Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
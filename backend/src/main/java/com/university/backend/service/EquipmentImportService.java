@@ -0,0 +1,279 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.EquipmentImportResultDTO;
+import com.university.backend.repository.DepartmentRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import com.university.backend.repository.StudentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk equipment import from CSV. The input is read line by line and written in chunks with
+ * EavBulkWriter, so memory stays bounded whatever the file size. The whole import runs in one
+ * transaction: any bad row rolls everything back and is reported with its line number.
+ *
+ * Header: name,allocatedToType,allocatedToId,<attribute name>,<attribute name>,...
+ * Attribute columns must match existing equipment attribute names; empty cells are skipped.
+ * Fields may be quoted ("a, b" and "" for a quote); a field cannot span lines.
+ */
+@Service
+public class EquipmentImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    private static final int FIXED_COLUMNS = 3;
+    // equipment_entities.name is VARCHAR(100)
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private final EavBulkWriter eavBulkWriter;
+    private final AttributeDictionary attributeDictionary;
+    private final DepartmentRepository departmentRepository;
+    private final StaffMemberRepository staffMemberRepository;
+    private final StudentRepository studentRepository;
+    private final EquipmentSearchIndex equipmentSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public EquipmentImportService(EavBulkWriter eavBulkWriter, AttributeDictionary attributeDictionary,
+                                  DepartmentRepository departmentRepository,
+                                  StaffMemberRepository staffMemberRepository,
+                                  StudentRepository studentRepository,
+                                  EquipmentSearchIndex equipmentSearchIndex,
+                                  PlatformTransactionManager transactionManager) {
+        this.eavBulkWriter = eavBulkWriter;
+        this.attributeDictionary = attributeDictionary;
+        this.departmentRepository = departmentRepository;
+        this.staffMemberRepository = staffMemberRepository;
+        this.studentRepository = studentRepository;
+        this.equipmentSearchIndex = equipmentSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports all rows of the CSV. Throws IllegalArgumentException (nothing imported) on a bad header or row.
+     */
+    public EquipmentImportResultDTO importCsv(InputStream input) {
+        long startedAt = System.nanoTime();
+        EquipmentImportResultDTO result = transactionTemplate.execute(status -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                return importRows(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        result.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000);
+        return result;
+    }
+
+    private EquipmentImportResultDTO importRows(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        Integer[] attributeIds = parseHeader(parseLine(stripBom(headerLine), 1));
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        int equipmentImported = 0;
+        int valuesImported = 0;
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parseRow(parseLine(line, lineNumber), attributeIds.length, lineNumber));
+            if (chunk.size() == CHUNK_SIZE) {
+                valuesImported += writeChunk(chunk, attributeIds);
+                equipmentImported += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            valuesImported += writeChunk(chunk, attributeIds);
+            equipmentImported += chunk.size();
+        }
+        // Cheaper to rebuild the search index once than to reindex every imported item
+        equipmentSearchIndex.markAllChanged();
+        return new EquipmentImportResultDTO(equipmentImported, valuesImported, 0);
+    }
+
+    // Returns the attribute id of every column after the fixed ones
+    private Integer[] parseHeader(List<String> header) {
+        if (header.size() < FIXED_COLUMNS
+                || !header.get(0).trim().equalsIgnoreCase("name")
+                || !header.get(1).trim().equalsIgnoreCase("allocatedToType")
+                || !header.get(2).trim().equalsIgnoreCase("allocatedToId")) {
+            throw new IllegalArgumentException("CSV header must start with name,allocatedToType,allocatedToId");
+        }
+
+        Integer[] attributeIds = new Integer[header.size() - FIXED_COLUMNS];
+        for (int i = 0; i < attributeIds.length; i++) {
+            String name = header.get(FIXED_COLUMNS + i).trim();
+            attributeIds[i] = attributeDictionary.equipmentAttributeId(name);
+            if (attributeIds[i] == null) {
+                throw new IllegalArgumentException("Unknown equipment attribute in header: " + name);
+            }
+        }
+        return attributeIds;
+    }
+
+    private Row parseRow(List<String> fields, int attributeCount, int lineNumber) {
+        if (fields.size() > FIXED_COLUMNS + attributeCount) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": too many columns");
+        }
+        if (fields.size() < FIXED_COLUMNS || fields.get(0).isBlank()) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": name, allocatedToType and allocatedToId are required");
+        }
+
+        String name = fields.get(0).trim();
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+
+        String type = fields.get(1).trim().toUpperCase(Locale.ROOT);
+        if (!type.equals("DEPARTMENT") && !type.equals("FACULTY") && !type.equals("STUDENT")) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": invalid allocatedToType: " + fields.get(1));
+        }
+        int holderId;
+        try {
+            holderId = Integer.parseInt(fields.get(2).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": invalid allocatedToId: " + fields.get(2));
+        }
+
+        String[] values = new String[attributeCount];
+        for (int i = 0; i < attributeCount && FIXED_COLUMNS + i < fields.size(); i++) {
+            String value = fields.get(FIXED_COLUMNS + i);
+            values[i] = value.isEmpty() ? null : value;
+        }
+        return new Row(lineNumber, name, type, holderId, values);
+    }
+
+    private int writeChunk(List<Row> chunk, Integer[] attributeIds) {
+        validateHolders(chunk);
+
+        List<String> names = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            names.add(row.name);
+        }
+        List<Integer> equipmentIds = eavBulkWriter.insertEquipmentEntities(names);
+
+        List<Object[]> values = new ArrayList<>(chunk.size() * attributeIds.length);
+        Map<String, List<Object[]>> allocations = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            Integer equipmentId = equipmentIds.get(i);
+            for (int a = 0; a < attributeIds.length; a++) {
+                if (row.values[a] != null) {
+                    values.add(new Object[]{equipmentId, attributeIds[a], row.values[a]});
+                }
+            }
+            allocations.computeIfAbsent(row.type, type -> new ArrayList<>())
+                    .add(new Object[]{equipmentId, row.holderId});
+        }
+
+        eavBulkWriter.insertEquipmentValues(values);
+        allocations.forEach(eavBulkWriter::insertAllocations);
+        return values.size();
+    }
+
+    // One existence query per holder type and chunk, instead of a findById per row
+    private void validateHolders(List<Row> chunk) {
+        Map<String, Set<Integer>> idsByType = new HashMap<>();
+        for (Row row : chunk) {
+            idsByType.computeIfAbsent(row.type, type -> new HashSet<>()).add(row.holderId);
+        }
+
+        Map<String, Set<Integer>> existingByType = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            List<Integer> existing;
+            switch (type) {
+                case "DEPARTMENT":
+                    existing = departmentRepository.findExistingIds(ids);
+                    break;
+                case "FACULTY":
+                    existing = staffMemberRepository.findExistingIds(ids);
+                    break;
+                default:
+                    existing = studentRepository.findExistingIds(ids);
+                    break;
+            }
+            existingByType.put(type, new HashSet<>(existing));
+        });
+
+        for (Row row : chunk) {
+            if (!existingByType.get(row.type).contains(row.holderId)) {
+                throw new IllegalArgumentException("Line " + row.lineNumber + ": "
+                        + row.type.toLowerCase(Locale.ROOT) + " not found with id: " + row.holderId);
+            }
+        }
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    static List<String> parseLine(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Row {
+        private final int lineNumber;
+        private final String name;
+        private final String type;
+        private final int holderId;
+        private final String[] values;
+
+        Row(int lineNumber, String name, String type, int holderId, String[] values) {
+            this.lineNumber = lineNumber;
+            this.name = name;
+            this.type = type;
+            this.holderId = holderId;
+            this.values = values;
+        }
+    }
+}
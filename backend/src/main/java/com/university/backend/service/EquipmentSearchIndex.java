@@ -0,0 +1,483 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.EquipmentAllocationDTO;
+import com.university.backend.dto.EquipmentDTO;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentDepartmentRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentFacultyRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentStudentRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentEntityRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process inverted index over equipment: attribute values, name words and holder (allocation), each
+ * mapped to a sorted int[] of equipment ids. A search intersects the postings of all its conditions,
+ * smallest first with galloping lookups, so the work is bounded by the most selective condition rather
+ * than by the inventory size; results come out in id order, which makes the id a natural page cursor.
+ * Loaded on first use; changed items are queued after commit and reloaded before the next search, and
+ * bulk imports schedule a full rebuild. Changes made on other nodes are only seen through the periodic
+ * full rebuild.
+ */
+@Service
+public class EquipmentSearchIndex {
+
+    static final String DEPARTMENT = "DEPARTMENT";
+    static final String FACULTY = "FACULTY";
+    static final String STUDENT = "STUDENT";
+
+    // Every entry carries this key, so its postings list is the full id set
+    private static final String ALL_KEY = "*";
+
+    // SQL Server allows ~2100 parameters per statement
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+    private static final long REBUILD_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final EquipmentEntityRepository equipmentEntityRepository;
+    private final EquipmentDepartmentRepository equipmentDepartmentRepository;
+    private final EquipmentFacultyRepository equipmentFacultyRepository;
+    private final EquipmentStudentRepository equipmentStudentRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private final ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuildRequested;
+
+    public EquipmentSearchIndex(EquipmentEntityRepository equipmentEntityRepository,
+                                EquipmentDepartmentRepository equipmentDepartmentRepository,
+                                EquipmentFacultyRepository equipmentFacultyRepository,
+                                EquipmentStudentRepository equipmentStudentRepository) {
+        this.equipmentEntityRepository = equipmentEntityRepository;
+        this.equipmentDepartmentRepository = equipmentDepartmentRepository;
+        this.equipmentFacultyRepository = equipmentFacultyRepository;
+        this.equipmentStudentRepository = equipmentStudentRepository;
+    }
+
+    /**
+     * Items matching every given condition, in id order, strictly after afterId, at most limit of them.
+     * attributeValues maps attribute name to value (both exact, case-insensitive); nameQuery words match
+     * name word prefixes; holderType narrows to an allocation type and holderId to one holder of that type.
+     */
+    Result search(String nameQuery, Map<String, String> attributeValues, String holderType, Integer holderId,
+                  Integer afterId, int limit) {
+        Snapshot current = current();
+
+        List<int[]> postings = new ArrayList<>();
+        for (String word : words(nameQuery)) {
+            postings.add(current.prefixUnion("n:" + word));
+        }
+        for (Map.Entry<String, String> condition : attributeValues.entrySet()) {
+            postings.add(current.postings.get(attributeKey(condition.getKey(), condition.getValue())));
+        }
+        if (holderType != null) {
+            postings.add(current.postings.get(holderId == null ? "t:" + holderType : holderKey(holderType, holderId)));
+        }
+        if (postings.isEmpty()) {
+            postings.add(current.postings.get(ALL_KEY));
+        }
+
+        int[] matches = intersect(postings);
+        int start = afterId == null ? 0 : lowerBound(matches, 0, afterId + 1);
+        List<Entry> page = new ArrayList<>(Math.min(limit, Math.max(0, matches.length - start)));
+        for (int i = start; i < matches.length && page.size() < limit; i++) {
+            page.add(current.entries.get(matches[i]));
+        }
+        return new Result(page, matches.length, start + page.size() < matches.length);
+    }
+
+    /**
+     * Queues an item for reindexing once the current transaction commits (immediately if there is none).
+     */
+    public void markChanged(Integer equipmentId) {
+        if (equipmentId == null) {
+            return;
+        }
+        afterCommit(() -> pending.add(equipmentId));
+    }
+
+    /**
+     * Rebuilds the whole index before the next search, e.g. after a bulk import.
+     */
+    public void markAllChanged() {
+        afterCommit(() -> rebuildRequested = true);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || rebuildRequested) {
+            lock.lock();
+            try {
+                if (snapshot == null || rebuildRequested) {
+                    rebuild();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        } else if (current.isStale() && lock.tryLock()) {
+            // One search rebuilds a stale index; the others keep using the current snapshot meanwhile
+            try {
+                if (snapshot.isStale()) {
+                    rebuild();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!pending.isEmpty()) {
+            lock.lock();
+            try {
+                applyPending();
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Caller holds lock. Items queued before this point are covered by the full load; later ones stay queued.
+    private void rebuild() {
+        rebuildRequested = false;
+        pending.clear();
+        long startedAt = System.nanoTime();
+        snapshot = build(startedAt);
+    }
+
+    private Snapshot build(long startedAt) {
+        Map<Integer, Entry> entries = toEntries(equipmentEntityRepository.findIndexRows(),
+                equipmentDepartmentRepository.findAllDepartmentEquipmentsWithNames(),
+                equipmentFacultyRepository.findAllFacultyEquipmentsWithNames(),
+                equipmentStudentRepository.findAllStudentEquipmentsWithNames());
+
+        // Entries are in id order, so appending keeps every postings list sorted
+        Map<String, IntList> lists = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            for (String key : entry.keys) {
+                lists.computeIfAbsent(key, k -> new IntList()).add(entry.equipmentId);
+            }
+        }
+        TreeMap<String, int[]> postings = new TreeMap<>();
+        lists.forEach((key, ids) -> postings.put(key, ids.toArray()));
+        if (!postings.containsKey(ALL_KEY)) {
+            postings.put(ALL_KEY, new int[0]);
+        }
+        return new Snapshot(entries, postings, startedAt);
+    }
+
+    // Caller holds lock; publishes a new snapshot, so running searches keep a consistent view
+    private void applyPending() {
+        Set<Integer> changed = new LinkedHashSet<>();
+        Integer equipmentId;
+        while ((equipmentId = pending.poll()) != null) {
+            changed.add(equipmentId);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Entry> entries = new HashMap<>(snapshot.entries);
+        TreeMap<String, int[]> postings = new TreeMap<>(snapshot.postings);
+
+        List<Integer> ids = new ArrayList<>(changed);
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK_SIZE));
+            Map<Integer, Entry> reloaded = toEntries(equipmentEntityRepository.findIndexRowsByIds(chunk),
+                    equipmentDepartmentRepository.findAllDepartmentEquipmentsWithNamesByEquipmentIds(chunk),
+                    equipmentFacultyRepository.findAllFacultyEquipmentsWithNamesByEquipmentIds(chunk),
+                    equipmentStudentRepository.findAllStudentEquipmentsWithNamesByEquipmentIds(chunk));
+
+            // Every key that an old or new version of a chunk item carries gets rewritten once
+            Set<Integer> chunkIds = new HashSet<>(chunk);
+            Map<String, IntList> added = new HashMap<>();
+            for (Integer id : chunk) {
+                Entry old = entries.remove(id);
+                if (old != null) {
+                    for (String key : old.keys) {
+                        added.computeIfAbsent(key, k -> new IntList());
+                    }
+                }
+            }
+            for (Entry entry : reloaded.values()) {
+                entries.put(entry.equipmentId, entry);
+                for (String key : entry.keys) {
+                    added.computeIfAbsent(key, k -> new IntList()).add(entry.equipmentId);
+                }
+            }
+
+            added.forEach((key, newIds) -> {
+                int[] merged = merge(postings.getOrDefault(key, new int[0]), chunkIds, newIds.toSortedArray());
+                if (merged.length == 0 && !ALL_KEY.equals(key)) {
+                    postings.remove(key);
+                } else {
+                    postings.put(key, merged);
+                }
+            });
+        }
+        snapshot = new Snapshot(entries, postings, snapshot.builtAt);
+    }
+
+    private static Map<Integer, Entry> toEntries(List<EquipmentDTO> rows,
+                                                 List<EquipmentAllocationDTO> departments,
+                                                 List<EquipmentAllocationDTO> faculty,
+                                                 List<EquipmentAllocationDTO> students) {
+        Map<Integer, Entry> entries = new LinkedHashMap<>();
+        for (EquipmentDTO row : rows) {
+            Entry entry = entries.computeIfAbsent(row.getEquipmentId(),
+                    id -> new Entry(id, row.getEquipmentName()));
+            if (row.getEquipmentAttributeName() != null && row.getEquipmentValueName() != null) {
+                entry.attributes.put(row.getEquipmentAttributeName(), row.getEquipmentValueName());
+                entry.keys.add(attributeKey(row.getEquipmentAttributeName(), row.getEquipmentValueName()));
+            }
+        }
+
+        addAllocations(entries, DEPARTMENT, departments);
+        addAllocations(entries, FACULTY, faculty);
+        addAllocations(entries, STUDENT, students);
+        return entries;
+    }
+
+    private static void addAllocations(Map<Integer, Entry> entries, String type, List<EquipmentAllocationDTO> allocations) {
+        for (EquipmentAllocationDTO allocation : allocations) {
+            Entry entry = entries.get(allocation.getEquipmentId());
+            if (entry == null) {
+                continue;
+            }
+            // Display the first allocation; index all of them
+            if (entry.holderType == null) {
+                entry.holderType = type;
+                entry.holderId = allocation.getAllocatedEntityId();
+                entry.holderName = (nullToEmpty(allocation.getAllocatedToFirstName()) + " "
+                        + nullToEmpty(allocation.getAllocatedToLastName())).trim();
+            }
+            entry.keys.add("t:" + type);
+            entry.keys.add(holderKey(type, allocation.getAllocatedEntityId()));
+        }
+    }
+
+    // Keyed by attribute name, not id: names are not unique, and a search by name must cover every
+    // attribute carrying it. NUL separates name and value so neither can contain the separator.
+    private static String attributeKey(String attributeName, String value) {
+        return "a:" + normalize(attributeName) + '\u0000' + normalize(value);
+    }
+
+    private static String holderKey(String type, Integer holderId) {
+        return "h:" + type + ":" + holderId;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static List<String> words(String value) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalize(value).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // ---- Sorted int[] set operations ----
+
+    private static int[] intersect(List<int[]> postings) {
+        for (int[] ids : postings) {
+            if (ids == null || ids.length == 0) {
+                return new int[0];
+            }
+        }
+        postings.sort(Comparator.comparingInt(ids -> ids.length));
+
+        int[] result = postings.get(0);
+        for (int p = 1; p < postings.size() && result.length > 0; p++) {
+            int[] other = postings.get(p);
+            int[] out = new int[result.length];
+            int n = 0;
+            int position = 0;
+            for (int id : result) {
+                position = lowerBound(other, position, id);
+                if (position == other.length) {
+                    break;
+                }
+                if (other[position] == id) {
+                    out[n++] = id;
+                }
+            }
+            result = Arrays.copyOf(out, n);
+        }
+        return result;
+    }
+
+    // First index at or after from whose value is >= target, found by galloping then binary search
+    private static int lowerBound(int[] ids, int from, int target) {
+        if (from >= ids.length) {
+            return ids.length;
+        }
+        int bound = 1;
+        while (from + bound < ids.length && ids[from + bound] < target) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(from + bound, ids.length - 1) + 1;
+        int index = Arrays.binarySearch(ids, low, high, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // current minus removed, plus added (sorted, disjoint from the kept ids)
+    private static int[] merge(int[] current, Set<Integer> removed, int[] added) {
+        int[] out = new int[current.length + added.length];
+        int n = 0;
+        int a = 0;
+        for (int id : current) {
+            if (removed.contains(id)) {
+                continue;
+            }
+            while (a < added.length && added[a] < id) {
+                out[n++] = added[a++];
+            }
+            out[n++] = id;
+        }
+        while (a < added.length) {
+            out[n++] = added[a++];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * An indexed equipment item: what a search result shows plus the index keys it is listed under.
+     */
+    static class Entry {
+        final Integer equipmentId;
+        final String name;
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        final Set<String> keys = new HashSet<>();
+        String holderType;
+        Integer holderId;
+        String holderName;
+
+        Entry(Integer equipmentId, String name) {
+            this.equipmentId = equipmentId;
+            this.name = name;
+            keys.add(ALL_KEY);
+            for (String word : words(name)) {
+                keys.add("n:" + word);
+            }
+        }
+    }
+
+    static class Result {
+        final List<Entry> page;
+        final int total;
+        final boolean hasMore;
+
+        Result(List<Entry> page, int total, boolean hasMore) {
+            this.page = page;
+            this.total = total;
+            this.hasMore = hasMore;
+        }
+    }
+
+    // Immutable once published
+    private static class Snapshot {
+        private final Map<Integer, Entry> entries;
+        private final TreeMap<String, int[]> postings;
+        // When the full load this snapshot descends from started; incremental reloads keep it
+        private final long builtAt;
+
+        Snapshot(Map<Integer, Entry> entries, TreeMap<String, int[]> postings, long builtAt) {
+            this.entries = entries;
+            this.postings = postings;
+            this.builtAt = builtAt;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - builtAt >= REBUILD_INTERVAL_NANOS;
+        }
+
+        // Union of the postings of every key starting with prefix (name word prefixes)
+        int[] prefixUnion(String prefix) {
+            Collection<int[]> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+            if (lists.size() == 1) {
+                return lists.iterator().next();
+            }
+            IntList all = new IntList();
+            for (int[] ids : lists) {
+                all.addAll(ids);
+            }
+            return all.toSortedArray();
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(int[] more) {
+            if (size + more.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + more.length, size * 2));
+            }
+            System.arraycopy(more, 0, values, size, more.length);
+            size += more.length;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        // Sorted and de-duplicated
+        int[] toSortedArray() {
+            int[] sorted = toArray();
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[i] != sorted[n - 1]) {
+                    sorted[n++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, n);
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.university.backend.service;
 import com.university.backend.dto.AddEquipmentDTOs.CreateEquipmentRequestDTO;
 import com.university.backend.dto.AddEquipmentDTOs.EquipmentAttributeDTO;
 import com.university.backend.dto.EquipmentAllocationDTO;
+import com.university.backend.dto.EquipmentAllocationListItemDTO;
+import com.university.backend.dto.EquipmentAllocationPageDTO;
 import com.university.backend.dto.EquipmentDTO;
+import com.university.backend.dto.EquipmentSearchPageDTO;
+import com.university.backend.dto.EquipmentSearchResultDTO;
 import com.university.backend.model.AccountType;
 import com.university.backend.model.Department;
 import com.university.backend.model.ResourceAllocation.EquipmentAllocation.EquipmentDepartmentAllocation;
@@ -11,7 +15,6 @@ import com.university.backend.model.ResourceAllocation.EquipmentAllocation.Equip
 import com.university.backend.model.ResourceAllocation.EquipmentAllocation.EquipmentStudentAllocation;
 import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentAttributes;
 import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentEntities;
-import com.university.backend.model.ResourceAllocation.EquipmentEAV.EquipmentValues;
 import com.university.backend.model.StaffMember;
 import com.university.backend.model.Student;
 import com.university.backend.repository.*;
@@ -22,9 +25,14 @@ import com.university.backend.repository.ResourceAllocationRepository.EquipmentE
 import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentEntityRepository;
 import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentValueRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +47,25 @@ public class EquipmentService {
     private final StaffMemberRepository staffMemberRepository;
     private final StudentRepository studentRepository;
     private final DepartmentRepository departmentRepository;
+    private final AttributeDictionary attributeDictionary;
+    private final EavBulkWriter eavBulkWriter;
+    private final EquipmentSearchIndex equipmentSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
+    static final int MAX_SEARCH_PAGE_SIZE = 500;
+    static final int DEFAULT_ALLOCATION_PAGE_SIZE = 100;
+    static final int MAX_ALLOCATION_PAGE_SIZE = 1000;
+
+    // One UNION ALL branch per allocation table, in listing order (holder types sort alphabetically)
+    private static final AllocationSource[] ALLOCATION_SOURCES = {
+            new AllocationSource("DEPARTMENT", "equipment_department_allocation", "department_id",
+                    "JOIN department h ON h.department_id = a.department_id", "h.department_name", "''"),
+            new AllocationSource("FACULTY", "equipment_faculty_allocation", "staff_id",
+                    "JOIN users h ON h.user_id = a.staff_id", "h.first_name", "h.last_name"),
+            new AllocationSource("STUDENT", "equipment_student_allocation", "student_id",
+                    "JOIN users h ON h.user_id = a.student_id", "h.first_name", "h.last_name")
+    };
 
     public List<EquipmentAllocationDTO> getDepartmentEquipments() {
 
@@ -63,6 +90,7 @@ public class EquipmentService {
         return equipmentValues;
     }
 
+    @Transactional
     public void addEquipment(CreateEquipmentRequestDTO equipment) {
         System.out.println("=== ADD EQUIPMENT START ===");
         System.out.println("Equipment name: " + equipment.getEquipmentName());
@@ -77,16 +105,18 @@ public class EquipmentService {
         EquipmentEntities equipmentEntity = new EquipmentEntities();
         equipmentEntity.setName(equipment.getEquipmentName());
         equipmentEntity = equipmentEntityRepository.save(equipmentEntity);
-        for (EquipmentAttributeDTO attributeDTO : equipment.getAttributes()) {
-            EquipmentValues equipmentValue = new EquipmentValues();
-            equipmentValue.setEquipment(equipmentEntity);
-            EquipmentAttributes attribute = equipmentAttributeRepository.findById(attributeDTO.getAttributeId())
-                    .orElseThrow(() -> new RuntimeException("Attribute not found with id: " + attributeDTO.getAttributeId()));
-            equipmentValue.setAttribute(attribute);
-            equipmentValue.setValue(attributeDTO.getAttributeValue());
-
-            equipmentValueRepository.save(equipmentValue);
+        // All values in one multi-row insert, in the same transaction as the entity and its allocation
+        List<Object[]> values = new ArrayList<>();
+        if (equipment.getAttributes() != null) {
+            for (EquipmentAttributeDTO attributeDTO : equipment.getAttributes()) {
+                if (!attributeDictionary.hasEquipmentAttribute(attributeDTO.getAttributeId())) {
+                    throw new RuntimeException("Attribute not found with id: " + attributeDTO.getAttributeId());
+                }
+                values.add(new Object[]{equipmentEntity.getEquipmentId(), attributeDTO.getAttributeId(),
+                        attributeDTO.getAttributeValue()});
+            }
         }
+        eavBulkWriter.insertEquipmentValues(values);
         allocateTo(equipmentEntity, equipment.getAllocatedToType(), equipment.getAllocatedToId());
     }
 
@@ -94,10 +124,12 @@ public class EquipmentService {
         EquipmentAttributes equipmentAttribute = new EquipmentAttributes();
         equipmentAttribute.setName(attributeDTO.getAttributeValue());
 
-        equipmentAttributeRepository.save(equipmentAttribute);
+        equipmentAttribute = equipmentAttributeRepository.save(equipmentAttribute);
+        attributeDictionary.equipmentAttributeAdded(equipmentAttribute);
     }
 
     public void allocateTo(EquipmentEntities equipment, String allocatedToType, Integer allocatedToId) {
+        equipmentSearchIndex.markChanged(equipment.getEquipmentId());
         switch (allocatedToType.toUpperCase()) {
             case "DEPARTMENT":
                 EquipmentDepartmentAllocation departmentAllocation = new EquipmentDepartmentAllocation();
@@ -125,6 +157,200 @@ public class EquipmentService {
         }
     }
 
+    /**
+     * Attribute search over the in-memory equipment index. attributes maps attribute name to value (exact,
+     * case-insensitive; every attribute with that name counts, as names are not unique); name matches word prefixes of the equipment name; allocatedToType / allocatedToId
+     * narrow to a holder. Results are in id order; pass nextCursor back to get the following page.
+     */
+    public EquipmentSearchPageDTO searchEquipment(String name, Map<String, String> attributes,
+                                                  String allocatedToType, Integer allocatedToId,
+                                                  String cursor, Integer limit) {
+        int pageSize = searchPageSize(limit);
+        Integer afterId;
+        try {
+            afterId = cursor == null || cursor.isBlank() ? null : Integer.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String holderType = null;
+        if (allocatedToType != null && !allocatedToType.isBlank()) {
+            holderType = allocatedToType.trim().toUpperCase(Locale.ROOT);
+            if (!holderType.equals("DEPARTMENT") && !holderType.equals("FACULTY") && !holderType.equals("STUDENT")) {
+                throw new IllegalArgumentException("Invalid account type: " + allocatedToType);
+            }
+        } else if (allocatedToId != null) {
+            throw new IllegalArgumentException("allocatedToId requires allocatedToType");
+        }
+
+        EquipmentSearchIndex.Result result = equipmentSearchIndex.search(
+                name, attributes, holderType, allocatedToId, afterId, pageSize);
+
+        List<EquipmentSearchResultDTO> items = new ArrayList<>(result.page.size());
+        for (EquipmentSearchIndex.Entry entry : result.page) {
+            items.add(new EquipmentSearchResultDTO(entry.equipmentId, entry.name, entry.holderType,
+                    entry.holderId, entry.holderName, entry.attributes));
+        }
+        String nextCursor = result.hasMore ? String.valueOf(items.get(items.size() - 1).getEquipmentId()) : null;
+        return new EquipmentSearchPageDTO(items, nextCursor, result.total);
+    }
+
+    private int searchPageSize(Integer limit) {
+        return pageSize(limit, DEFAULT_SEARCH_PAGE_SIZE, MAX_SEARCH_PAGE_SIZE);
+    }
+
+    private static int pageSize(Integer limit, int defaultSize, int maxSize) {
+        if (limit == null) {
+            return defaultSize;
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, maxSize);
+    }
+
+    /**
+     * One page of all equipment allocations (department, faculty and student) in (equipmentId, type,
+     * allocationId) order, optionally narrowed to one holder type or one holder. The page and the per-type
+     * counts come back from a single statement: each allocation table contributes at most pageSize + 1 rows
+     * past the cursor (an index seek on equipment_id). The counts ignore the cursor, and the type filter unless
+     * a holder is given, so they can label the type tabs of the inventory screen.
+     */
+    public EquipmentAllocationPageDTO getAllocationsPage(String allocatedToType, Integer allocatedToId,
+                                                         String cursor, Integer limit) {
+        int pageSize = pageSize(limit, DEFAULT_ALLOCATION_PAGE_SIZE, MAX_ALLOCATION_PAGE_SIZE);
+        EquipmentAllocationCursor after = EquipmentAllocationCursor.decode(cursor);
+
+        String holderType = null;
+        if (allocatedToType != null && !allocatedToType.isBlank()) {
+            holderType = allocatedToType.trim().toUpperCase(Locale.ROOT);
+            if (!holderType.equals("DEPARTMENT") && !holderType.equals("FACULTY") && !holderType.equals("STUDENT")) {
+                throw new IllegalArgumentException("Invalid account type: " + allocatedToType);
+            }
+        } else if (allocatedToId != null) {
+            throw new IllegalArgumentException("allocatedToId requires allocatedToType");
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT c.department_count, c.faculty_count, c.student_count, ")
+                .append("p.holder_type, p.allocation_id, p.equipment_id, p.equipment_name, ")
+                .append("p.holder_first_name, p.holder_last_name, p.holder_id FROM (SELECT ");
+
+        // Counts: a whole-table count per type, or only the filtered holder's allocations
+        for (int i = 0; i < ALLOCATION_SOURCES.length; i++) {
+            AllocationSource source = ALLOCATION_SOURCES[i];
+            if (i > 0) {
+                sql.append(", ");
+            }
+            if (allocatedToId == null) {
+                sql.append("(SELECT COUNT_BIG(*) FROM ").append(source.table).append(")");
+            } else if (source.type.equals(holderType)) {
+                sql.append("(SELECT COUNT_BIG(*) FROM ").append(source.table)
+                        .append(" WHERE ").append(source.holderColumn).append(" = ?)");
+                args.add(allocatedToId);
+            } else {
+                sql.append("CAST(0 AS BIGINT)");
+            }
+            sql.append(" AS ").append(source.type.toLowerCase(Locale.ROOT)).append("_count");
+        }
+
+        // Page: LEFT JOIN so the counts row comes back even when the page is empty
+        sql.append(") c LEFT JOIN (SELECT TOP (?) u.* FROM (");
+        args.add(pageSize + 1);
+        boolean first = true;
+        for (AllocationSource source : ALLOCATION_SOURCES) {
+            if (holderType != null && !source.type.equals(holderType)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(" UNION ALL ");
+            }
+            first = false;
+            sql.append("SELECT * FROM (SELECT TOP (?) '").append(source.type).append("' AS holder_type, ")
+                    .append("a.equipment_allocation_id AS allocation_id, a.equipment_id, e.name AS equipment_name, ")
+                    .append(source.firstNameColumn).append(" AS holder_first_name, ")
+                    .append(source.lastNameColumn).append(" AS holder_last_name, ")
+                    .append("a.").append(source.holderColumn).append(" AS holder_id FROM ")
+                    .append(source.table).append(" a JOIN equipment_entities e ON e.equipment_id = a.equipment_id ")
+                    .append(source.holderJoin).append(" WHERE 1 = 1");
+            args.add(pageSize + 1);
+            if (allocatedToId != null) {
+                sql.append(" AND a.").append(source.holderColumn).append(" = ?");
+                args.add(allocatedToId);
+            }
+            appendKeyset(sql, args, source.type, after);
+            sql.append(" ORDER BY a.equipment_id, a.equipment_allocation_id) ")
+                    .append(source.type.toLowerCase(Locale.ROOT)).append("_page");
+        }
+        sql.append(") u ORDER BY u.equipment_id, u.holder_type, u.allocation_id) p ON 1 = 1 ")
+                .append("ORDER BY p.equipment_id, p.holder_type, p.allocation_id");
+
+        long[] counts = new long[3];
+        List<EquipmentAllocationListItemDTO> items = new ArrayList<>(pageSize + 1);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            counts[0] = rs.getLong("department_count");
+            counts[1] = rs.getLong("faculty_count");
+            counts[2] = rs.getLong("student_count");
+            String type = rs.getString("holder_type");
+            if (type != null) {
+                items.add(new EquipmentAllocationListItemDTO(type, rs.getInt("allocation_id"),
+                        rs.getInt("equipment_id"), rs.getString("equipment_name"),
+                        rs.getString("holder_first_name"), rs.getString("holder_last_name"),
+                        rs.getInt("holder_id")));
+            }
+        }, args.toArray());
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            EquipmentAllocationListItemDTO last = items.get(pageSize - 1);
+            nextCursor = new EquipmentAllocationCursor(last.getEquipmentId(), last.getAllocatedToType(),
+                    last.getAllocationId()).encode();
+        }
+        return new EquipmentAllocationPageDTO(items, nextCursor, counts[0], counts[1], counts[2]);
+    }
+
+    // Keyset condition for one branch: the branch's type is a constant, so (equipment_id, type,
+    // allocation_id) > cursor reduces to a plain range on equipment_id (and allocation_id on ties)
+    private static void appendKeyset(StringBuilder sql, List<Object> args, String type,
+                                     EquipmentAllocationCursor after) {
+        if (after == null) {
+            return;
+        }
+        int order = type.compareTo(after.type);
+        if (order > 0) {
+            sql.append(" AND a.equipment_id >= ?");
+            args.add(after.equipmentId);
+        } else if (order < 0) {
+            sql.append(" AND a.equipment_id > ?");
+            args.add(after.equipmentId);
+        } else {
+            sql.append(" AND (a.equipment_id > ? OR (a.equipment_id = ? AND a.equipment_allocation_id > ?))");
+            args.add(after.equipmentId);
+            args.add(after.equipmentId);
+            args.add(after.allocationId);
+        }
+    }
+
+    private static class AllocationSource {
+        private final String type;
+        private final String table;
+        private final String holderColumn;
+        private final String holderJoin;
+        private final String firstNameColumn;
+        private final String lastNameColumn;
+
+        AllocationSource(String type, String table, String holderColumn, String holderJoin,
+                         String firstNameColumn, String lastNameColumn) {
+            this.type = type;
+            this.table = table;
+            this.holderColumn = holderColumn;
+            this.holderJoin = holderJoin;
+            this.firstNameColumn = firstNameColumn;
+            this.lastNameColumn = lastNameColumn;
+        }
+    }
+
     public List<Department> getAllDepartments() {
         return departmentRepository.findAll();
     }
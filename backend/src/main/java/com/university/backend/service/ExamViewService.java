@@ -2,6 +2,7 @@ package com.university.backend.service;
 
 import com.university.backend.dto.ExamDTO;
 import com.university.backend.dto.ExamDetailsDTO;
+import com.university.backend.dto.ExamListingRowDTO;
 import com.university.backend.dto.ExamSubmissionDTO;
 import com.university.backend.model.*;
 import com.university.backend.repository.*;
@@ -9,7 +10,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,29 +25,14 @@ public class ExamViewService {
     private final StudentCourseRepository studentCourseRepository;
 
     public List<ExamDTO> getExamsForStudent(Integer studentId) {
-        List<Course> enrolledCourses = studentCourseRepository.findCoursesById(studentId);
-        List<Integer> courseIds = enrolledCourses.stream()
-                .map(Course::getCourseId)
-                .collect(Collectors.toList());
-
-        if (courseIds.isEmpty()) return List.of();
-
-        List<Exam> exams = examRepository.findByCourseIdIn(courseIds);
-
-        return exams.stream()
-                .map(exam -> convertToDTO(exam, studentId))
-                .collect(Collectors.toList());
+        return convertToDTOs(examRepository.findExamListingForStudent(studentId));
     }
 
     public List<ExamDTO> getExamsForCourse(Integer studentId, Integer courseId) {
         boolean isEnrolled = studentCourseRepository.existsByStudentUserIdAndCourseCourseId(studentId, courseId);
         if (!isEnrolled) throw new RuntimeException("Student not enrolled");
 
-        List<Exam> exams = examRepository.findByCourseId(courseId);
-
-        return exams.stream()
-                .map(exam -> convertToDTO(exam, studentId))
-                .collect(Collectors.toList());
+        return convertToDTOs(examRepository.findExamListingForCourse(studentId, courseId));
     }
 
     public ExamDetailsDTO getExamDetails(Integer examId, Integer studentId) {
@@ -93,45 +81,53 @@ public class ExamViewService {
         return dto;
     }
 
-    private ExamDTO convertToDTO(Exam exam, Integer studentId) {
-        ExamDTO dto = new ExamDTO();
-        dto.setExamId(exam.getExamId());
-        dto.setCourseId(exam.getCourse().getCourseId());
-        dto.setCourseCode(exam.getCourse().getCode());
-        dto.setCourseName(exam.getCourse().getName());
-        dto.setTitle(exam.getTitle());
-        dto.setDescription(exam.getDescription());
-        dto.setTotalMarks(exam.getTotalMarks());
-        dto.setStartTime(exam.getStartTime());
-        dto.setEndTime(exam.getEndTime());
-        dto.setDurationMinutes(exam.getDurationMinutes());
-        dto.setExamType(exam.getExamType());
+    private List<ExamDTO> convertToDTOs(List<ExamListingRowDTO> rows) {
+        // One row per exam; keep the first submission if a student somehow has several
+        Map<Integer, ExamListingRowDTO> rowsByExam = new LinkedHashMap<>();
+        for (ExamListingRowDTO row : rows) {
+            rowsByExam.putIfAbsent(row.getExamId(), row);
+        }
 
-        boolean attempted = examSubmissionRepository.existsByExamIdAndStudentId(exam.getExamId(), studentId);
+        return rowsByExam.values().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private ExamDTO convertToDTO(ExamListingRowDTO row) {
+        ExamDTO dto = new ExamDTO();
+        dto.setExamId(row.getExamId());
+        dto.setCourseId(row.getCourseId());
+        dto.setCourseCode(row.getCourseCode());
+        dto.setCourseName(row.getCourseName());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setTotalMarks(row.getTotalMarks());
+        dto.setStartTime(row.getStartTime());
+        dto.setEndTime(row.getEndTime());
+        dto.setDurationMinutes(row.getDurationMinutes());
+        dto.setExamType(row.getExamType());
+
+        boolean attempted = row.getExamSubmissionId() != null;
         dto.setAttempted(attempted);
 
         if (attempted) {
-            Optional<ExamSubmission> submission = examSubmissionRepository
-                    .findByExamIdAndStudentId(exam.getExamId(), studentId);
-            submission.ifPresent(s -> {
-                dto.setObtainedMarks(s.getObtainedMarks());
-                dto.setSubmissionStatus(s.getStatus());
-            });
+            dto.setObtainedMarks(row.getObtainedMarks());
+            dto.setSubmissionStatus(row.getSubmissionStatus());
         }
 
         LocalDateTime now = LocalDateTime.now();
-        if (now.isBefore(exam.getStartTime())) {
+        if (now.isBefore(row.getStartTime())) {
             dto.setStatus("upcoming");
-            Duration duration = Duration.between(now, exam.getStartTime());
+            Duration duration = Duration.between(now, row.getStartTime());
             long days = duration.toDays();
             long hours = duration.toHours() % 24;
             dto.setTimeRemaining(days > 0 ? days + " days" : hours + " hours");
-        } else if (now.isAfter(exam.getEndTime())) {
+        } else if (now.isAfter(row.getEndTime())) {
             dto.setStatus("past");
             dto.setTimeRemaining("Completed");
         } else {
             dto.setStatus("ongoing");
-            Duration duration = Duration.between(now, exam.getEndTime());
+            Duration duration = Duration.between(now, row.getEndTime());
             long hours = duration.toHours();
             long minutes = duration.toMinutes() % 60;
             dto.setTimeRemaining(hours + "h " + minutes + "m");
@@ -0,0 +1,115 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.LoginPrincipalDTO;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache of resolved login principals keyed by (lower-cased) email, so repeated logins
+ * during a login storm skip the database. Entries expire after a minute, the map is size-bounded,
+ * and AccountService invalidates an email after commit whenever the account is updated or deleted.
+ * A per-email generation counter, bumped by every invalidation, stops a principal that was read before
+ * a committed change from being cached afterwards (callers read generation() before their query).
+ */
+@Service
+public class LoginPrincipalCache {
+
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+    // Makes the generation check + put atomic with respect to an invalidation; never held across a query
+    private final Object lock = new Object();
+
+    public LoginPrincipalDTO get(String email) {
+        if (email == null) {
+            return null;
+        }
+        String key = key(email);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt >= TTL_NANOS) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.principal;
+    }
+
+    /**
+     * Current generation of an email; read it before loading the principal and pass it to put().
+     */
+    public Long generation(String email) {
+        return generations.get(key(email));
+    }
+
+    /**
+     * Caches a principal loaded after generation() returned the given value. Nothing is cached if the
+     * email was invalidated since, because the principal may predate the change.
+     */
+    public void put(String email, LoginPrincipalDTO principal, Long generation) {
+        String key = key(email);
+        synchronized (lock) {
+            if (!Objects.equals(generation, generations.get(key))) {
+                return;
+            }
+            if (entries.size() >= MAX_ENTRIES) {
+                long now = System.nanoTime();
+                entries.values().removeIf(entry -> now - entry.loadedAt >= TTL_NANOS);
+                if (entries.size() >= MAX_ENTRIES) {
+                    entries.clear();
+                }
+            }
+            entries.put(key, new Entry(principal, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Drops the cached principal for an email once the current transaction commits (immediately if none).
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = key(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    private void evict(String key) {
+        synchronized (lock) {
+            generations.merge(key, 1L, Long::sum);
+            entries.remove(key);
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final LoginPrincipalDTO principal;
+        private final long loadedAt;
+
+        Entry(LoginPrincipalDTO principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
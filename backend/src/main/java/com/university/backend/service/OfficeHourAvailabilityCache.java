@@ -0,0 +1,170 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.OfficeHourSlotDTO;
+import com.university.backend.dto.StaffFreeSlotsDTO;
+import com.university.backend.model.OfficeHourSlot;
+import com.university.backend.model.Professor;
+import com.university.backend.model.StaffMember;
+import com.university.backend.repository.OfficeHourSlotRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upcoming office hour slots per staff member, held in memory for the student directory.
+ * Each entry covers a little more than the visible window so it can be served for an hour before
+ * being reloaded; reads trim it to [now, now + 4 weeks). Creating, booking or cancelling slots
+ * drops the staff member's entry after commit (slotsChanged), so the next read reloads it with one
+ * query. A per-staff change counter stops a load that raced with a change from being cached.
+ * The "free slots this week" summary across all staff is cached the same way, briefly.
+ */
+@Service
+public class OfficeHourAvailabilityCache {
+
+    static final int VISIBLE_WEEKS = 4;
+
+    private static final long ENTRY_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final long FREE_THIS_WEEK_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final OfficeHourSlotRepository officeHourSlotRepository;
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> changeCounts = new ConcurrentHashMap<>();
+    private volatile FreeThisWeek freeThisWeek;
+
+    public OfficeHourAvailabilityCache(OfficeHourSlotRepository officeHourSlotRepository) {
+        this.officeHourSlotRepository = officeHourSlotRepository;
+    }
+
+    /**
+     * Slots of a staff member starting in the next four weeks, in start order.
+     */
+    public List<OfficeHourSlotDTO> getUpcoming(Integer staffId) {
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry = entries.get(staffId);
+        if (entry == null || System.nanoTime() - entry.loadedAt >= ENTRY_TTL_NANOS) {
+            entry = load(staffId, now);
+        }
+
+        LocalDateTime windowEnd = now.plusWeeks(VISIBLE_WEEKS);
+        List<OfficeHourSlotDTO> visible = new ArrayList<>(entry.slots.size());
+        for (OfficeHourSlotDTO slot : entry.slots) {
+            if (!slot.getSlotDateTime().isBefore(now) && slot.getSlotDateTime().isBefore(windowEnd)) {
+                visible.add(slot);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Staff members with at least one available slot between now and the end of this week (Sunday).
+     */
+    public List<StaffFreeSlotsDTO> getFreeThisWeek() {
+        FreeThisWeek current = freeThisWeek;
+        LocalDateTime now = LocalDateTime.now();
+        if (current != null && System.nanoTime() - current.loadedAt < FREE_THIS_WEEK_TTL_NANOS
+                && now.isBefore(current.weekEnd)) {
+            return current.staff;
+        }
+
+        LocalDateTime weekEnd = now.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+        List<StaffFreeSlotsDTO> staff = List.copyOf(officeHourSlotRepository.findStaffWithFreeSlots(now, weekEnd));
+        freeThisWeek = new FreeThisWeek(staff, weekEnd, System.nanoTime());
+        return staff;
+    }
+
+    /**
+     * Called when a staff member's slots are created, booked or cancelled; takes effect after commit.
+     */
+    public void slotsChanged(Integer staffId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(staffId);
+                }
+            });
+        } else {
+            invalidate(staffId);
+        }
+    }
+
+    private void invalidate(Integer staffId) {
+        changeCounts.merge(staffId, 1L, Long::sum);
+        entries.remove(staffId);
+        freeThisWeek = null;
+    }
+
+    private Entry load(Integer staffId, LocalDateTime now) {
+        Long changesBefore = changeCounts.get(staffId);
+
+        // Load one extra day so the entry still covers the full window until it expires
+        List<OfficeHourSlot> slots = officeHourSlotRepository.findByStaffMember_UserIdAndSlotDateTimeBetween(
+                staffId, now, now.plusWeeks(VISIBLE_WEEKS).plusDays(1));
+
+        List<OfficeHourSlotDTO> dtos = new ArrayList<>(slots.size());
+        for (OfficeHourSlot slot : slots) {
+            dtos.add(toSlotDTO(slot, slot.getStaffMember()));
+        }
+        Entry entry = new Entry(List.copyOf(dtos), System.nanoTime());
+
+        // Only cache if no change was committed while loading
+        if (Objects.equals(changesBefore, changeCounts.get(staffId))) {
+            entries.put(staffId, entry);
+        }
+        return entry;
+    }
+
+    static OfficeHourSlotDTO toSlotDTO(OfficeHourSlot slot, StaffMember staff) {
+        OfficeHourSlotDTO dto = new OfficeHourSlotDTO();
+        dto.setId(slot.getId());
+        dto.setSlotDateTime(slot.getStartTime());
+        dto.setEndDateTime(slot.getEndTime());
+
+        if (slot.getBookedBy() != null) {
+            dto.setStudentName(slot.getBookedBy().getFirstName() + " " + slot.getBookedBy().getLastName());
+            dto.setPurpose(slot.getPurpose());
+        }
+
+        dto.setStatus(slot.getStatus().toString());
+        dto.setBookable(slot.getStatus() == OfficeHourSlot.SlotStatus.AVAILABLE);
+        dto.setStaffName(staff.getFirstName() + " " + staff.getLastName());
+        dto.setStaffType(staff instanceof Professor ? "Professor" : "Teaching Assistant");
+
+        // For backward compatibility, set slots as empty list
+        dto.setSlots(new ArrayList<>());
+
+        return dto;
+    }
+
+    private static class Entry {
+        private final List<OfficeHourSlotDTO> slots;
+        private final long loadedAt;
+
+        Entry(List<OfficeHourSlotDTO> slots, long loadedAt) {
+            this.slots = slots;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class FreeThisWeek {
+        private final List<StaffFreeSlotsDTO> staff;
+        private final LocalDateTime weekEnd;
+        private final long loadedAt;
+
+        FreeThisWeek(List<StaffFreeSlotsDTO> staff, LocalDateTime weekEnd, long loadedAt) {
+            this.staff = staff;
+            this.weekEnd = weekEnd;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
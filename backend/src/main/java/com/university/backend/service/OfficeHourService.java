@@ -1,21 +1,26 @@
 package com.university.backend.service;
 
 import com.university.backend.dto.OfficeHourRequestDTO;
+import com.university.backend.dto.SlotIntervalDTO;
 import com.university.backend.model.OfficeHourSlot;
 import com.university.backend.model.StaffMember;
 import com.university.backend.repository.OfficeHourSlotRepository;
 import com.university.backend.repository.StaffMemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +28,21 @@ public class OfficeHourService {
 
     private final OfficeHourSlotRepository officeHourRepository;
     private final StaffMemberRepository staffMemberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OfficeHourAvailabilityCache officeHourAvailabilityCache;
+
+    // Upper bound on a single recurring request (two academic years)
+    private static final int MAX_RECURRING_WEEKS = 104;
+
+    private static final String INSERT_SLOT_SQL =
+            "INSERT INTO office_hour_slots (staff_member_id, day_of_week, start_time, end_time, slot_duration, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
 
     /**
      * Generates recurring 30-minute office hour slots for a specific day of the week
      * across a defined number of weeks.
+     * Existing slots for the whole horizon are read in one query and weeks that overlap them are skipped
+     * with an in-memory sweep; the generated slots are written with one JDBC batch.
      */
     @Transactional
     public List<OfficeHourSlot> createRecurringOfficeHours(OfficeHourRequestDTO request) {
@@ -43,54 +59,83 @@ public class OfficeHourService {
             throw new IllegalArgumentException("Start time must be before end time.");
         }
 
-        List<OfficeHourSlot> allGeneratedSlots = new ArrayList<>();
+        int weeks = request.numberOfWeeks() == null ? 0 : request.numberOfWeeks();
+        if (weeks <= 0 || weeks > MAX_RECURRING_WEEKS) {
+            throw new IllegalArgumentException("Number of weeks must be between 1 and " + MAX_RECURRING_WEEKS);
+        }
+
+        int duration = (request.slotDurationMinutes() != null) ? request.slotDurationMinutes() : 30;
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive.");
+        }
 
         // 3. Find the first occurrence of the selected day (today or in the future)
         LocalDate firstOccurrence = LocalDate.now().with(TemporalAdjusters.nextOrSame(targetDay));
+        LocalDateTime horizonStart = LocalDateTime.of(firstOccurrence, startTime);
+        LocalDateTime horizonEnd = LocalDateTime.of(firstOccurrence.plusWeeks(weeks - 1), endTime);
 
-        // 4. Loop through the number of weeks requested
-        for (int i = 0; i < request.numberOfWeeks(); i++) {
+        // 4. One query for every existing slot across the whole horizon, ordered by start
+        List<SlotIntervalDTO> existing = officeHourRepository.findActiveIntervals(
+                staff.getUserId(), horizonStart, horizonEnd);
+
+        List<Object[]> inserts = new ArrayList<>();
+        int cursor = 0;
+
+        // 5. Loop through the number of weeks requested
+        for (int i = 0; i < weeks; i++) {
             LocalDate currentWeekDate = firstOccurrence.plusWeeks(i);
             LocalDateTime blockStart = LocalDateTime.of(currentWeekDate, startTime);
             LocalDateTime blockEnd = LocalDateTime.of(currentWeekDate, endTime);
 
-            // 5. Conflict Check: Skip this week if it overlaps with existing slots
-            boolean hasOverlap = officeHourRepository.existsOverlappingSlot(
-                    staff.getUserId(),
-                    blockStart,
-                    blockEnd
-            );
-
-            if (hasOverlap) {
+            // Sweep: slots ending before this block can't overlap it or any later block
+            while (cursor < existing.size() && !existing.get(cursor).getEndTime().isAfter(blockStart)) {
+                cursor++;
+            }
+            // The earliest remaining slot overlaps iff it starts before the block ends
+            if (cursor < existing.size() && existing.get(cursor).getStartTime().isBefore(blockEnd)) {
                 // We skip this specific day/week to avoid partial overlaps,
                 // but continue the loop for subsequent weeks.
                 continue;
             }
 
-            // 6. Generate 30-minute intervals within this block
+            // 6. Generate fixed-length intervals within this block
             LocalDateTime pointer = blockStart;
-            int duration = (request.slotDurationMinutes() != null) ? request.slotDurationMinutes() : 30;
-
-            while (pointer.plusMinutes(duration).isBefore(blockEnd) ||
-                    pointer.plusMinutes(duration).isEqual(blockEnd)) {
+            while (!pointer.plusMinutes(duration).isAfter(blockEnd)) {
+                inserts.add(new Object[]{
+                        staff.getUserId(),
+                        targetDay.name(),
+                        Timestamp.valueOf(pointer),
+                        Timestamp.valueOf(pointer.plusMinutes(duration)),
+                        duration,
+                        OfficeHourSlot.SlotStatus.AVAILABLE.name()
+                });
+                pointer = pointer.plusMinutes(duration);
+            }
+        }
 
-                OfficeHourSlot slot = new OfficeHourSlot();
-                slot.setStaffMember(staff);
-                slot.setStartTime(pointer);
-                slot.setEndTime(pointer.plusMinutes(duration));
-                slot.setDayOfWeek(targetDay);
-                slot.setSlotDuration(duration);
-                slot.setStatus(OfficeHourSlot.SlotStatus.AVAILABLE);
+        if (inserts.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-                allGeneratedSlots.add(slot);
+        // 7. Insert all generated slots in one JDBC batch (IDENTITY ids would force row-by-row saveAll)
+        jdbcTemplate.batchUpdate(INSERT_SLOT_SQL, inserts);
+        officeHourAvailabilityCache.slotsChanged(staff.getUserId());
 
-                // Move pointer to the next 30-minute mark
-                pointer = pointer.plusMinutes(duration);
+        // 8. Read them back in one query so callers get ids; keep only the ones generated here
+        Set<LocalDateTime> generatedStarts = new HashSet<>();
+        for (Object[] insert : inserts) {
+            generatedStarts.add(((Timestamp) insert[2]).toLocalDateTime());
+        }
+        List<OfficeHourSlot> created = new ArrayList<>(inserts.size());
+        for (OfficeHourSlot slot : officeHourRepository.findByStaffMember_UserIdAndSlotDateTimeBetween(
+                staff.getUserId(), horizonStart, horizonEnd)) {
+            if (slot.getStatus() == OfficeHourSlot.SlotStatus.AVAILABLE
+                    && slot.getDayOfWeek() == targetDay
+                    && generatedStarts.contains(slot.getStartTime())) {
+                created.add(slot);
             }
         }
-
-        // 7. Batch save all generated slots for efficiency
-        return officeHourRepository.saveAll(allGeneratedSlots);
+        return created;
     }
 
     /**
@@ -117,5 +162,6 @@ public class OfficeHourService {
 
         slot.setStatus(OfficeHourSlot.SlotStatus.CANCELLED);
         officeHourRepository.save(slot);
+        officeHourAvailabilityCache.slotsChanged(slot.getStaffMember().getUserId());
     }
 }
\ No newline at end of file
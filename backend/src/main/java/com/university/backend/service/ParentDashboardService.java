@@ -4,16 +4,25 @@ package com.university.backend.service;
 import com.university.backend.dto.*;
 import com.university.backend.model.*;
 import com.university.backend.repository.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.ArrayList;
 
 @Service
 public class ParentDashboardService {
 
+    private static final int RECENT_GRADES_PER_CHILD = 5;
+    private static final int RECENT_GRADES_TOTAL = 10;
+
     private final ParentRepository parentRepository;
     private final StudentRepository studentRepository;
     private final AssignmentSubmissionRepository assignmentSubmissionRepository;
@@ -32,8 +41,11 @@ public class ParentDashboardService {
     }
 
     /**
-     * Retrieves all data required for the parent's dashboard view
+     * Retrieves all data required for the parent's dashboard view.
+     * Every per-child figure comes from an aggregate query over all children at once,
+     * so the statement count does not grow with the size of the submission tables.
      */
+    @Transactional(readOnly = true)
     public ParentDashboardDTO getParentDashboardData(Integer parentId) {
         // 1. Fetch Parent Entity
         Optional<Parent> parentOpt = parentRepository.findById(Long.valueOf(parentId));
@@ -51,10 +63,8 @@ public class ParentDashboardService {
             throw new RuntimeException("No children found for parent with ID " + parentId);
         }
 
-        // 3. Map children to DTOs
-        List<StudentDTO> childrenDTOs = children.stream()
-                .map(this::mapToStudentDTO)
-                .collect(Collectors.toList());
+        // 3. Map children to DTOs from per-student aggregates
+        List<StudentDTO> childrenDTOs = mapToStudentDTOs(children);
 
         // 4. Fetch data for all children
         List<AssignmentSubmissionDTO> pendingAssignments = getPendingAssignments(children);
@@ -78,10 +88,40 @@ public class ParentDashboardService {
         return children;
     }
 
+    /**
+     * Map Student entities to StudentDTOs using two aggregate queries for all of them:
+     * graded exam count / sum of marks, and the distinct courses they submitted work for
+     */
+    private List<StudentDTO> mapToStudentDTOs(List<Student> students) {
+        List<Integer> studentIds = students.stream()
+                .map(Student::getUserId)
+                .collect(Collectors.toList());
+
+        Map<Integer, StudentGradeSummaryDTO> gradeSummaries = new HashMap<>();
+        for (StudentGradeSummaryDTO summary : examSubmissionRepository.summarizeGradesByStudentIds(studentIds)) {
+            gradeSummaries.put(summary.getStudentId(), summary);
+        }
+
+        Map<Integer, Set<Integer>> courseIdsByStudent = new HashMap<>();
+        List<StudentCourseRefDTO> courseRefs = new ArrayList<>();
+        courseRefs.addAll(assignmentSubmissionRepository.findCourseRefsByStudentIds(studentIds));
+        courseRefs.addAll(examSubmissionRepository.findCourseRefsByStudentIds(studentIds));
+        for (StudentCourseRefDTO ref : courseRefs) {
+            courseIdsByStudent.computeIfAbsent(ref.getStudentId(), id -> new HashSet<>()).add(ref.getCourseId());
+        }
+
+        return students.stream()
+                .map(student -> mapToStudentDTO(
+                        student,
+                        gradeSummaries.get(student.getUserId()),
+                        courseIdsByStudent.getOrDefault(student.getUserId(), Set.of()).size()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Map Student entity to StudentDTO (simplified)
      */
-    private StudentDTO mapToStudentDTO(Student student) {
+    private StudentDTO mapToStudentDTO(Student student, StudentGradeSummaryDTO gradeSummary, int enrolledCoursesCount) {
         StudentDTO dto = new StudentDTO();
         dto.setStudentId(student.getUserId());
         dto.setFirstName(student.getFirstName());
@@ -91,14 +131,11 @@ public class ParentDashboardService {
             dto.setEmail(student.getAccount().getEmail());
         }
 
-        // Get major and grade level
-
-
         // Calculate GPA from exams
-        dto.setGpa(calculateGPAForStudent(student));
+        dto.setGpa(calculateGPA(gradeSummary));
 
-        // Get enrolled courses count (simplified - count from assignments/exams)
-        dto.setEnrolledCoursesCount(getEnrolledCoursesCount(student));
+        // Enrolled courses count (simplified - count from assignments/exams)
+        dto.setEnrolledCoursesCount(enrolledCoursesCount);
 
         // Default attendance
         dto.setAttendancePercentage(95);
@@ -110,22 +147,13 @@ public class ParentDashboardService {
      * Get pending assignments for a list of students
      */
     private List<AssignmentSubmissionDTO> getPendingAssignments(List<Student> students) {
-        List<AssignmentSubmissionDTO> allPendingAssignments = new ArrayList<>();
-
-        for (Student student : students) {
-            // Get assignments for this student
-            List<AssignmentSubmission> submissions = getAssignmentsForStudent(student.getUserId());
-
-            // Filter for pending assignments
-            List<AssignmentSubmissionDTO> pending = submissions.stream()
-                    .filter(sub -> sub.getSubmitted_at() == null || sub.getGrade() == 0)
-                    .map(this::mapToAssignmentSubmissionDTO)
-                    .collect(Collectors.toList());
-
-            allPendingAssignments.addAll(pending);
-        }
+        List<Integer> studentIds = students.stream()
+                .map(Student::getUserId)
+                .collect(Collectors.toList());
 
-        return allPendingAssignments;
+        return assignmentSubmissionRepository.findPendingByStudentIds(studentIds).stream()
+                .map(this::mapToAssignmentSubmissionDTO)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -134,24 +162,17 @@ public class ParentDashboardService {
     private List<ExamSubmissionDTO> getRecentGrades(List<Student> students) {
         List<ExamSubmissionDTO> allRecentGrades = new ArrayList<>();
 
+        // Top-N is computed by the database; a parent has a single child, so this is one query
         for (Student student : students) {
-            // Get exam submissions for this student
-            List<ExamSubmission> submissions = getExamsForStudent(student.getUserId());
-
-            // Filter for completed exams with grades
-            List<ExamSubmissionDTO> recentGrades = submissions.stream()
-                    .filter(sub -> sub.getObtainedMarks() != null && sub.getObtainedMarks() > 0)
-                    .sorted((a, b) -> b.getSubmittedAt().compareTo(a.getSubmittedAt()))
-                    .limit(5)
+            examSubmissionRepository.findRecentGradedByStudentId(
+                            student.getUserId(), PageRequest.of(0, RECENT_GRADES_PER_CHILD)).stream()
                     .map(this::mapToExamSubmissionDTO)
-                    .collect(Collectors.toList());
-
-            allRecentGrades.addAll(recentGrades);
+                    .forEach(allRecentGrades::add);
         }
 
         return allRecentGrades.stream()
                 .sorted((a, b) -> b.getSubmittedAt().compareTo(a.getSubmittedAt()))
-                .limit(10)
+                .limit(RECENT_GRADES_TOTAL)
                 .collect(Collectors.toList());
     }
 
@@ -277,102 +298,26 @@ public class ParentDashboardService {
     // Helper methods
 
     /**
-     * Get assignments for a student
-     */
-    private List<AssignmentSubmission> getAssignmentsForStudent(Integer studentId) {
-        try {
-            // First try direct method
-            return assignmentSubmissionRepository.findAll().stream()
-                    .filter(sub -> sub.getStudent() != null &&
-                            sub.getStudent().getUserId().equals(studentId))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            return new ArrayList<>();
-        }
-    }
-
-    /**
-     * Get exams for a student
-     */
-    private List<ExamSubmission> getExamsForStudent(Integer studentId) {
-        try {
-            return examSubmissionRepository.findAll().stream()
-                    .filter(sub -> sub.getStudent() != null &&
-                            sub.getStudent().getUserId().equals(studentId))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            return new ArrayList<>();
-        }
-    }
-
-    /**
-     * Calculate GPA for student
+     * Calculate GPA from the graded exam aggregate of a student
      */
-    private Double calculateGPAForStudent(Student student) {
-        try {
-            List<ExamSubmission> examSubmissions = getExamsForStudent(student.getUserId());
-
-            if (examSubmissions.isEmpty()) {
-                return 0.0;
-            }
-
-            // Calculate average from completed exams
-            double totalMarks = examSubmissions.stream()
-                    .filter(exam -> exam.getObtainedMarks() != null && exam.getObtainedMarks() > 0)
-                    .mapToInt(ExamSubmission::getObtainedMarks)
-                    .sum();
-
-            long gradedExams = examSubmissions.stream()
-                    .filter(exam -> exam.getObtainedMarks() != null && exam.getObtainedMarks() > 0)
-                    .count();
-
-            if (gradedExams == 0) {
-                return 0.0;
-            }
-
-            double averageMarks = totalMarks / gradedExams;
-
-            // Convert to GPA (4.0 scale)
-            if (averageMarks >= 90) return 4.0;
-            if (averageMarks >= 80) return 3.0;
-            if (averageMarks >= 70) return 2.0;
-            if (averageMarks >= 60) return 1.0;
-            return 0.0;
-        } catch (Exception e) {
+    private Double calculateGPA(StudentGradeSummaryDTO gradeSummary) {
+        if (gradeSummary == null || gradeSummary.getGradedCount() == null || gradeSummary.getGradedCount() == 0) {
             return 0.0;
         }
-    }
 
-    /**
-     * Get enrolled courses count for student
-     */
-    private Integer getEnrolledCoursesCount(Student student) {
-        try {
-            // Count unique courses from assignments and exams
-            List<AssignmentSubmission> assignments = getAssignmentsForStudent(student.getUserId());
-            List<ExamSubmission> exams = getExamsForStudent(student.getUserId());
-
-            java.util.Set<Integer> courseIds = new java.util.HashSet<>();
-
-            assignments.stream()
-                    .filter(a -> a.getAssignment_id() != null &&
-                            a.getAssignment_id().getCourse() != null)
-                    .map(a -> a.getAssignment_id().getCourse().getCourseId())
-                    .forEach(courseIds::add);
-
-            exams.stream()
-                    .filter(e -> e.getExam() != null && e.getExam().getCourse() != null)
-                    .map(e -> e.getExam().getCourse().getCourseId())
-                    .forEach(courseIds::add);
-
-            return courseIds.size();
-        } catch (Exception e) {
-            return 0;
-        }
+        double averageMarks = (double) gradeSummary.getTotalMarks() / gradeSummary.getGradedCount();
+
+        // Convert to GPA (4.0 scale)
+        if (averageMarks >= 90) return 4.0;
+        if (averageMarks >= 80) return 3.0;
+        if (averageMarks >= 70) return 2.0;
+        if (averageMarks >= 60) return 1.0;
+        return 0.0;
     }
 
     // Additional service methods
 
+    @Transactional(readOnly = true)
     public List<StudentDTO> getChildren(Integer parentId) {
         Optional<Parent> parentOpt = parentRepository.findById(Long.valueOf(parentId));
         if (parentOpt.isEmpty()) {
@@ -380,24 +325,27 @@ public class ParentDashboardService {
         }
 
         List<Student> children = getChildrenByParent(parentOpt.get());
-        return children.stream()
-                .map(this::mapToStudentDTO)
-                .collect(Collectors.toList());
+        if (children.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return mapToStudentDTOs(children);
     }
 
+    @Transactional(readOnly = true)
     public List<AssignmentSubmissionDTO> getChildAssignments(Integer studentId) {
-        List<AssignmentSubmission> submissions = getAssignmentsForStudent(studentId);
+        List<AssignmentSubmission> submissions =
+                assignmentSubmissionRepository.findByStudentIdWithAssignment(studentId);
 
         return submissions.stream()
                 .map(this::mapToAssignmentSubmissionDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ExamSubmissionDTO> getChildGrades(Integer studentId) {
-        List<ExamSubmission> submissions = getExamsForStudent(studentId);
+        List<ExamSubmission> submissions = examSubmissionRepository.findGradedByStudentIdWithExam(studentId);
 
         return submissions.stream()
-                .filter(sub -> sub.getObtainedMarks() != null && sub.getObtainedMarks() > 0)
                 .map(this::mapToExamSubmissionDTO)
                 .collect(Collectors.toList());
     }
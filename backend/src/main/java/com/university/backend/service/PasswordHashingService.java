@@ -0,0 +1,215 @@
+package com.university.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Salted, adaptive password hashing (PBKDF2-HMAC-SHA256 from the JDK, no extra dependency).
+ * Hashes are stored as "pbkdf2-sha256$iterations$salt$hash", so the work factor can be raised later:
+ * rows hashed with fewer iterations, and legacy plaintext rows, are reported as needing an upgrade
+ * and re-hashed on the next successful login.
+ * All hashing runs on a small dedicated pool with a bounded queue. A login burst therefore queues here
+ * (or is turned away when the queue is full) instead of burning CPU on every request thread.
+ * Logins that have no stored hash to check (unknown email, inactive account, legacy plaintext row) still
+ * pay for one PBKDF2 run against a fixed dummy hash, so response time does not reveal which emails exist.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final long WAIT_TIMEOUT_SECONDS = 10;
+
+    private final int iterations;
+    private final ThreadPoolExecutor executor;
+    private final SecureRandom random = new SecureRandom();
+    private final byte[] dummySalt = new byte[SALT_BYTES];
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordHashingService(
+            @Value("${auth.password-hashing.iterations:310000}") int iterations,
+            @Value("${auth.password-hashing.workers:2}") int workers,
+            @Value("${auth.password-hashing.queue-capacity:200}") int queueCapacity) {
+        this.iterations = iterations;
+        random.nextBytes(dummySalt);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Result of checking a password against a stored value.
+     */
+    public static class Verification {
+        private final boolean matches;
+        private final boolean needsUpgrade;
+
+        Verification(boolean matches, boolean needsUpgrade) {
+            this.matches = matches;
+            this.needsUpgrade = needsUpgrade;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        // True if the password matched but is stored as plaintext or with an outdated work factor
+        public boolean needsUpgrade() {
+            return needsUpgrade;
+        }
+    }
+
+    /**
+     * Hashes a new password with a fresh salt and the current work factor.
+     * Throws IllegalStateException if the hashing pool is saturated.
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = runOnPool(() -> pbkdf2(password, salt, iterations));
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash or a legacy plaintext value.
+     * Throws IllegalStateException if the hashing pool is saturated.
+     */
+    public Verification verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return new Verification(false, false);
+        }
+
+        if (!stored.startsWith(PREFIX)) {
+            // Legacy plaintext row: compare in constant time, upgrade on success
+            boolean matches = MessageDigest.isEqual(
+                    password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+            verifyDummy(password);
+            return new Verification(matches, matches);
+        }
+
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return new Verification(false, false);
+        }
+        int storedIterations;
+        byte[] salt;
+        byte[] expected;
+        try {
+            storedIterations = Integer.parseInt(parts[0]);
+            salt = Base64.getDecoder().decode(parts[1]);
+            expected = Base64.getDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return new Verification(false, false);
+        }
+
+        byte[] actual = runOnPool(() -> pbkdf2(password, salt, storedIterations));
+        boolean matches = MessageDigest.isEqual(expected, actual);
+        return new Verification(matches, matches && storedIterations < iterations);
+    }
+
+    /**
+     * Spends the same work as verifying a current hash, for logins that have nothing real to verify.
+     * Throws IllegalStateException if the hashing pool is saturated.
+     */
+    public void verifyDummy(String password) {
+        String input = password == null ? "" : password;
+        runOnPool(() -> pbkdf2(input, dummySalt, iterations));
+    }
+
+    public Map<String, Object> getMetrics() {
+        long done = completed.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("iterations", iterations);
+        metrics.put("workers", executor.getMaximumPoolSize());
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("queued", executor.getQueue().size());
+        metrics.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        metrics.put("completed", done);
+        metrics.put("rejected", rejected.sum());
+        metrics.put("avgQueueWaitMillis", done == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / done);
+        metrics.put("avgHashMillis", done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done);
+        return metrics;
+    }
+
+    private byte[] runOnPool(Callable<byte[]> task) {
+        long submittedAt = System.nanoTime();
+        Future<byte[]> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new IllegalStateException("Too many logins in progress. Please try again shortly");
+        }
+
+        try {
+            return future.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password check interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Too many logins in progress. Please try again shortly");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.university.backend.service;
+
+import com.university.backend.model.RegistrationConfig;
+import com.university.backend.repository.RegistrationConfigRepository;
+import com.university.backend.repository.StudentCourseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory registration context: the active RegistrationConfig and per-student, per-term credit totals.
+ * The config is reloaded after an explicit invalidation (admin update) or after a short TTL, which also
+ * picks up changes made on other nodes. Credit totals serve the read-only registration status view only;
+ * the credit limit is always checked against the database inside the registration transaction, since
+ * this node does not see enrollments made on other nodes. Totals are computed with a SUM query when cold,
+ * kept up to date incrementally when enrollments commit here, and expire after a minute. A per-student
+ * change counter stops a SUM that raced with a committed enrollment from being cached.
+ */
+@Service
+public class RegistrationContextCache {
+
+    private static final long CONFIG_TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long CREDITS_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_CREDIT_ENTRIES = 50_000;
+
+    private final RegistrationConfigRepository registrationConfigRepository;
+    private final StudentCourseRepository studentCourseRepository;
+
+    private volatile CachedConfig cachedConfig;
+    private final ConcurrentHashMap<String, CreditTotal> creditTotals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> creditChangeCounts = new ConcurrentHashMap<>();
+    // Guards the counter check + put against a concurrent change; held only for map updates, never for queries
+    private final Object creditLock = new Object();
+
+    public RegistrationContextCache(RegistrationConfigRepository registrationConfigRepository,
+                                    StudentCourseRepository studentCourseRepository) {
+        this.registrationConfigRepository = registrationConfigRepository;
+        this.studentCourseRepository = studentCourseRepository;
+    }
+
+    // ---- Registration config ----
+
+    public RegistrationConfig getConfig() {
+        CachedConfig current = cachedConfig;
+        if (current != null && System.nanoTime() - current.loadedAt < CONFIG_TTL_NANOS) {
+            return current.config;
+        }
+
+        synchronized (this) {
+            current = cachedConfig;
+            if (current == null || System.nanoTime() - current.loadedAt >= CONFIG_TTL_NANOS) {
+                RegistrationConfig config = registrationConfigRepository.findFirstByOrderByIdDesc()
+                        .orElseGet(() -> registrationConfigRepository.save(new RegistrationConfig()));
+                current = new CachedConfig(config, System.nanoTime());
+                cachedConfig = current;
+            }
+            return current.config;
+        }
+    }
+
+    /**
+     * Drops the cached config once the current transaction commits (immediately if there is none).
+     */
+    public void invalidateConfig() {
+        afterCommit(() -> cachedConfig = null);
+    }
+
+    // ---- Credit totals ----
+
+    public int getCredits(Integer studentId, String term) {
+        String key = key(studentId, term);
+        CreditTotal total = creditTotals.get(key);
+        if (total != null && System.nanoTime() - total.loadedAt < CREDITS_TTL_NANOS) {
+            return total.credits;
+        }
+
+        Long changesBefore = creditChangeCounts.get(studentId);
+        Long sum = studentCourseRepository.sumCreditsForTerm(studentId, term);
+        int credits = sum == null ? 0 : sum.intValue();
+
+        // Only cache if no enrollment for this student was committed while summing
+        synchronized (creditLock) {
+            if (Objects.equals(changesBefore, creditChangeCounts.get(studentId))) {
+                put(key, credits);
+            }
+        }
+        return credits;
+    }
+
+    /**
+     * Adds the credits of a new enrollment to the student's cached total once the transaction commits.
+     * Students without a cached total are left cold and summed on next read.
+     */
+    public void recordEnrollment(Integer studentId, String term, int creditHours) {
+        afterCommit(() -> {
+            synchronized (creditLock) {
+                creditChangeCounts.merge(studentId, 1L, Long::sum);
+                creditTotals.computeIfPresent(key(studentId, term),
+                        (key, total) -> new CreditTotal(total.credits + creditHours, total.loadedAt));
+            }
+        });
+    }
+
+    private void put(String key, int credits) {
+        if (creditTotals.size() >= MAX_CREDIT_ENTRIES) {
+            long now = System.nanoTime();
+            creditTotals.values().removeIf(total -> now - total.loadedAt >= CREDITS_TTL_NANOS);
+            if (creditTotals.size() >= MAX_CREDIT_ENTRIES) {
+                creditTotals.clear();
+            }
+        }
+        creditTotals.put(key, new CreditTotal(credits, System.nanoTime()));
+    }
+
+    private static String key(Integer studentId, String term) {
+        return studentId + "|" + term;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class CachedConfig {
+        private final RegistrationConfig config;
+        private final long loadedAt;
+
+        CachedConfig(RegistrationConfig config, long loadedAt) {
+            this.config = config;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class CreditTotal {
+        private final int credits;
+        private final long loadedAt;
+
+        CreditTotal(int credits, long loadedAt) {
+            this.credits = credits;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
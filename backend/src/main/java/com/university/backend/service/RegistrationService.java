@@ -1,7 +1,9 @@
 package com.university.backend.service;
 
+import com.university.backend.dto.RegistrationConfigUpdateDTO;
 import com.university.backend.dto.RegistrationRequestDTO;
 import com.university.backend.dto.RegistrationResponseDTO;
+import com.university.backend.dto.StudentCreditTotalDTO;
 import com.university.backend.model.Course;
 import com.university.backend.model.RegistrationConfig;
 import com.university.backend.model.Student;
@@ -13,10 +15,18 @@ import com.university.backend.repository.StudentRepository;
 import jakarta.transaction.Transactional;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class RegistrationService {
@@ -25,22 +35,35 @@ public class RegistrationService {
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final RegistrationConfigRepository registrationConfigRepository;
+    private final CourseSeatAllocator courseSeatAllocator;
+    private final RegistrationContextCache registrationContextCache;
 
     public RegistrationService(
             StudentCourseRepository studentCourseRepository,
             CourseRepository courseRepository,
             StudentRepository studentRepository,
-            RegistrationConfigRepository registrationConfigRepository) {
+            RegistrationConfigRepository registrationConfigRepository,
+            CourseSeatAllocator courseSeatAllocator,
+            RegistrationContextCache registrationContextCache) {
         this.studentCourseRepository = studentCourseRepository;
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
         this.registrationConfigRepository = registrationConfigRepository;
+        this.courseSeatAllocator = courseSeatAllocator;
+        this.registrationContextCache = registrationContextCache;
     }
 
     @Transactional
     public RegistrationResponseDTO registerForCourse(Integer studentId, RegistrationRequestDTO request) {
         RegistrationResponseDTO response = new RegistrationResponseDTO();
 
+        // Popular courses that already filled up are rejected from memory
+        if (courseSeatAllocator.isKnownFull(request.getCourseId())) {
+            response.setSuccess(false);
+            response.setMessage("Course is full. No available seats");
+            return response;
+        }
+
         try {
             // 1. Get student and course
             Student student = studentRepository.findById(studentId)
@@ -52,7 +75,7 @@ public class RegistrationService {
             // 2. Get registration config
             RegistrationConfig config = getRegistrationConfig();
 
-            // 3. Check if already enrolled (using YOUR existing method)
+            // 3. Check if already enrolled (the unique constraint catches concurrent duplicates)
             boolean alreadyEnrolled = studentCourseRepository
                     .existsByStudentUserIdAndCourseCourseId(studentId, request.getCourseId());
 
@@ -62,15 +85,10 @@ public class RegistrationService {
                 return response;
             }
 
-            // 4. Check course capacity
-            if (course.getCapacity() != null && course.getCurrentEnrollment() >= course.getCapacity()) {
-                response.setSuccess(false);
-                response.setMessage("Course is full. No available seats");
-                return response;
-            }
-
-            // 5. Check credit hour limit
-            int currentCredits = getStudentCurrentCredits(studentId, config.getCurrentTerm());
+            // 4. Check credit hour limit against the database, never a cached total: another node may
+            //    have enrolled this student since any cache was filled
+            Long creditSum = studentCourseRepository.sumCreditsForTerm(studentId, config.getCurrentTerm());
+            int currentCredits = creditSum == null ? 0 : creditSum.intValue();
 
             if (currentCredits + course.getCreditHours() > config.getMaxCreditsPerStudent()) {
                 response.setSuccess(false);
@@ -81,6 +99,13 @@ public class RegistrationService {
                 return response;
             }
 
+            // 5. Take a seat atomically (conditional UPDATE); never oversubscribes under concurrency
+            if (!courseSeatAllocator.tryReserve(course.getCourseId())) {
+                response.setSuccess(false);
+                response.setMessage("Course is full. No available seats");
+                return response;
+            }
+
             // 6. Register student
             StudentCourses enrollment = new StudentCourses();
             enrollment.setStudent(student);
@@ -91,16 +116,9 @@ public class RegistrationService {
             enrollment.setTerm(config.getCurrentTerm());
 
             studentCourseRepository.save(enrollment);
+            registrationContextCache.recordEnrollment(studentId, config.getCurrentTerm(), course.getCreditHours());
 
-            // 7. Update course enrollment count
-            if (course.getCurrentEnrollment() == null) {
-                course.setCurrentEnrollment(1);
-            } else {
-                course.setCurrentEnrollment(course.getCurrentEnrollment() + 1);
-            }
-            courseRepository.save(course);
-
-            // 8. Return success
+            // 7. Return success
             response.setSuccess(true);
             response.setMessage("Successfully registered for " + course.getCode());
             response.setCourseId(course.getCourseId());
@@ -109,7 +127,15 @@ public class RegistrationService {
             response.setCurrentCredits(currentCredits + course.getCreditHours());
             response.setMaxCredits(config.getMaxCreditsPerStudent());
 
+        } catch (DataIntegrityViolationException e) {
+            // Unique (student_id, course_id): a concurrent request of the same student enrolled first.
+            // Rolling back also gives back the seat taken above.
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            response.setSuccess(false);
+            response.setMessage("You are already enrolled in this course");
         } catch (Exception e) {
+            // Never commit a reserved seat without its enrollment
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             response.setSuccess(false);
             response.setMessage("Registration failed: " + e.getMessage());
         }
@@ -117,42 +143,157 @@ public class RegistrationService {
         return response;
     }
 
-    // Helper method - gets student's current credits
-    private int getStudentCurrentCredits(Integer studentId, String term) {
-        // Use YOUR existing repository method
-        List<Course> enrolledCourses = studentCourseRepository.findCoursesById(studentId);
-
-        // Filter by current term
-        return enrolledCourses.stream()
-                .filter(course -> {
-                    // We need to check if each course is in current term
-                    // For now, assume all enrolled courses are current term
-                    return true;
-                })
-                .mapToInt(Course::getCreditHours)
-                .sum();
+    /**
+     * Registers many students for one course in a single transaction (surge mode).
+     * The course row is locked once, and enrollment, credit and student lookups are each one query
+     * for the whole batch. Seats go to students in list order until the course is full.
+     * Returns one response per input entry, in the same order.
+     */
+    @Transactional
+    public List<RegistrationResponseDTO> registerBatch(Integer courseId, List<Integer> studentIds) {
+        List<RegistrationResponseDTO> responses = new ArrayList<>(studentIds.size());
+
+        Optional<Course> courseOpt = courseRepository.findByIdForUpdate(courseId);
+        if (courseOpt.isEmpty()) {
+            for (int i = 0; i < studentIds.size(); i++) {
+                responses.add(failure("Registration failed: Course not found"));
+            }
+            return responses;
+        }
+        Course course = courseOpt.get();
+
+        RegistrationConfig config = getRegistrationConfig();
+        Set<Integer> distinctIds = new LinkedHashSet<>(studentIds);
+
+        Map<Integer, Student> students = new HashMap<>();
+        for (Student student : studentRepository.findAllById(distinctIds)) {
+            students.put(student.getUserId(), student);
+        }
+
+        Set<Integer> enrolled = new HashSet<>(studentCourseRepository.findEnrolledStudentIds(courseId, distinctIds));
+
+        Map<Integer, Integer> credits = new HashMap<>();
+        for (StudentCreditTotalDTO total : studentCourseRepository.sumCreditsByStudentIds(distinctIds, config.getCurrentTerm())) {
+            credits.put(total.getStudentId(), total.getTotalCredits().intValue());
+        }
+
+        int currentEnrollment = course.getCurrentEnrollment() == null ? 0 : course.getCurrentEnrollment();
+        int freeSeats = course.getCapacity() == null ? Integer.MAX_VALUE : course.getCapacity() - currentEnrollment;
+
+        List<StudentCourses> enrollments = new ArrayList<>();
+        for (Integer studentId : studentIds) {
+            Student student = students.get(studentId);
+            if (student == null) {
+                responses.add(failure("Registration failed: Student not found"));
+                continue;
+            }
+            if (enrolled.contains(studentId)) {
+                responses.add(failure("You are already enrolled in this course"));
+                continue;
+            }
+
+            int currentCredits = credits.getOrDefault(studentId, 0);
+            if (currentCredits + course.getCreditHours() > config.getMaxCreditsPerStudent()) {
+                responses.add(failure(String.format(
+                        "Credit limit exceeded. Current: %d credits, Course: %d credits, Max: %d credits",
+                        currentCredits, course.getCreditHours(), config.getMaxCreditsPerStudent()
+                )));
+                continue;
+            }
+
+            if (freeSeats <= 0) {
+                responses.add(failure("Course is full. No available seats"));
+                continue;
+            }
+
+            StudentCourses enrollment = new StudentCourses();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollment.setMarks(0);
+            enrollment.setRegistrationDate(LocalDateTime.now());
+            enrollment.setTerm(config.getCurrentTerm());
+            enrollments.add(enrollment);
+
+            enrolled.add(studentId);
+            freeSeats--;
+            responses.add(success(course, currentCredits + course.getCreditHours(), config));
+        }
+
+        if (!enrollments.isEmpty()) {
+            studentCourseRepository.saveAll(enrollments);
+            for (StudentCourses enrollment : enrollments) {
+                registrationContextCache.recordEnrollment(
+                        enrollment.getStudent().getUserId(), config.getCurrentTerm(), course.getCreditHours());
+            }
+            // Safe to write directly: the course row is locked until commit
+            course.setCurrentEnrollment(currentEnrollment + enrollments.size());
+            courseRepository.save(course);
+        }
+
+        return responses;
+    }
+
+    private RegistrationResponseDTO failure(String message) {
+        RegistrationResponseDTO response = new RegistrationResponseDTO();
+        response.setSuccess(false);
+        response.setMessage(message);
+        return response;
+    }
+
+    private RegistrationResponseDTO success(Course course, int currentCredits, RegistrationConfig config) {
+        RegistrationResponseDTO response = new RegistrationResponseDTO();
+        response.setSuccess(true);
+        response.setMessage("Successfully registered for " + course.getCode());
+        response.setCourseId(course.getCourseId());
+        response.setCourseCode(course.getCode());
+        response.setCourseName(course.getName());
+        response.setCurrentCredits(currentCredits);
+        response.setMaxCredits(config.getMaxCreditsPerStudent());
+        return response;
     }
 
-    // Get registration config
+    // Get registration config (cached until an admin changes it)
     private RegistrationConfig getRegistrationConfig() {
-        return registrationConfigRepository.findFirstByOrderByIdDesc()
-                .orElseGet(() -> {
-                    RegistrationConfig defaultConfig = new RegistrationConfig();
-                    return registrationConfigRepository.save(defaultConfig);
-                });
+        return registrationContextCache.getConfig();
+    }
+
+    /**
+     * Admin update of the registration config. Only non-null fields are applied; the cached config
+     * is dropped once the change commits so every registration after that sees the new values.
+     */
+    @Transactional
+    public RegistrationConfig updateRegistrationConfig(RegistrationConfigUpdateDTO changes) {
+        RegistrationConfig config = registrationConfigRepository.findFirstByOrderByIdDesc()
+                .orElseGet(RegistrationConfig::new);
+
+        if (changes.getMaxCreditsPerStudent() != null) {
+            if (changes.getMaxCreditsPerStudent() <= 0) {
+                throw new IllegalArgumentException("Max credits per student must be positive");
+            }
+            config.setMaxCreditsPerStudent(changes.getMaxCreditsPerStudent());
+        }
+        if (changes.getIsRegistrationOpen() != null) {
+            config.setIsRegistrationOpen(changes.getIsRegistrationOpen());
+        }
+        if (changes.getCurrentTerm() != null && !changes.getCurrentTerm().isBlank()) {
+            config.setCurrentTerm(changes.getCurrentTerm().trim());
+        }
+
+        RegistrationConfig saved = registrationConfigRepository.save(config);
+        registrationContextCache.invalidateConfig();
+        return saved;
     }
 
     // Get registration status
     public RegistrationStatusDTO getRegistrationStatus(Integer studentId) {
         RegistrationConfig config = getRegistrationConfig();
 
-        List<Course> enrolledCourses = studentCourseRepository.findCoursesById(studentId);
-        int totalCredits = enrolledCourses.stream()
-                .mapToInt(Course::getCreditHours)
-                .sum();
+        long enrolledCourses = studentCourseRepository.countByStudentAndTerm(studentId, config.getCurrentTerm());
+        // Display only; may briefly lag enrollments made on other nodes
+        int totalCredits = registrationContextCache.getCredits(studentId, config.getCurrentTerm());
 
         RegistrationStatusDTO status = new RegistrationStatusDTO();
-        status.setEnrolledCourses(enrolledCourses.size());
+        status.setEnrolledCourses((int) enrolledCourses);
         status.setTotalCredits(totalCredits);
         status.setMaxCredits(config.getMaxCreditsPerStudent());
         status.setTerm(config.getCurrentTerm());
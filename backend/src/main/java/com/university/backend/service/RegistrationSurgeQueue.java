@@ -0,0 +1,214 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.RegistrationResponseDTO;
+import com.university.backend.dto.RegistrationTicketDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Surge mode for course registration.
+ * Instead of every request running its own queries while the registration rush holds the connection pool,
+ * requests are accepted into a bounded queue and answered with a ticket. A small worker pool drains the
+ * queue in batches, groups the batch by course and registers each group in one transaction through
+ * {@link RegistrationService#registerBatch}. Clients poll their ticket for the result.
+ * A full queue rejects new requests immediately, so load beyond capacity turns into back-pressure
+ * instead of database timeouts.
+ */
+@Service
+public class RegistrationSurgeQueue {
+
+    // Completed tickets are kept this long for polling, then dropped
+    private static final long TICKET_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final long CLEANUP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final RegistrationService registrationService;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final BlockingQueue<Ticket> queue;
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private ExecutorService workers;
+    private volatile boolean running;
+    private volatile long lastCleanup = System.nanoTime();
+
+    public RegistrationSurgeQueue(
+            RegistrationService registrationService,
+            @Value("${registration.surge.enabled:false}") boolean enabled,
+            @Value("${registration.surge.queue-capacity:10000}") int queueCapacity,
+            @Value("${registration.surge.workers:4}") int workerCount,
+            @Value("${registration.surge.batch-size:100}") int batchSize) {
+        this.registrationService = registrationService;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "registration-surge-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::workLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a registration. Returns the ticket, or null if the queue is full (caller should retry later).
+     */
+    public RegistrationTicketDTO submit(Integer studentId, Integer courseId) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), studentId, courseId);
+        tickets.put(ticket.id, ticket);
+
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            return null;
+        }
+        return ticket.toDTO();
+    }
+
+    /**
+     * Current state of a ticket, or null if it is unknown, expired or belongs to another student.
+     */
+    public RegistrationTicketDTO getTicket(String ticketId, Integer studentId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.studentId.equals(studentId)) {
+            return null;
+        }
+        return ticket.toDTO();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void workLoop() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Ticket first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    processBatch(batch);
+                    batch.clear();
+                }
+                cleanupExpiredTickets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let one bad batch kill the worker
+                System.err.println("Registration surge batch failed: " + e.getMessage());
+                failAll(batch, "Registration failed: " + e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<Ticket> batch) {
+        // Group by course, keeping arrival order inside each course
+        Map<Integer, List<Ticket>> byCourse = new LinkedHashMap<>();
+        for (Ticket ticket : batch) {
+            byCourse.computeIfAbsent(ticket.courseId, id -> new ArrayList<>()).add(ticket);
+        }
+
+        for (Map.Entry<Integer, List<Ticket>> entry : byCourse.entrySet()) {
+            List<Ticket> courseTickets = entry.getValue();
+            try {
+                List<Integer> studentIds = new ArrayList<>(courseTickets.size());
+                for (Ticket ticket : courseTickets) {
+                    studentIds.add(ticket.studentId);
+                }
+
+                List<RegistrationResponseDTO> results = registrationService.registerBatch(entry.getKey(), studentIds);
+                for (int i = 0; i < courseTickets.size(); i++) {
+                    courseTickets.get(i).complete(results.get(i));
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Batched registration for course " + entry.getKey() + " failed: " + e.getMessage());
+                failAll(courseTickets, "Registration failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void failAll(List<Ticket> batch, String message) {
+        for (Ticket ticket : batch) {
+            if (ticket.result == null) {
+                RegistrationResponseDTO response = new RegistrationResponseDTO();
+                response.setSuccess(false);
+                response.setMessage(message);
+                ticket.complete(response);
+            }
+        }
+    }
+
+    private void cleanupExpiredTickets() {
+        long now = System.nanoTime();
+        if (now - lastCleanup < CLEANUP_INTERVAL_NANOS) {
+            return;
+        }
+        lastCleanup = now;
+        tickets.values().removeIf(ticket -> ticket.result != null && now - ticket.completedAt > TICKET_RETENTION_NANOS);
+    }
+
+    private static class Ticket {
+        private final String id;
+        private final Integer studentId;
+        private final Integer courseId;
+        private volatile RegistrationResponseDTO result;
+        private volatile long completedAt;
+
+        Ticket(String id, Integer studentId, Integer courseId) {
+            this.id = id;
+            this.studentId = studentId;
+            this.courseId = courseId;
+        }
+
+        void complete(RegistrationResponseDTO response) {
+            completedAt = System.nanoTime();
+            result = response;
+        }
+
+        RegistrationTicketDTO toDTO() {
+            RegistrationResponseDTO current = result;
+            return new RegistrationTicketDTO(id, courseId, current == null ? "QUEUED" : "COMPLETED", current);
+        }
+    }
+}
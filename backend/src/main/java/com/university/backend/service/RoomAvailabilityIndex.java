@@ -0,0 +1,99 @@
+package com.university.backend.service;
+
+import com.university.backend.model.Booking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only interval index over a set of bookings, grouped by room.
+ * Each room's bookings are sorted by start time, with a running maximum of end times,
+ * so "which booking overlaps [start, end)?" is a binary search per room instead of a scan.
+ */
+class RoomAvailabilityIndex {
+
+    private static final RoomIntervals NO_BOOKINGS = new RoomIntervals(new ArrayList<>());
+
+    private final Map<Integer, RoomIntervals> intervalsByRoom;
+
+    private RoomAvailabilityIndex(Map<Integer, RoomIntervals> intervalsByRoom) {
+        this.intervalsByRoom = intervalsByRoom;
+    }
+
+    static RoomAvailabilityIndex build(List<Booking> bookings) {
+        Map<Integer, List<Booking>> bookingsByRoom = new HashMap<>();
+        for (Booking booking : bookings) {
+            bookingsByRoom.computeIfAbsent(booking.getRoom().getRoom_id(), id -> new ArrayList<>()).add(booking);
+        }
+
+        Map<Integer, RoomIntervals> intervalsByRoom = new HashMap<>();
+        bookingsByRoom.forEach((roomId, roomBookings) -> intervalsByRoom.put(roomId, new RoomIntervals(roomBookings)));
+        return new RoomAvailabilityIndex(intervalsByRoom);
+    }
+
+    /**
+     * Returns a booking of the room that overlaps [start, end), or null if the room is free.
+     */
+    Booking findOverlapping(int roomId, LocalDateTime start, LocalDateTime end) {
+        return intervalsByRoom.getOrDefault(roomId, NO_BOOKINGS).findOverlapping(toSeconds(start), toSeconds(end));
+    }
+
+    static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Bookings of one room as parallel arrays sorted by start time.
+     */
+    private static class RoomIntervals {
+        private final Booking[] bookings;
+        private final long[] starts;
+        // maxEndIndex[i] is the index of the booking with the latest end among bookings[0..i]
+        private final int[] maxEndIndex;
+        private final long[] ends;
+
+        RoomIntervals(List<Booking> roomBookings) {
+            roomBookings.sort(Comparator.comparing(Booking::getStartTime));
+            int size = roomBookings.size();
+            bookings = roomBookings.toArray(new Booking[0]);
+            starts = new long[size];
+            ends = new long[size];
+            maxEndIndex = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                starts[i] = toSeconds(bookings[i].getStartTime());
+                ends[i] = toSeconds(bookings[i].getEndTime());
+                maxEndIndex[i] = (i > 0 && ends[maxEndIndex[i - 1]] >= ends[i]) ? maxEndIndex[i - 1] : i;
+            }
+        }
+
+        Booking findOverlapping(long start, long end) {
+            // Last booking that starts before the requested end
+            int low = 0;
+            int high = starts.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < end) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            if (last < 0) {
+                return null;
+            }
+
+            // Among those, the one ending last overlaps if any of them does
+            int candidate = maxEndIndex[last];
+            return ends[candidate] > start ? bookings[candidate] : null;
+        }
+    }
+}
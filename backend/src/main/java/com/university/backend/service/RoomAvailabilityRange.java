@@ -0,0 +1,71 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.RoomAvailabilityDTO;
+import com.university.backend.dto.RoomDTO;
+import com.university.backend.dto.RoomDailyAvailabilityDTO;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Availability of a set of rooms over a date range, backed by an occupancy bitmap.
+ * Holds only detached room data, so days can be produced after the persistence context is closed
+ * (e.g. while streaming the response); each day is materialized only when it is emitted.
+ */
+public class RoomAvailabilityRange {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<RoomDTO> rooms;
+    private final List<DailySlot> slots;
+    private final RoomOccupancyBitmap occupancy;
+
+    RoomAvailabilityRange(LocalDate from, LocalDate to, List<RoomDTO> rooms,
+                          List<DailySlot> slots, RoomOccupancyBitmap occupancy) {
+        this.from = from;
+        this.to = to;
+        this.rooms = rooms;
+        this.slots = slots;
+        this.occupancy = occupancy;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Builds and hands over one day at a time, in date order.
+     * Booked slots carry no purpose: the bitmap only records occupancy.
+     */
+    public void forEachDay(Consumer<RoomDailyAvailabilityDTO> consumer) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        for (int dayIndex = 0; dayIndex < days; dayIndex++) {
+            List<RoomAvailabilityDTO> daySlots = new ArrayList<>(rooms.size() * slots.size());
+
+            for (RoomDTO room : rooms) {
+                for (DailySlot slot : slots) {
+                    boolean booked = occupancy.isOccupied(room.getId(), dayIndex, slot.start, slot.end);
+                    daySlots.add(new RoomAvailabilityDTO(
+                            room.getId(),
+                            room.getRoomCode(),
+                            room.getCapacity(),
+                            room.getRoomType(),
+                            booked ? "Booked" : "Free",
+                            slot.label,
+                            null
+                    ));
+                }
+            }
+
+            consumer.accept(new RoomDailyAvailabilityDTO(from.plusDays(dayIndex), daySlots));
+        }
+    }
+}
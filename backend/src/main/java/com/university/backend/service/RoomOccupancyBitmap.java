@@ -0,0 +1,80 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.BookingIntervalDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-room occupancy over a date range, one bit per 15-minute quantum per day.
+ * A month for one room is 2,880 bits (360 bytes); rooms without bookings take no space.
+ * Bookings that only partly cover a quantum mark the whole quantum as occupied.
+ */
+class RoomOccupancyBitmap {
+
+    static final int QUANTUM_MINUTES = 15;
+    static final int QUANTA_PER_DAY = 24 * 60 / QUANTUM_MINUTES;
+
+    private static final BitSet EMPTY = new BitSet(0);
+
+    private final LocalDateTime rangeStart;
+    private final int totalQuanta;
+    private final Map<Integer, BitSet> occupancyByRoom = new HashMap<>();
+
+    /**
+     * @param from first day of the range (inclusive)
+     * @param to   last day of the range (inclusive)
+     */
+    RoomOccupancyBitmap(LocalDate from, LocalDate to) {
+        this.rangeStart = from.atStartOfDay();
+        this.totalQuanta = (int) (ChronoUnit.DAYS.between(from, to) + 1) * QUANTA_PER_DAY;
+    }
+
+    static RoomOccupancyBitmap build(LocalDate from, LocalDate to, List<BookingIntervalDTO> bookings) {
+        RoomOccupancyBitmap bitmap = new RoomOccupancyBitmap(from, to);
+        for (BookingIntervalDTO booking : bookings) {
+            bitmap.markOccupied(booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+        }
+        return bitmap;
+    }
+
+    void markOccupied(int roomId, LocalDateTime start, LocalDateTime end) {
+        int fromQuantum = Math.max(0, quantumFloor(start));
+        int toQuantum = Math.min(totalQuanta, quantumCeil(end));
+        if (fromQuantum >= toQuantum) {
+            return;
+        }
+        occupancyByRoom.computeIfAbsent(roomId, id -> new BitSet(totalQuanta)).set(fromQuantum, toQuantum);
+    }
+
+    /**
+     * True if any quantum of [start, end) on the given day (0-based from the range start) is occupied.
+     */
+    boolean isOccupied(int roomId, int dayIndex, LocalTime start, LocalTime end) {
+        BitSet bits = occupancyByRoom.getOrDefault(roomId, EMPTY);
+        int dayOffset = dayIndex * QUANTA_PER_DAY;
+        int fromQuantum = dayOffset + start.toSecondOfDay() / (QUANTUM_MINUTES * 60);
+        int toQuantum = dayOffset + (end.toSecondOfDay() + QUANTUM_MINUTES * 60 - 1) / (QUANTUM_MINUTES * 60);
+
+        int next = bits.nextSetBit(fromQuantum);
+        return next >= 0 && next < toQuantum;
+    }
+
+    private int quantumFloor(LocalDateTime time) {
+        long minutes = Duration.between(rangeStart, time).toMinutes();
+        return (int) Math.floorDiv(minutes, QUANTUM_MINUTES);
+    }
+
+    private int quantumCeil(LocalDateTime time) {
+        long seconds = Duration.between(rangeStart, time).getSeconds();
+        long quantumSeconds = QUANTUM_MINUTES * 60L;
+        return (int) Math.min(Integer.MAX_VALUE, Math.floorDiv(seconds + quantumSeconds - 1, quantumSeconds));
+    }
+}
@@ -11,13 +11,23 @@ import com.university.backend.repository.BookingStatusRepository;
 import com.university.backend.repository.StaffMemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,24 +37,46 @@ public class RoomService {
     private final BookingRepository bookingRepository;
     private final BookingStatusRepository bookingStatusRepository;
     private final StaffMemberRepository staffMemberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    // In-process serialization of bookings per room; the room row lock covers other app nodes
+    private final StripedLocks roomBookingLocks = new StripedLocks(64);
     // Hardcoded daily slots for simplicity (usually fetched from config/DB)
     private static final List<String> DAILY_SLOTS = List.of(
             "08:00-09:30", "09:30-11:00", "11:00-12:30", "12:30-14:00",
             "14:00-15:30", "15:30-17:00"
     );
 
+    // Slot boundaries parsed once instead of on every room/slot iteration
+    private static final List<DailySlot> DAILY_SLOT_TIMES = DAILY_SLOTS.stream()
+            .map(DailySlot::parse)
+            .collect(Collectors.toList());
+
     // CRITICAL: Status ID for 'Confirmed' or 'Approved' bookings.
     // You MUST configure this ID based on your database's BookingStatus table.
     private static final Integer CONFIRMED_STATUS_ID = 1;
     private static final Integer PENDING_STATUS_ID = 2; // Status used for new requests
 
+    // Longest date range served by the multi-day availability query
+    private static final int MAX_AVAILABILITY_RANGE_DAYS = 92;
+
+    // Upper bound on occurrences of one recurring booking request
+    private static final int MAX_RECURRING_OCCURRENCES = 400;
+
+    private static final String INSERT_BOOKING_SQL =
+            "INSERT INTO booking (room_id, booked_by_faculty_id, purpose, start_time, end_time, created_at, status_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
 
     @Autowired
-    public RoomService(RoomRepository roomRepository, BookingRepository bookingRepository, BookingStatusRepository bookingStatusRepository, StaffMemberRepository staffMemberRepository) {
+    public RoomService(RoomRepository roomRepository, BookingRepository bookingRepository, BookingStatusRepository bookingStatusRepository, StaffMemberRepository staffMemberRepository, TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate) {
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
         this.bookingStatusRepository = bookingStatusRepository;
         this.staffMemberRepository = staffMemberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<RoomAvailabilityDTO> getAvailableRooms(String dateStr, String roomType) {
@@ -72,34 +104,31 @@ public class RoomService {
                 CONFIRMED_STATUS_ID // Use the defined confirmed status ID
         );
 
+        // 4. Index the day's bookings by room so each room/slot check is a binary search
+        RoomAvailabilityIndex bookingIndex = RoomAvailabilityIndex.build(bookedSlots);
+        LocalDate day = startOfDay.toLocalDate();
+
         List<RoomAvailabilityDTO> results = new ArrayList<>();
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
-        // 4. Compare all rooms/slots against actual bookings
+        // 5. Compare all rooms/slots against the indexed bookings
         for (Room room : rooms) {
-            for (String slot : DAILY_SLOTS) {
-                LocalTime slotStart = LocalTime.parse(slot.split("-")[0], timeFormatter);
-                LocalTime slotEnd = LocalTime.parse(slot.split("-")[1], timeFormatter);
-
-                // Check for overlapping bookings
-                boolean isBooked = bookedSlots.stream().anyMatch(booking ->
-                        booking.getRoom().getRoom_id()==room.getRoom_id() &&
-                                // Check for overlap: [Booking Start < Slot End] AND [Booking End > Slot Start]
-                                booking.getStartTime().toLocalTime().isBefore(slotEnd) &&
-                                booking.getEndTime().toLocalTime().isAfter(slotStart)
-                );
-
-                if (isBooked) {
-                    // Find the booking object to get details (e.g., purpose)
-                    Booking booking = bookedSlots.stream().filter(b -> b.getRoom().getRoom_id()==room.getRoom_id()).findFirst().get();
+            String roomTypeName = room.getRoom_type().getType();
+
+            for (DailySlot slot : DAILY_SLOT_TIMES) {
+                // The booking that actually overlaps this slot, if any
+                Booking booking = bookingIndex.findOverlapping(
+                        room.getRoom_id(),
+                        day.atTime(slot.start),
+                        day.atTime(slot.end));
 
+                if (booking != null) {
                     results.add(new RoomAvailabilityDTO(
                             room.getRoom_id(),
                             room.getRoom_code(),
                             room.getCapacity(),
-                            room.getRoom_type().getType(),
+                            roomTypeName,
                             "Booked",
-                            slot,
+                            slot.label,
                             booking.getPurpose()
                     ));
                 } else {
@@ -108,9 +137,9 @@ public class RoomService {
                             room.getRoom_id(),
                             room.getRoom_code(),
                             room.getCapacity(),
-                            room.getRoom_type().getType(),
+                            roomTypeName,
                             "Free",
-                            slot,// Display the free time slot range
+                            slot.label,// Display the free time slot range
                             null
                     ));
                 }
@@ -123,9 +152,165 @@ public class RoomService {
 
 
 
+    /**
+     * Availability of every matching room for each day in [from, to].
+     * Rooms and bookings are each loaded with a single query; the per-day results are
+     * produced lazily by the returned range so large views are never held in memory at once.
+     */
+    public RoomAvailabilityRange getAvailabilityRange(LocalDate from, LocalDate to, String roomType,
+                                                      String building, Integer minCapacity) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_AVAILABILITY_RANGE_DAYS + " days.");
+        }
+
+        String typeFilter = (roomType == null || "All Rooms".equalsIgnoreCase(roomType)) ? null : roomType;
+        String buildingFilter = (building == null || building.isBlank()) ? null : building;
+
+        List<RoomDTO> rooms = roomRepository.findActiveRoomsFiltered(typeFilter, buildingFilter, minCapacity).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        List<BookingIntervalDTO> bookings = bookingRepository.findIntervalsInRange(
+                from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(),
+                CONFIRMED_STATUS_ID
+        );
+
+        return new RoomAvailabilityRange(from, to, rooms, DAILY_SLOT_TIMES,
+                RoomOccupancyBitmap.build(from, to, bookings));
+    }
+
+    /**
+     * Creates a confirmed booking if the room is free for the requested time.
+     * Concurrent requests for the same room are serialized twice: by a striped in-process lock
+     * (so threads of this node queue cheaply instead of piling up on the database), and by a
+     * pessimistic lock on the room row held until commit (so other nodes cannot interleave
+     * between the conflict check and the insert). Different rooms do not block each other.
+     */
     public Booking createBooking(BookingRequestDTO request, Integer facultyMemberID) {
+        return inRoomBookingTransaction(request.getRoomId(), () -> createBookingLocked(request, facultyMemberID));
+    }
+
+    /**
+     * Books a room on a weekly pattern in one request. All existing bookings of the room in the
+     * pattern's span are read with one range query, each occurrence is checked against them in memory,
+     * and the accepted occurrences are inserted with a single JDBC batch. Conflicting occurrences are
+     * reported, not fatal. Runs under the same room locks as {@link #createBooking}.
+     */
+    public RecurringBookingResponseDTO createRecurringBooking(RecurringBookingRequestDTO request, Integer facultyMemberID) {
+        List<LocalDateTime[]> occurrences = expandOccurrences(request);
+        return inRoomBookingTransaction(request.getRoomId(),
+                () -> createRecurringBookingLocked(request, occurrences, facultyMemberID));
+    }
+
+    // Runs the work in a transaction while holding the room's in-process lock; the transaction commits first
+    private <T> T inRoomBookingTransaction(Integer roomId, Supplier<T> work) {
+        ReentrantLock roomLock = roomBookingLocks.lockFor(roomId);
+        roomLock.lock();
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    private List<LocalDateTime[]> expandOccurrences(RecurringBookingRequestDTO request) {
+        if (request.getRoomId() == null || request.getStartDate() == null || request.getEndDate() == null
+                || request.getStartTime() == null || request.getEndTime() == null
+                || request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                || request.getDaysOfWeek().stream().anyMatch(Objects::isNull)
+                || request.getPurpose() == null || request.getPurpose().isBlank()) {
+            throw new IllegalArgumentException("roomId, startDate, endDate, startTime, endTime, daysOfWeek and purpose are required.");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
+
+        Set<DayOfWeek> days = EnumSet.copyOf(request.getDaysOfWeek());
+        Set<LocalDate> excluded = request.getExcludedDates() == null
+                ? Set.of()
+                : new HashSet<>(request.getExcludedDates());
+
+        List<LocalDateTime[]> occurrences = new ArrayList<>();
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            if (days.contains(date.getDayOfWeek()) && !excluded.contains(date)) {
+                occurrences.add(new LocalDateTime[]{date.atTime(request.getStartTime()), date.atTime(request.getEndTime())});
+                if (occurrences.size() > MAX_RECURRING_OCCURRENCES) {
+                    throw new IllegalArgumentException("A recurring booking cannot exceed " + MAX_RECURRING_OCCURRENCES + " occurrences.");
+                }
+            }
+        }
+
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("The pattern does not produce any occurrence.");
+        }
+        return occurrences;
+    }
+
+    private RecurringBookingResponseDTO createRecurringBookingLocked(RecurringBookingRequestDTO request,
+                                                                     List<LocalDateTime[]> occurrences,
+                                                                     Integer facultyMemberID) {
+        // 1. Lock the room row and validate the dependent IDs once for the whole series
+        Room room = roomRepository.findByIdForUpdate(request.getRoomId())
+                .orElseThrow(() -> new EntityNotFoundException("Room not found with ID: " + request.getRoomId()));
+
+        StaffMember faculty = staffMemberRepository.findById(facultyMemberID)
+                .orElseThrow(() -> new EntityNotFoundException("Faculty member not found with ID: " + facultyMemberID));
+
+        bookingStatusRepository.findById(CONFIRMED_STATUS_ID)
+                .orElseThrow(() -> new EntityNotFoundException("Booking Status (CONFIRMED) not found. Check database initialization."));
+
+        // 2. One range query for every confirmed booking of the room in the series' span
+        LocalDateTime seriesStart = occurrences.get(0)[0];
+        LocalDateTime seriesEnd = occurrences.get(occurrences.size() - 1)[1];
+        RoomAvailabilityIndex existing = RoomAvailabilityIndex.build(
+                bookingRepository.findConflictingBookings(room.getRoom_id(), seriesStart, seriesEnd));
+
+        // 3. Resolve each occurrence in memory
+        List<BookingOccurrenceDTO> report = new ArrayList<>(occurrences.size());
+        List<Object[]> inserts = new ArrayList<>();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        for (LocalDateTime[] occurrence : occurrences) {
+            Booking conflict = existing.findOverlapping(room.getRoom_id(), occurrence[0], occurrence[1]);
+            if (conflict != null) {
+                report.add(new BookingOccurrenceDTO(occurrence[0], occurrence[1], "CONFLICT", conflict.getBookingId()));
+            } else {
+                report.add(new BookingOccurrenceDTO(occurrence[0], occurrence[1], "ACCEPTED", null));
+                inserts.add(new Object[]{
+                        room.getRoom_id(),
+                        faculty.getUserId(),
+                        request.getPurpose(),
+                        Timestamp.valueOf(occurrence[0]),
+                        Timestamp.valueOf(occurrence[1]),
+                        createdAt,
+                        CONFIRMED_STATUS_ID
+                });
+            }
+        }
 
-        // 1. Availability Check: Use the repository query to find existing confirmed bookings that conflict
+        // 4. Insert all accepted occurrences in one JDBC batch
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOKING_SQL, inserts);
+        }
+
+        return new RecurringBookingResponseDTO(room.getRoom_id(), inserts.size(),
+                occurrences.size() - inserts.size(), report);
+    }
+
+    private Booking createBookingLocked(BookingRequestDTO request, Integer facultyMemberID) {
+
+        // 1. Lock the room row for the rest of the transaction (also ensures the ID is valid)
+        Room room = roomRepository.findByIdForUpdate(request.getRoomId())
+                .orElseThrow(() -> new EntityNotFoundException("Room not found with ID: " + request.getRoomId()));
+
+        // 2. Availability Check: Use the repository query to find existing confirmed bookings that conflict
         List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
                 request.getRoomId(),
                 request.getStartTime(),
@@ -136,17 +321,14 @@ public class RoomService {
             throw new IllegalStateException("The requested room is already CONFIRMED booked during this time slot.");
         }
 
-        // 2. Fetch Dependent Entities (Ensuring IDs are valid)
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new EntityNotFoundException("Room not found with ID: " + request.getRoomId()));
-
+        // 3. Fetch Dependent Entities (Ensuring IDs are valid)
         StaffMember faculty = staffMemberRepository.findById(facultyMemberID)
                 .orElseThrow(() -> new EntityNotFoundException("Faculty member not found with ID: " + facultyMemberID));
 
         BookingStatus confirmedStatus = bookingStatusRepository.findById(CONFIRMED_STATUS_ID)
                 .orElseThrow(() -> new EntityNotFoundException("Booking Status (PENDING) not found. Check database initialization."));
 
-        // 3. Create the Booking Entity
+        // 4. Create the Booking Entity
         Booking newBooking = new Booking();
         // Assuming your Booking entity uses Lombok setters (setRoom, setBookedByFaculty, etc.)
         newBooking.setRoom(room);
@@ -157,7 +339,7 @@ public class RoomService {
         newBooking.setCreatedAt(LocalDateTime.now());
         newBooking.setStatus(confirmedStatus); // Set initial status to PENDING
 
-        // 4. Save the Booking
+        // 5. Save the Booking
         return bookingRepository.save(newBooking);
     }
 
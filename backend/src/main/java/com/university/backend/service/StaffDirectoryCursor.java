@@ -0,0 +1,45 @@
+package com.university.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the staff directory: the (lastName, firstName, userId) of the last row served.
+ */
+class StaffDirectoryCursor {
+
+    final String lastName;
+    final String firstName;
+    final Integer userId;
+
+    StaffDirectoryCursor(String lastName, String firstName, Integer userId) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.userId = userId;
+    }
+
+    String encode() {
+        String raw = userId + "\n" + lastName + "\n" + firstName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor (first page).
+     */
+    static StaffDirectoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new StaffDirectoryCursor(parts[1], parts[2], Integer.valueOf(parts[0]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
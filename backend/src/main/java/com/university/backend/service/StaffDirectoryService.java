@@ -5,12 +5,16 @@ import com.university.backend.model.*;
 import com.university.backend.repository.*;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
@@ -23,8 +27,13 @@ public class StaffDirectoryService {
     private final OfficeHourSlotRepository officeHourSlotRepository;
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
+    private final StaffSearchIndex staffSearchIndex;
+    private final OfficeHourAvailabilityCache officeHourAvailabilityCache;
     private final HttpSession session;
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private Student getCurrentStudent() {
         Integer userId = (Integer) session.getAttribute("userID");
         if (userId == null) {
@@ -33,159 +42,211 @@ public class StaffDirectoryService {
         return studentRepository.findById(userId).orElse(null);
     }
 
+    // Directory reads are a fixed number of set-based queries, independent of the number of staff:
+    // one for the rows (with an EXISTS office-hours flag) plus one per course list, joined in memory.
+    @Transactional(readOnly = true)
     public List<StaffMemberDTO> getAllStaff() {
-        List<StaffMember> allStaff = staffMemberRepository.findAll();
-        return allStaff.stream()
-                .map(this::convertStaffMemberToDTO)
-                .collect(Collectors.toList());
+        return assembleDirectory(
+                staffMemberRepository.findDirectoryRows(),
+                courseRepository.findProfessorCourseRefs(),
+                taRepository.findAssistingCourseRefs());
     }
 
+    @Transactional(readOnly = true)
     public List<StaffMemberDTO> getProfessors() {
-        List<Professor> professors = professorRepository.findAll();
-        return professors.stream()
-                .map(this::convertProfessorToDTO)
-                .collect(Collectors.toList());
+        return assembleDirectory(
+                staffMemberRepository.findProfessorDirectoryRows(),
+                courseRepository.findProfessorCourseRefs(),
+                List.of());
     }
 
+    @Transactional(readOnly = true)
     public List<StaffMemberDTO> getTAs() {
-        List<TA> tas = taRepository.findAll();
-        return tas.stream()
-                .map(this::convertTAToDTO)
-                .collect(Collectors.toList());
+        return assembleDirectory(
+                staffMemberRepository.findTADirectoryRows(),
+                List.of(),
+                taRepository.findAssistingCourseRefs());
     }
 
-    // Changed return type to List<OfficeHourSlotDTO>
-    public List<OfficeHourSlotDTO> getOfficeHours(Integer staffMemberId) {
-        // Get upcoming slots for this staff member (next 4 weeks)
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime fourWeeksLater = now.plusWeeks(4);
-
-        List<OfficeHourSlot> slots = officeHourSlotRepository.findByStaffMember_UserIdAndSlotDateTimeBetween(
-                staffMemberId, now, fourWeeksLater
-        );
-
-        if (slots.isEmpty()) {
-            return new ArrayList<>();
-        }
+    // ---- Cursor-paginated directory (rows + two course queries per page) ----
+
+    @Transactional(readOnly = true)
+    public StaffDirectoryPageDTO getAllStaffPage(String cursor, Integer limit) {
+        StaffDirectoryCursor after = StaffDirectoryCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return assemblePage(staffMemberRepository.findDirectoryPage(
+                after == null ? null : after.lastName,
+                after == null ? null : after.firstName,
+                after == null ? null : after.userId,
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
 
-        // Get staff member for name
-        StaffMember staff = staffMemberRepository.findById(staffMemberId)
-                .orElseThrow(() -> new RuntimeException("Staff member not found with ID: " + staffMemberId));
+    @Transactional(readOnly = true)
+    public StaffDirectoryPageDTO getProfessorsPage(String cursor, Integer limit) {
+        StaffDirectoryCursor after = StaffDirectoryCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return assemblePage(staffMemberRepository.findProfessorDirectoryPage(
+                after == null ? null : after.lastName,
+                after == null ? null : after.firstName,
+                after == null ? null : after.userId,
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
 
-        // Convert each slot to DTO
-        return slots.stream()
-                .map(slot -> convertToOfficeHourSlotDTO(slot, staff))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public StaffDirectoryPageDTO getTAsPage(String cursor, Integer limit) {
+        StaffDirectoryCursor after = StaffDirectoryCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return assemblePage(staffMemberRepository.findTADirectoryPage(
+                after == null ? null : after.lastName,
+                after == null ? null : after.firstName,
+                after == null ? null : after.userId,
+                PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
-    private OfficeHourSlotDTO convertToOfficeHourSlotDTO(OfficeHourSlot slot, StaffMember staff) {
-        OfficeHourSlotDTO dto = new OfficeHourSlotDTO();
-        dto.setId(slot.getId());
-        dto.setSlotDateTime(slot.getStartTime());
-        dto.setEndDateTime(slot.getEndTime());
+    /**
+     * Name/email search served from the in-memory index; only the returned page is read from the database.
+     * type is "professors", "tas" or null for all staff.
+     */
+    @Transactional(readOnly = true)
+    public StaffDirectoryPageDTO searchStaff(String query, String type, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        String staffType = null;
+        if ("professors".equalsIgnoreCase(type)) {
+            staffType = "Professor";
+        } else if ("tas".equalsIgnoreCase(type)) {
+            staffType = "Teaching Assistant";
+        }
 
-        if (slot.getBookedBy() != null) {
-            dto.setStudentName(slot.getBookedBy().getFirstName() + " " + slot.getBookedBy().getLastName());
-            dto.setPurpose(slot.getPurpose());
+        int pageSize = pageSize(limit);
+        List<StaffSearchIndex.Entry> matches = staffSearchIndex.search(
+                query, staffType, StaffDirectoryCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = matches.size() > pageSize;
+        if (hasMore) {
+            matches = matches.subList(0, pageSize);
+        }
+        if (matches.isEmpty()) {
+            return new StaffDirectoryPageDTO(new ArrayList<>(), null);
         }
 
-        dto.setStatus(slot.getStatus().toString());
-        dto.setBookable(slot.getStatus() == OfficeHourSlot.SlotStatus.AVAILABLE); // This should work now
-        dto.setStaffName(staff.getFirstName() + " " + staff.getLastName());
-        dto.setStaffType(staff instanceof Professor ? "Professor" : "Teaching Assistant");
+        List<Integer> ids = new ArrayList<>(matches.size());
+        for (StaffSearchIndex.Entry match : matches) {
+            ids.add(match.row.getUserId());
+        }
 
-        // For backward compatibility, set slots as empty list
-        dto.setSlots(new ArrayList<>());
+        // Fresh rows for the page, kept in index order
+        Map<Integer, StaffDirectoryRowDTO> freshRows = new HashMap<>();
+        for (StaffDirectoryRowDTO row : staffMemberRepository.findDirectoryRowsByIds(ids)) {
+            freshRows.put(row.getUserId(), row);
+        }
+        List<StaffDirectoryRowDTO> rows = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            StaffDirectoryRowDTO row = freshRows.get(id);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
 
-        return dto;
+        StaffDirectoryRowDTO last = matches.get(matches.size() - 1).row;
+        String nextCursor = hasMore
+                ? new StaffDirectoryCursor(last.getLastName(), last.getFirstName(), last.getUserId()).encode()
+                : null;
+        return new StaffDirectoryPageDTO(assembleDirectory(rows, ids), nextCursor);
     }
 
-    private StaffMemberDTO convertStaffMemberToDTO(StaffMember staffMember) {
-        StaffMemberDTO dto = new StaffMemberDTO();
-
-        if (staffMember != null) {
-            dto.setId(staffMember.getUserId() != null ? staffMember.getUserId().longValue() : null);
-            dto.setFirstName(staffMember.getFirstName());
-            dto.setLastName(staffMember.getLastName());
-
-            if (staffMember.getDepartment() != null) {
-                dto.setDepartmentName(staffMember.getDepartment().getDepartmentName());
-            }
-
-            // Check if staff has office hours in database
-            if (staffMember.getUserId() != null) {
-                List<OfficeHourSlot> slots = officeHourSlotRepository.findByStaffMember_UserId(staffMember.getUserId());
-                dto.setHasOfficeHours(!slots.isEmpty());
-            } else {
-                dto.setHasOfficeHours(false);
-            }
+    private StaffDirectoryPageDTO assemblePage(List<StaffDirectoryRowDTO> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        if (rows.isEmpty()) {
+            return new StaffDirectoryPageDTO(new ArrayList<>(), null);
+        }
 
-            if (staffMember instanceof Professor) {
-                dto.setStaffType("Professor");
-                dto.setCourses(getProfessorCourses((Professor) staffMember));
-            } else if (staffMember instanceof TA) {
-                dto.setStaffType("Teaching Assistant");
-                dto.setCourses(getTACourses((TA) staffMember));
-            } else {
-                dto.setStaffType("Staff");
-                dto.setCourses(new ArrayList<>());
-            }
+        List<Integer> ids = new ArrayList<>(rows.size());
+        for (StaffDirectoryRowDTO row : rows) {
+            ids.add(row.getUserId());
         }
 
-        return dto;
+        StaffDirectoryRowDTO last = rows.get(rows.size() - 1);
+        String nextCursor = hasMore
+                ? new StaffDirectoryCursor(last.getLastName(), last.getFirstName(), last.getUserId()).encode()
+                : null;
+        return new StaffDirectoryPageDTO(assembleDirectory(rows, ids), nextCursor);
     }
 
-    private StaffMemberDTO convertProfessorToDTO(Professor professor) {
-        StaffMemberDTO dto = convertStaffMemberToDTO(professor);
-        if (dto != null) {
-            dto.setStaffType("Professor");
-            dto.setCourses(getProfessorCourses(professor));
-        }
-        return dto;
+    // Course lists for just the staff on one page
+    private List<StaffMemberDTO> assembleDirectory(List<StaffDirectoryRowDTO> rows, List<Integer> ids) {
+        return assembleDirectory(rows,
+                courseRepository.findProfessorCourseRefsByStaffIds(ids),
+                taRepository.findAssistingCourseRefsByStaffIds(ids));
     }
 
-    private StaffMemberDTO convertTAToDTO(TA ta) {
-        StaffMemberDTO dto = convertStaffMemberToDTO(ta);
-        if (dto != null) {
-            dto.setStaffType("Teaching Assistant");
-            dto.setCourses(getTACourses(ta));
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        return dto;
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
-    private List<CourseInfoDTO> getProfessorCourses(Professor professor) {
-        if (professor == null) return new ArrayList<>();
-
-        List<Course> courses = courseRepository.findByProfessor(professor);
-        if (courses == null) return new ArrayList<>();
-
-        return courses.stream()
-                .map(this::convertCourseToDTO)
-                .collect(Collectors.toList());
+    private List<StaffMemberDTO> assembleDirectory(List<StaffDirectoryRowDTO> rows,
+                                                   List<StaffCourseRefDTO> professorCourses,
+                                                   List<StaffCourseRefDTO> taCourses) {
+        Map<Integer, List<CourseInfoDTO>> coursesByProfessor = groupCoursesByStaff(professorCourses);
+        Map<Integer, List<CourseInfoDTO>> coursesByTA = groupCoursesByStaff(taCourses);
+
+        List<StaffMemberDTO> directory = new ArrayList<>(rows.size());
+        for (StaffDirectoryRowDTO row : rows) {
+            StaffMemberDTO dto = new StaffMemberDTO();
+            dto.setId(row.getUserId().longValue());
+            dto.setFirstName(row.getFirstName());
+            dto.setLastName(row.getLastName());
+            dto.setEmail(row.getEmail());
+            dto.setDepartmentName(row.getDepartmentName());
+            dto.setHasOfficeHours(Boolean.TRUE.equals(row.getHasOfficeHours()));
+            dto.setStaffType(row.getStaffType());
+
+            Map<Integer, List<CourseInfoDTO>> courses = "Professor".equals(row.getStaffType())
+                    ? coursesByProfessor
+                    : coursesByTA;
+            dto.setCourses(new ArrayList<>(courses.getOrDefault(row.getUserId(), List.of())));
+
+            directory.add(dto);
+        }
+        return directory;
     }
 
-    private List<CourseInfoDTO> getTACourses(TA ta) {
-        if (ta == null) return new ArrayList<>();
-
-        if (ta.getAssistingCourses() != null) {
-            return ta.getAssistingCourses().stream()
-                    .map(this::convertCourseToDTO)
-                    .collect(Collectors.toList());
+    private Map<Integer, List<CourseInfoDTO>> groupCoursesByStaff(List<StaffCourseRefDTO> refs) {
+        Map<Integer, List<CourseInfoDTO>> grouped = new HashMap<>();
+        for (StaffCourseRefDTO ref : refs) {
+            CourseInfoDTO course = new CourseInfoDTO();
+            course.setCourseId(ref.getCourseId());
+            course.setCode(ref.getCode());
+            course.setName(ref.getName());
+            grouped.computeIfAbsent(ref.getStaffId(), id -> new ArrayList<>()).add(course);
         }
-        return new ArrayList<>();
+        return grouped;
     }
 
-    private CourseInfoDTO convertCourseToDTO(Course course) {
-        CourseInfoDTO dto = new CourseInfoDTO();
-        if (course != null) {
-            dto.setCourseId(course.getCourseId());
-            dto.setCode(course.getCode());
-            dto.setName(course.getName());
-        }
-        return dto;
+    // Changed return type to List<OfficeHourSlotDTO>
+    // Upcoming slots (next 4 weeks), served from the in-memory availability cache
+    public List<OfficeHourSlotDTO> getOfficeHours(Integer staffMemberId) {
+        return officeHourAvailabilityCache.getUpcoming(staffMemberId);
+    }
+
+    // Staff with at least one free slot left this week
+    public List<StaffFreeSlotsDTO> getStaffWithFreeSlotsThisWeek() {
+        return officeHourAvailabilityCache.getFreeThisWeek();
     }
 
-    // Booking method - returns OfficeHourSlotDTO
+    // Booking method - returns OfficeHourSlotDTO.
+    // The slot is taken with a conditional UPDATE (status must still be AVAILABLE), so concurrent bookers of the
+    // same slot get exactly one winner while bookings of other slots never wait on each other.
+    @Transactional
     public OfficeHourSlotDTO bookOfficeHourSlot(Integer slotId, String purpose) {
         Student currentStudent = getCurrentStudent();
         if (currentStudent == null) {
@@ -200,27 +261,36 @@ public class StaffDirectoryService {
         }
 
         // Check if slot is in the future
-        if (slot.getStartTime().isBefore(LocalDateTime.now())) {
+        LocalDateTime now = LocalDateTime.now();
+        if (slot.getStartTime().isBefore(now)) {
             throw new RuntimeException("Cannot book past time slots");
         }
 
-        // Check if student already has a booking at this time with same staff member
-        List<OfficeHourSlot> studentBookings = officeHourSlotRepository.findByBookedBy_UserId(currentStudent.getUserId());
-        boolean hasConflict = studentBookings.stream()
-                .anyMatch(booking ->
-                        booking.getStartTime().toLocalDate().equals(slot.getStartTime().toLocalDate()) &&
-                                booking.getStaffMember().getUserId().equals(slot.getStaffMember().getUserId())
-                );
-
-        if (hasConflict) {
-            throw new RuntimeException("You already have a booking with this staff member for this date");
+        // Take the slot atomically, together with the one-booking-per-staff-member-per-day rule;
+        // only one concurrent booker can succeed
+        LocalDateTime dayStart = slot.getStartTime().toLocalDate().atStartOfDay();
+        if (officeHourSlotRepository.tryBookSlot(slotId, currentStudent, purpose, now,
+                dayStart, dayStart.plusDays(1)) == 0) {
+            // Only to pick the message; the decision was made by the UPDATE
+            boolean hasConflict = officeHourSlotRepository.existsStudentBookingWithStaff(
+                    currentStudent.getUserId(),
+                    slot.getStaffMember().getUserId(),
+                    dayStart,
+                    dayStart.plusDays(1));
+            if (hasConflict) {
+                throw new RuntimeException("You already have a booking with this staff member for this date");
+            }
+            throw new RuntimeException("This time slot is no longer available");
         }
 
-        slot.setBookedBy(currentStudent);
-        slot.setPurpose(purpose);
-        slot.setStatus(OfficeHourSlot.SlotStatus.BOOKED);
+        // The UPDATE bypassed the persistence context, so describe the booked slot directly
+        officeHourAvailabilityCache.slotsChanged(slot.getStaffMember().getUserId());
 
-        OfficeHourSlot savedSlot = officeHourSlotRepository.save(slot);
-        return convertToOfficeHourSlotDTO(savedSlot, savedSlot.getStaffMember());
+        OfficeHourSlotDTO dto = OfficeHourAvailabilityCache.toSlotDTO(slot, slot.getStaffMember());
+        dto.setStudentName(currentStudent.getFirstName() + " " + currentStudent.getLastName());
+        dto.setPurpose(purpose);
+        dto.setStatus(OfficeHourSlot.SlotStatus.BOOKED.toString());
+        dto.setBookable(false);
+        return dto;
     }
 }
\ No newline at end of file
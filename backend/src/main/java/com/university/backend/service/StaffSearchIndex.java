@@ -0,0 +1,339 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.StaffDirectoryRowDTO;
+import com.university.backend.repository.StaffMemberRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process search index over staff first name, last name, full name and account email.
+ * Queries of three or more characters match anywhere in a field (like the old LIKE '%term%') using
+ * trigram postings, verified against the field; shorter queries match word prefixes by walking the
+ * entries in directory order, so a page stops as soon as it is full. Loaded on first use, then kept
+ * current incrementally: account changes mark a user as changed after commit, and pending users are
+ * reloaded in one query before the next search. Changes made on other nodes are only seen through
+ * the periodic full rebuild.
+ */
+@Service
+public class StaffSearchIndex {
+
+    static final Comparator<Entry> DIRECTORY_ORDER = Comparator
+            .comparing((Entry entry) -> entry.row.getLastName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(entry -> entry.row.getFirstName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(entry -> entry.row.getUserId());
+
+    // SQL Server allows ~2100 parameters per statement
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+    private static final long REBUILD_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final StaffMemberRepository staffMemberRepository;
+
+    // Guards the postings; reloadLock serializes every load, rebuild and pending reload
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Postings postings = new Postings();
+    private final ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean loaded;
+    private volatile long loadedAt;
+
+    public StaffSearchIndex(StaffMemberRepository staffMemberRepository) {
+        this.staffMemberRepository = staffMemberRepository;
+    }
+
+    /**
+     * Matches for the query in directory order, strictly after the cursor, at most limit entries.
+     * staffType is "Professor", "Teaching Assistant" or null for all staff.
+     */
+    List<Entry> search(String query, String staffType, StaffDirectoryCursor after, int limit) {
+        ensureFresh();
+        applyPending();
+
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Entry cursorEntry = after == null ? null : new Entry(
+                new StaffDirectoryRowDTO(after.userId, after.firstName, after.lastName, null, null, null, null));
+
+        lock.readLock().lock();
+        try {
+            return normalized.length() < 3
+                    ? prefixPage(normalized, staffType, cursorEntry, limit)
+                    : substringPage(normalized, staffType, cursorEntry, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a user for reindexing once the current transaction commits (immediately if there is none).
+     * Users that are not staff (or no longer exist) are simply dropped from the index.
+     */
+    public void markChanged(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(userId);
+                }
+            });
+        } else {
+            pending.add(userId);
+        }
+    }
+
+    // Short queries match most of the directory, so walk it in order and stop once the page is full
+    private List<Entry> prefixPage(String query, String staffType, Entry cursorEntry, int limit) {
+        NavigableSet<Entry> tail = cursorEntry == null
+                ? postings.ordered
+                : postings.ordered.tailSet(cursorEntry, false);
+
+        List<Entry> page = new ArrayList<>(limit);
+        for (Entry entry : tail) {
+            if (entry.matches(query) && (staffType == null || staffType.equals(entry.row.getStaffType()))) {
+                page.add(entry);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    // Longer queries have few candidates; keep only the first limit of them in a bounded heap
+    private List<Entry> substringPage(String query, String staffType, Entry cursorEntry, int limit) {
+        PriorityQueue<Entry> firstMatches = new PriorityQueue<>(limit + 1, DIRECTORY_ORDER.reversed());
+        for (Integer userId : candidates(query)) {
+            Entry entry = postings.entries.get(userId);
+            if (entry == null || !entry.matches(query)) {
+                continue;
+            }
+            if (staffType != null && !staffType.equals(entry.row.getStaffType())) {
+                continue;
+            }
+            if (cursorEntry != null && DIRECTORY_ORDER.compare(entry, cursorEntry) <= 0) {
+                continue;
+            }
+            firstMatches.add(entry);
+            if (firstMatches.size() > limit) {
+                firstMatches.poll();
+            }
+        }
+
+        List<Entry> page = new ArrayList<>(firstMatches);
+        page.sort(DIRECTORY_ORDER);
+        return page;
+    }
+
+    private Collection<Integer> candidates(String query) {
+        // Intersect postings, smallest first
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : trigramsOf(query)) {
+            Set<Integer> ids = postings.trigrams.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Loads the index on first use and rebuilds it from scratch once it is older than the rebuild
+     * interval. A stale rebuild runs on one searching thread; the others keep using the current index.
+     */
+    private void ensureFresh() {
+        if (loaded && System.nanoTime() - loadedAt < REBUILD_INTERVAL_NANOS) {
+            return;
+        }
+        if (loaded) {
+            if (!reloadLock.tryLock()) {
+                return;
+            }
+        } else {
+            reloadLock.lock();
+        }
+        try {
+            if (loaded && System.nanoTime() - loadedAt < REBUILD_INTERVAL_NANOS) {
+                return;
+            }
+            // Users queued before this point are covered by the full load; later ones stay queued
+            long startedAt = System.nanoTime();
+            Postings fresh = new Postings();
+            for (StaffDirectoryRowDTO row : staffMemberRepository.findDirectoryRows()) {
+                fresh.add(new Entry(row));
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadedAt = startedAt;
+            loaded = true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads queued users. Draining, reading and applying happen under reloadLock, so a reload that
+     * read a user's older row can never be applied after one that read a newer row.
+     */
+    private void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            Set<Integer> changed = new LinkedHashSet<>();
+            Integer userId;
+            while ((userId = pending.poll()) != null) {
+                changed.add(userId);
+            }
+
+            List<Integer> ids = new ArrayList<>(changed);
+            for (int from = 0; from < ids.size(); from += RELOAD_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK_SIZE));
+                List<StaffDirectoryRowDTO> rows = staffMemberRepository.findDirectoryRowsByIds(chunk);
+
+                lock.writeLock().lock();
+                try {
+                    for (Integer id : chunk) {
+                        postings.remove(id);
+                    }
+                    for (StaffDirectoryRowDTO row : rows) {
+                        postings.add(new Entry(row));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * The index structures: entries by user, trigram postings and all entries in directory order.
+     * Mutated only under the write lock (or before being published by a rebuild).
+     */
+    private static class Postings {
+        final Map<Integer, Entry> entries = new HashMap<>();
+        final Map<String, Set<Integer>> trigrams = new HashMap<>();
+        final TreeSet<Entry> ordered = new TreeSet<>(DIRECTORY_ORDER);
+
+        void add(Entry entry) {
+            Integer userId = entry.row.getUserId();
+            remove(userId);
+            entries.put(userId, entry);
+            ordered.add(entry);
+            for (String gram : entry.trigrams) {
+                trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(userId);
+            }
+        }
+
+        void remove(Integer userId) {
+            Entry old = entries.remove(userId);
+            if (old == null) {
+                return;
+            }
+            ordered.remove(old);
+            for (String gram : old.trigrams) {
+                removePosting(trigrams, gram, userId);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> postings, String key, Integer userId) {
+        Set<Integer> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(userId);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigramsOf(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * An indexed staff member: the directory row plus its normalized search fields.
+     */
+    static class Entry {
+        final StaffDirectoryRowDTO row;
+        final String[] fields;
+        final Set<String> trigrams = new HashSet<>();
+
+        Entry(StaffDirectoryRowDTO row) {
+            this.row = row;
+            String first = normalize(row.getFirstName());
+            String last = normalize(row.getLastName());
+            this.fields = new String[]{first, last, (first + " " + last).trim(), normalize(row.getEmail())};
+
+            for (String field : fields) {
+                trigrams.addAll(trigramsOf(field));
+            }
+        }
+
+        boolean matches(String query) {
+            for (String field : fields) {
+                if (query.length() < 3 ? startsWord(field, query) : field.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean startsWord(String field, String query) {
+            int index = field.indexOf(query);
+            while (index >= 0) {
+                if (index == 0 || !Character.isLetterOrDigit(field.charAt(index - 1))) {
+                    return true;
+                }
+                index = field.indexOf(query, index + 1);
+            }
+            return false;
+        }
+    }
+}
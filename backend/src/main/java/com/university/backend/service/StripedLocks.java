@@ -0,0 +1,26 @@
+package com.university.backend.service;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by key, so work on the same key is serialized in-process
+ * while unrelated keys (e.g. different rooms) rarely contend.
+ */
+class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    StripedLocks(int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    ReentrantLock lockFor(Object key) {
+        int hash = Objects.hashCode(key);
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
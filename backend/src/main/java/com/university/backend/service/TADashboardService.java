@@ -1,121 +1,64 @@
 package com.university.backend.service;
 
-import com.university.backend.model.TA;
+import com.university.backend.dto.OfficeHourCountsDTO;
+import com.university.backend.dto.TADashboardDTO;
+import com.university.backend.repository.OfficeHourSlotRepository;
 import com.university.backend.repository.TARepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 public class TADashboardService {
 
     private final TARepository taRepository;
+    private final OfficeHourSlotRepository officeHourSlotRepository;
 
     @Autowired
-    public TADashboardService(TARepository taRepository) {
+    public TADashboardService(TARepository taRepository, OfficeHourSlotRepository officeHourSlotRepository) {
         this.taRepository = taRepository;
+        this.officeHourSlotRepository = officeHourSlotRepository;
     }
 
+    /**
+     * Dashboard for a TA, or empty if the user is not a TA.
+     * Built from a profile projection and COUNT queries, so the cost does not grow with
+     * the number of courses or office hour slots the TA has.
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getTADashboardDataAsMap(Integer userId) {
-        Map<String, Object> response = new HashMap<>();
-
-        try {
-            System.out.println("Looking for TA with userId: " + userId);
-
-            // Find TA by userId
-            TA ta = taRepository.findByUserId(userId).orElse(null);
-
-            if (ta != null) {
-                System.out.println("TA found: " + ta.getFirstName() + " " + ta.getLastName());
-                System.out.println("TA ID: " + ta.getUserId());
-
-                // Basic TA info
-                response.put("userId", ta.getUserId());
-                response.put("firstName", ta.getFirstName());
-                response.put("lastName", ta.getLastName());
-                response.put("phone", ta.getPhone());
-                response.put("salary", ta.getSalary());
-
-                // Department info
-                if (ta.getDepartment() != null) {
-                    response.put("departmentName", ta.getDepartment().getDepartmentName());
-                } else {
-                    response.put("departmentName", "Not Assigned");
-                }
-                response.put("accountType", "TA");
-
-                // Count assigned courses - use the ManyToMany relationship
-                int assignedCourses = 0;
-                try {
-                    if (ta.getAssistingCourses() != null) {
-                        assignedCourses = ta.getAssistingCourses().size();
-                        System.out.println("Number of assisting courses: " + assignedCourses);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error getting assisting courses: " + e.getMessage());
-                    assignedCourses = 0;
-                }
-                response.put("assignedCourses", assignedCourses);
+    public Optional<TADashboardDTO> getTADashboard(Integer userId) {
+        Optional<TADashboardDTO> profile = taRepository.findDashboardProfile(userId);
+        if (profile.isEmpty()) {
+            return Optional.empty();
+        }
 
-                // Count office hours
-                int officeHours = 0;
-                try {
-                    if (ta.getOfficeHourSlots() != null) {
-                        officeHours = ta.getOfficeHourSlots().size();
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error getting office hours: " + e.getMessage());
-                    officeHours = 0;
-                }
-                response.put("officeHours", officeHours);
+        TADashboardDTO dashboard = profile.get();
+        if (dashboard.getDepartmentName() == null) {
+            dashboard.setDepartmentName("Not Assigned");
+        }
 
-                // Additional debug info
-                response.put("success", true);
-                response.put("message", "TA data retrieved successfully");
+        // Count assigned courses without loading the ManyToMany collection
+        dashboard.setAssignedCourses((int) taRepository.countAssistingCourses(userId));
 
-                return response;
-            } else {
-                System.out.println("No TA found for userId: " + userId);
-                response.put("success", false);
-                response.put("error", "TA not found in database");
-                response.put("userId", userId);
-                return response;
-            }
+        // Count office hours (upcoming vs past, booked vs available) in one aggregate
+        OfficeHourCountsDTO counts = officeHourSlotRepository.countSlotsByStaff(userId, LocalDateTime.now());
+        dashboard.setOfficeHours(counts.getTotal().intValue());
+        dashboard.setUpcomingOfficeHours(counts.getUpcoming().intValue());
+        dashboard.setPastOfficeHours((int) (counts.getTotal() - counts.getUpcoming()));
+        dashboard.setBookedOfficeHours(counts.getBooked().intValue());
+        dashboard.setAvailableOfficeHours(counts.getAvailable().intValue());
 
-        } catch (Exception e) {
-            System.err.println("Error in TAService.getTADashboardDataAsMap: " + e.getMessage());
-            e.printStackTrace();
-            return createErrorResponse(userId, e);
-        }
-    }
+        dashboard.setSuccess(true);
+        dashboard.setMessage("TA data retrieved successfully");
 
-    private Map<String, Object> createErrorResponse(Integer userId, Exception e) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("userId", userId);
-        errorResponse.put("firstName", "Error");
-        errorResponse.put("lastName", "Loading");
-        errorResponse.put("email", "error@university.edu");
-        errorResponse.put("departmentName", "Error Department");
-        errorResponse.put("assignedCourses", 0);
-        errorResponse.put("officeHours", 0);
-        errorResponse.put("accountType", "TA");
-        errorResponse.put("success", false);
-        errorResponse.put("error", e.getMessage());
-        errorResponse.put("debug", "Check backend logs for details");
-        return errorResponse;
+        return Optional.of(dashboard);
     }
 
     // Simple method to check if TA exists
     public boolean doesTAExist(Integer userId) {
-        try {
-            return taRepository.findByUserId(userId).isPresent();
-        } catch (Exception e) {
-            System.err.println("Error checking TA existence: " + e.getMessage());
-            return false;
-        }
+        return taRepository.existsById(userId);
     }
-}
\ No newline at end of file
+}
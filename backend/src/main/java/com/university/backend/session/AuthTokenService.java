@@ -0,0 +1,229 @@
+package com.university.backend.session;
+
+import com.university.backend.dto.LoginPrincipalDTO;
+import com.university.backend.repository.AccountRepository;
+import jakarta.servlet.http.Cookie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues and verifies the compact signed tokens used when session.store = token.
+ * A token is base64url(payload) "." base64url(HMAC-SHA256(payload)); the payload is a fixed binary
+ * layout (version, user id, account id, expiry and login time in epoch seconds, role), so a typical
+ * token is about 90 characters and verifying it is one HMAC over ~35 bytes with no I/O.
+ * Refreshing keeps the original login time and is refused past auth.token.max-session-hours, and only
+ * happens after the account is re-read and found still active with the same role. A deactivated,
+ * deleted or downgraded account therefore loses access at its next refresh (within half a TTL), and
+ * no token outlives the maximum session age.
+ * All nodes must share auth.token.secret (at least 32 bytes); startup fails without one, since a
+ * per-process key would make every node reject the tokens issued by the others.
+ */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "token")
+public class AuthTokenService {
+
+    public static final String COOKIE_NAME = "UMS_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 2;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 4 + 4 + 8 + 8;
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final long maxSessionSeconds;
+    private final AccountRepository accountRepository;
+    private final ThreadLocal<Mac> macs;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    public AuthTokenService(@Value("${auth.token.secret:}") String secret,
+                            @Value("${auth.token.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${auth.token.max-session-hours:12}") long maxSessionHours,
+                            AccountRepository accountRepository) {
+        byte[] keyBytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (secret == null || secret.isBlank() || keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("session.store=token requires auth.token.secret of at least "
+                    + MIN_SECRET_BYTES + " bytes, shared by every node");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = TimeUnit.MINUTES.toSeconds(ttlMinutes);
+        this.maxSessionSeconds = TimeUnit.HOURS.toSeconds(maxSessionHours);
+        this.accountRepository = accountRepository;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Token for a fresh login.
+     */
+    public String issue(Integer userId, String role, Integer accountId) {
+        return issue(userId, role, accountId, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Replacement for a token past half its lifetime, or null if the caller must log in again: the
+     * maximum session age is reached, or the account is gone, inactive or no longer has the token's role.
+     * Costs one indexed account lookup, at most once per half TTL per client.
+     */
+    public String refresh(RequestPrincipal principal) {
+        long now = System.currentTimeMillis() / 1000;
+        if (now - principal.getAuthTime() >= maxSessionSeconds) {
+            revoked.increment();
+            return null;
+        }
+        LoginPrincipalDTO account = principal.getAccountId() == null ? null
+                : accountRepository.findLoginPrincipalByAccountId(principal.getAccountId()).orElse(null);
+        if (account == null || !Boolean.TRUE.equals(account.getActive())
+                || !Objects.equals(account.getRole(), principal.getRole())) {
+            revoked.increment();
+            return null;
+        }
+        refreshed.increment();
+        return issue(principal.getUserId(), principal.getRole(), principal.getAccountId(), principal.getAuthTime());
+    }
+
+    private String issue(Integer userId, String role, Integer accountId, long authTime) {
+        // A refreshed token never extends past the maximum session age
+        long expiresAt = Math.min(System.currentTimeMillis() / 1000 + ttlSeconds, authTime + maxSessionSeconds);
+        byte[] roleBytes = role == null ? new byte[0] : role.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer payload = ByteBuffer.allocate(FIXED_PAYLOAD_BYTES + roleBytes.length);
+        payload.put(VERSION);
+        payload.putInt(userId == null ? NULL_INT : userId);
+        payload.putInt(accountId == null ? NULL_INT : accountId);
+        payload.putLong(expiresAt);
+        payload.putLong(authTime);
+        payload.put(roleBytes);
+
+        byte[] bytes = payload.array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        issued.increment();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+    }
+
+    /**
+     * HttpOnly cookie carrying a token; pass null to clear the cookie.
+     */
+    public Cookie cookie(String token) {
+        Cookie cookie = new Cookie(COOKIE_NAME, token == null ? "" : token);
+        cookie.setHttpOnly(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(token == null ? 0 : (int) ttlSeconds);
+        return cookie;
+    }
+
+    /**
+     * The principal carried by a token, or null if it is malformed, tampered with or expired.
+     */
+    public RequestPrincipal verify(String token) {
+        long startedAt = System.nanoTime();
+        try {
+            RequestPrincipal principal = parse(token);
+            if (principal == null) {
+                rejected.increment();
+            } else {
+                verified.increment();
+            }
+            return principal;
+        } finally {
+            verifyNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long checks = verified.sum() + rejected.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("store", "token");
+        metrics.put("ttlMinutes", TimeUnit.SECONDS.toMinutes(ttlSeconds));
+        metrics.put("maxSessionHours", TimeUnit.SECONDS.toHours(maxSessionSeconds));
+        metrics.put("issued", issued.sum());
+        metrics.put("verified", verified.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("refreshed", refreshed.sum());
+        metrics.put("revoked", revoked.sum());
+        metrics.put("avgVerifyMicros", checks == 0 ? 0.0 : verifyNanos.sum() / 1_000.0 / checks);
+        return metrics;
+    }
+
+    private RequestPrincipal parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length < FIXED_PAYLOAD_BYTES || payload[0] != VERSION
+                || !MessageDigest.isEqual(signature, sign(payload))) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        int userId = buffer.getInt();
+        int accountId = buffer.getInt();
+        long expiresAt = buffer.getLong();
+        long authTime = buffer.getLong();
+        long now = System.currentTimeMillis() / 1000;
+        if (now >= expiresAt || now - authTime >= maxSessionSeconds) {
+            return null;
+        }
+        String role = payload.length == FIXED_PAYLOAD_BYTES ? null : new String(
+                Arrays.copyOfRange(payload, FIXED_PAYLOAD_BYTES, payload.length), StandardCharsets.UTF_8);
+
+        return new RequestPrincipal(
+                userId == NULL_INT ? null : userId,
+                role,
+                accountId == NULL_INT ? null : accountId,
+                expiresAt,
+                authTime);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.university.backend.session;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compact on-heap session store. Sessions live in fixed-size slots of preallocated primitive arrays
+ * (no per-session objects or map entries); the session id encodes the slot index plus a 128-bit random
+ * token, so a lookup is an array access and a token comparison. Roles are interned to a one-byte code.
+ * Sessions idle longer than the timeout are evicted by a background sweep (and lazily on access).
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int LOCK_STRIPES = 64;
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    // Token (2 longs) + user/account ids (2 ints) + role code (1 byte) + timestamps (2 longs) + username reference
+    static final int FIXED_BYTES_PER_SESSION = 2 * 8 + 2 * 4 + 1 + 2 * 8 + 4;
+
+    private final int capacity;
+    private final long idleTimeoutMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    // Slot columns; a slot is free when both token halves are 0
+    private final long[] tokenHi;
+    private final long[] tokenLo;
+    private final int[] userIds;
+    private final int[] accountIds;
+    private final byte[] roles;
+    private final long[] createdAt;
+    private final long[] lastAccess;
+    private final String[] usernames;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Object freeLock = new Object();
+    private final int[] freeSlots;
+    private int freeTop;
+
+    // Role interning: code 0 means no role
+    private final ConcurrentHashMap<String, Byte> roleCodes = new ConcurrentHashMap<>();
+    private final String[] roleNames = new String[Byte.MAX_VALUE + 1];
+    private final AtomicInteger nextRoleCode = new AtomicInteger(1);
+
+    private final AtomicInteger live = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private ScheduledExecutorService sweeper;
+
+    public InMemorySessionStore(int capacity, long idleTimeoutMinutes) {
+        this.capacity = capacity;
+        this.idleTimeoutMillis = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+
+        tokenHi = new long[capacity];
+        tokenLo = new long[capacity];
+        userIds = new int[capacity];
+        accountIds = new int[capacity];
+        roles = new byte[capacity];
+        createdAt = new long[capacity];
+        lastAccess = new long[capacity];
+        usernames = new String[capacity];
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        // Hand out low slots first
+        freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeTop = capacity;
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    @Override
+    public String create(SessionRecord record) {
+        int slot = allocateSlot();
+        if (slot < 0) {
+            evictIdle();
+            slot = allocateSlot();
+        }
+        if (slot < 0) {
+            rejected.increment();
+            throw new IllegalStateException("Session capacity reached. Please try again later");
+        }
+
+        long hi;
+        long lo;
+        do {
+            hi = random.nextLong();
+            lo = random.nextLong();
+        } while (hi == 0 && lo == 0);
+
+        synchronized (lockFor(slot)) {
+            tokenHi[slot] = hi;
+            tokenLo[slot] = lo;
+            write(slot, record);
+            createdAt[slot] = record.getCreatedAt();
+            lastAccess[slot] = System.currentTimeMillis();
+        }
+        live.incrementAndGet();
+        created.increment();
+        return Integer.toString(slot, 36) + "." + toHex(hi) + toHex(lo);
+    }
+
+    @Override
+    public SessionRecord find(String sessionId) {
+        int slot = slotOf(sessionId);
+        if (slot < 0) {
+            return null;
+        }
+        long hi = hiOf(sessionId);
+        long lo = loOf(sessionId);
+        long now = System.currentTimeMillis();
+
+        synchronized (lockFor(slot)) {
+            if (tokenHi[slot] != hi || tokenLo[slot] != lo || (hi == 0 && lo == 0)) {
+                return null;
+            }
+            if (now - lastAccess[slot] > idleTimeoutMillis) {
+                clear(slot);
+                evicted.increment();
+                return null;
+            }
+            lastAccess[slot] = now;
+            return new SessionRecord(
+                    userIds[slot] == NULL_INT ? null : userIds[slot],
+                    roleNames[roles[slot]],
+                    accountIds[slot] == NULL_INT ? null : accountIds[slot],
+                    usernames[slot],
+                    createdAt[slot],
+                    now);
+        }
+    }
+
+    @Override
+    public void update(String sessionId, SessionRecord record) {
+        int slot = slotOf(sessionId);
+        if (slot < 0) {
+            return;
+        }
+        long hi = hiOf(sessionId);
+        long lo = loOf(sessionId);
+
+        synchronized (lockFor(slot)) {
+            if (tokenHi[slot] == hi && tokenLo[slot] == lo && !(hi == 0 && lo == 0)) {
+                write(slot, record);
+                lastAccess[slot] = System.currentTimeMillis();
+            }
+        }
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        int slot = slotOf(sessionId);
+        if (slot < 0) {
+            return;
+        }
+        long hi = hiOf(sessionId);
+        long lo = loOf(sessionId);
+
+        synchronized (lockFor(slot)) {
+            if (tokenHi[slot] == hi && tokenLo[slot] == lo && !(hi == 0 && lo == 0)) {
+                clear(slot);
+                deleted.increment();
+            }
+        }
+    }
+
+    @Override
+    public int evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        int removed = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            synchronized (lockFor(slot)) {
+                boolean used = tokenHi[slot] != 0 || tokenLo[slot] != 0;
+                if (used && lastAccess[slot] < cutoff) {
+                    clear(slot);
+                    removed++;
+                }
+            }
+        }
+        evicted.add(removed);
+        return removed;
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        // Usernames are the only variable-size part; estimate them as compact (Latin-1) strings
+        long usernameBytes = 0;
+        int counted = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            String username = usernames[slot];
+            if (username != null) {
+                usernameBytes += 40 + username.length();
+                counted++;
+            }
+        }
+        int liveSessions = live.get();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("store", "memory");
+        metrics.put("liveSessions", liveSessions);
+        metrics.put("capacity", capacity);
+        metrics.put("fixedBytesPerSession", FIXED_BYTES_PER_SESSION);
+        metrics.put("avgBytesPerSession", FIXED_BYTES_PER_SESSION + (counted == 0 ? 0 : usernameBytes / counted));
+        metrics.put("reservedBytes", (long) capacity * FIXED_BYTES_PER_SESSION + (long) capacity * 4);
+        metrics.put("created", created.sum());
+        metrics.put("deleted", deleted.sum());
+        metrics.put("evicted", evicted.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("idleTimeoutMinutes", TimeUnit.MILLISECONDS.toMinutes(idleTimeoutMillis));
+        return metrics;
+    }
+
+    // Caller holds the slot's lock
+    private void write(int slot, SessionRecord record) {
+        userIds[slot] = record.getUserId() == null ? NULL_INT : record.getUserId();
+        accountIds[slot] = record.getAccountId() == null ? NULL_INT : record.getAccountId();
+        roles[slot] = roleCode(record.getRole());
+        usernames[slot] = record.getUsername();
+    }
+
+    // Caller holds the slot's lock
+    private void clear(int slot) {
+        tokenHi[slot] = 0;
+        tokenLo[slot] = 0;
+        userIds[slot] = NULL_INT;
+        accountIds[slot] = NULL_INT;
+        roles[slot] = 0;
+        usernames[slot] = null;
+        live.decrementAndGet();
+        synchronized (freeLock) {
+            freeSlots[freeTop++] = slot;
+        }
+    }
+
+    private int allocateSlot() {
+        synchronized (freeLock) {
+            return freeTop == 0 ? -1 : freeSlots[--freeTop];
+        }
+    }
+
+    private byte roleCode(String role) {
+        if (role == null) {
+            return 0;
+        }
+        return roleCodes.computeIfAbsent(role, name -> {
+            int code = nextRoleCode.getAndIncrement();
+            if (code > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct roles for the in-memory session store");
+            }
+            roleNames[code] = name;
+            return (byte) code;
+        });
+    }
+
+    private Object lockFor(int slot) {
+        return locks[slot % LOCK_STRIPES];
+    }
+
+    // Session id layout: <slot base 36>.<16 hex digits hi><16 hex digits lo>
+    private int slotOf(String sessionId) {
+        if (sessionId == null) {
+            return -1;
+        }
+        int dot = sessionId.indexOf('.');
+        if (dot <= 0 || sessionId.length() != dot + 33) {
+            return -1;
+        }
+        try {
+            int slot = Integer.parseInt(sessionId, 0, dot, 36);
+            return slot >= 0 && slot < capacity ? slot : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long hiOf(String sessionId) {
+        int dot = sessionId.indexOf('.');
+        return parseHex(sessionId, dot + 1);
+    }
+
+    private static long loOf(String sessionId) {
+        int dot = sessionId.indexOf('.');
+        return parseHex(sessionId, dot + 17);
+    }
+
+    private static long parseHex(String value, int from) {
+        try {
+            return Long.parseUnsignedLong(value, from, from + 16, 16);
+        } catch (NumberFormatException e) {
+            // Never matches a live slot
+            return 0;
+        }
+    }
+
+    private static String toHex(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
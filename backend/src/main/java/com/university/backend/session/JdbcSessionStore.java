@@ -0,0 +1,171 @@
+package com.university.backend.session;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Session store backed by the app_sessions table, so sessions survive restarts and are shared between
+ * nodes. One narrow row per session (ids, role, username, two BIGINT timestamps). The last-access time
+ * is written at most once a minute per session, so ordinary reads cost one primary key lookup.
+ */
+public class JdbcSessionStore implements SessionStore {
+
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+    private static final int TOKEN_BYTES = 24;
+
+    private static final String CREATE_TABLE_SQL =
+            "IF OBJECT_ID(N'app_sessions', N'U') IS NULL " +
+            "CREATE TABLE app_sessions (" +
+            "session_id VARCHAR(40) NOT NULL PRIMARY KEY, " +
+            "user_id INT NULL, " +
+            "account_id INT NULL, " +
+            "user_role VARCHAR(20) NULL, " +
+            "username NVARCHAR(255) NULL, " +
+            "created_at BIGINT NOT NULL, " +
+            "last_access BIGINT NOT NULL)";
+
+    private static final String SELECT_SQL =
+            "SELECT user_id, account_id, user_role, username, created_at, last_access " +
+            "FROM app_sessions WHERE session_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long idleTimeoutMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    private ScheduledExecutorService sweeper;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate, long idleTimeoutMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleTimeoutMillis = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+    }
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                evictIdle();
+            } catch (RuntimeException e) {
+                System.err.println("Session sweep failed: " + e.getMessage());
+            }
+        }, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    @Override
+    public String create(SessionRecord record) {
+        byte[] token = new byte[TOKEN_BYTES];
+        random.nextBytes(token);
+        String sessionId = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update(
+                "INSERT INTO app_sessions (session_id, user_id, account_id, user_role, username, created_at, last_access) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                sessionId, record.getUserId(), record.getAccountId(), record.getRole(), record.getUsername(),
+                record.getCreatedAt(), now);
+        created.increment();
+        return sessionId;
+    }
+
+    @Override
+    public SessionRecord find(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        List<SessionRecord> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new SessionRecord(
+                (Integer) rs.getObject("user_id"),
+                rs.getString("user_role"),
+                (Integer) rs.getObject("account_id"),
+                rs.getString("username"),
+                rs.getLong("created_at"),
+                rs.getLong("last_access")), sessionId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        SessionRecord record = rows.get(0);
+        long now = System.currentTimeMillis();
+        if (now - record.getLastAccessedAt() > idleTimeoutMillis) {
+            if (jdbcTemplate.update("DELETE FROM app_sessions WHERE session_id = ?", sessionId) > 0) {
+                evicted.increment();
+            }
+            return null;
+        }
+        if (now - record.getLastAccessedAt() >= TOUCH_INTERVAL_MILLIS) {
+            jdbcTemplate.update("UPDATE app_sessions SET last_access = ? WHERE session_id = ?", now, sessionId);
+        }
+        return record;
+    }
+
+    @Override
+    public void update(String sessionId, SessionRecord record) {
+        jdbcTemplate.update(
+                "UPDATE app_sessions SET user_id = ?, account_id = ?, user_role = ?, username = ?, last_access = ? " +
+                "WHERE session_id = ?",
+                record.getUserId(), record.getAccountId(), record.getRole(), record.getUsername(),
+                System.currentTimeMillis(), sessionId);
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        if (jdbcTemplate.update("DELETE FROM app_sessions WHERE session_id = ?", sessionId) > 0) {
+            deleted.increment();
+        }
+    }
+
+    @Override
+    public int evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        int removed = jdbcTemplate.update("DELETE FROM app_sessions WHERE last_access < ?", cutoff);
+        evicted.add(removed);
+        return removed;
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS live_sessions, " +
+                "AVG(CAST(DATALENGTH(session_id) + ISNULL(DATALENGTH(user_role), 0) + " +
+                "ISNULL(DATALENGTH(username), 0) + 24 AS BIGINT)) AS avg_row_bytes " +
+                "FROM app_sessions");
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("store", "jdbc");
+        metrics.put("liveSessions", row.get("live_sessions"));
+        metrics.put("avgBytesPerSession", row.get("avg_row_bytes") == null ? 0 : row.get("avg_row_bytes"));
+        metrics.put("created", created.sum());
+        metrics.put("deleted", deleted.sum());
+        metrics.put("evicted", evicted.sum());
+        metrics.put("idleTimeoutMinutes", TimeUnit.MILLISECONDS.toMinutes(idleTimeoutMillis));
+        return metrics;
+    }
+}
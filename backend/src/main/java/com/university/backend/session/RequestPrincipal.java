@@ -0,0 +1,40 @@
+package com.university.backend.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+
+/**
+ * The authenticated caller of the current request, as carried by a signed token (session.store = token).
+ * TokenAuthenticationFilter stores it as a request attribute; nothing is kept between requests.
+ */
+@Getter
+public final class RequestPrincipal {
+
+    public static final String ATTRIBUTE = RequestPrincipal.class.getName();
+
+    private final Integer userId;
+    private final String role;
+    private final Integer accountId;
+    private final long expiresAt;
+    // Epoch seconds of the login that started this chain of tokens; refreshes keep it
+    private final long authTime;
+
+    public RequestPrincipal(Integer userId, String role, Integer accountId, long expiresAt, long authTime) {
+        this.userId = userId;
+        this.role = role;
+        this.accountId = accountId;
+        this.expiresAt = expiresAt;
+        this.authTime = authTime;
+    }
+
+    public boolean hasRole(String expected) {
+        return expected.equals(role);
+    }
+
+    /**
+     * The principal of the request, or null if it carried no valid token.
+     */
+    public static RequestPrincipal from(HttpServletRequest request) {
+        return (RequestPrincipal) request.getAttribute(ATTRIBUTE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.university.backend.session;
+
+import lombok.Getter;
+
+/**
+ * The authorization state of one session: the four attributes controllers read from HttpSession
+ * ("userID", "userRole", "accountID", "user") plus timestamps. Immutable; stores keep it in their own layout.
+ */
+@Getter
+public final class SessionRecord {
+
+    public static final String USER_ID = "userID";
+    public static final String USER_ROLE = "userRole";
+    public static final String ACCOUNT_ID = "accountID";
+    public static final String USERNAME = "user";
+
+    private final Integer userId;
+    private final String role;
+    private final Integer accountId;
+    private final String username;
+    private final long createdAt;
+    private final long lastAccessedAt;
+
+    public SessionRecord(Integer userId, String role, Integer accountId, String username,
+                         long createdAt, long lastAccessedAt) {
+        this.userId = userId;
+        this.role = role;
+        this.accountId = accountId;
+        this.username = username;
+        this.createdAt = createdAt;
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
+    public static SessionRecord empty(long now) {
+        return new SessionRecord(null, null, null, null, now, now);
+    }
+
+    public static boolean isSupported(String name) {
+        return USER_ID.equals(name) || USER_ROLE.equals(name) || ACCOUNT_ID.equals(name) || USERNAME.equals(name);
+    }
+
+    public Object get(String name) {
+        switch (name) {
+            case USER_ID:
+                return userId;
+            case USER_ROLE:
+                return role;
+            case ACCOUNT_ID:
+                return accountId;
+            case USERNAME:
+                return username;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Copy with one attribute changed (null removes it).
+     */
+    public SessionRecord with(String name, Object value) {
+        switch (name) {
+            case USER_ID:
+                return new SessionRecord((Integer) value, role, accountId, username, createdAt, lastAccessedAt);
+            case USER_ROLE:
+                return new SessionRecord(userId, (String) value, accountId, username, createdAt, lastAccessedAt);
+            case ACCOUNT_ID:
+                return new SessionRecord(userId, role, (Integer) value, username, createdAt, lastAccessedAt);
+            case USERNAME:
+                return new SessionRecord(userId, role, accountId, (String) value, createdAt, lastAccessedAt);
+            default:
+                throw new IllegalArgumentException("Unsupported session attribute: " + name);
+        }
+    }
+}
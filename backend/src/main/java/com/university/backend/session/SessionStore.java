@@ -0,0 +1,34 @@
+package com.university.backend.session;
+
+import java.util.Map;
+
+/**
+ * Where session state lives when the servlet container's own sessions are not used
+ * (session.store = memory | jdbc). Implementations expire sessions idle for longer than their timeout.
+ */
+public interface SessionStore {
+
+    /**
+     * Stores a new session and returns its id (an unguessable token).
+     */
+    String create(SessionRecord record);
+
+    /**
+     * The session, with its last-access time refreshed, or null if unknown or expired.
+     */
+    SessionRecord find(String sessionId);
+
+    void update(String sessionId, SessionRecord record);
+
+    void delete(String sessionId);
+
+    /**
+     * Removes sessions idle longer than the timeout; returns how many were removed.
+     */
+    int evictIdle();
+
+    /**
+     * Live sessions, approximate memory per session, creations, evictions and so on.
+     */
+    Map<String, Object> getMetrics();
+}
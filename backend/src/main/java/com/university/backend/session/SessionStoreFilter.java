@@ -0,0 +1,174 @@
+package com.university.backend.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When a SessionStore is configured (session.store = memory | jdbc), serves request.getSession() from it
+ * instead of the servlet container, keyed by the UMS_SESSION cookie. With the default (servlet) this
+ * filter passes requests straight through.
+ * Buffered session changes are written before the response body starts (and before sendError /
+ * sendRedirect), not after the response has been flushed, so the client's next request, possibly on
+ * another node, always sees them. Anything changed later in the request is written when it completes.
+ */
+@Component
+public class SessionStoreFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "UMS_SESSION";
+
+    private final ObjectProvider<SessionStore> sessionStore;
+    private final int idleTimeoutSeconds;
+
+    public SessionStoreFilter(ObjectProvider<SessionStore> sessionStore,
+                              @Value("${session.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        this.sessionStore = sessionStore;
+        this.idleTimeoutSeconds = (int) TimeUnit.MINUTES.toSeconds(idleTimeoutMinutes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SessionStore store = sessionStore.getIfAvailable();
+        if (store == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        SessionRequest wrapped = new SessionRequest(request, response, store);
+        try {
+            chain.doFilter(wrapped, new SessionResponse(response, wrapped));
+        } finally {
+            wrapped.commit();
+        }
+    }
+
+    private class SessionRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletResponse response;
+        private final SessionStore store;
+        private StoreBackedSession session;
+        private boolean looked;
+
+        SessionRequest(HttpServletRequest request, HttpServletResponse response, SessionStore store) {
+            super(request);
+            this.response = response;
+            this.store = store;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session != null && !session.isInvalidated()) {
+                return session;
+            }
+
+            if (!looked) {
+                looked = true;
+                String requestedId = getRequestedSessionId();
+                SessionRecord record = requestedId == null ? null : store.find(requestedId);
+                if (record != null) {
+                    session = new StoreBackedSession(store, getServletContext(), response,
+                            idleTimeoutSeconds, requestedId, record);
+                    return session;
+                }
+            }
+
+            if (!create) {
+                return null;
+            }
+            session = new StoreBackedSession(store, getServletContext(), response, idleTimeoutSeconds, null, null);
+            return session;
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            Cookie[] cookies = getCookies();
+            if (cookies != null) {
+                for (Cookie cookie : cookies) {
+                    if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                        return cookie.getValue();
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            HttpSession current = getSession(false);
+            return current != null && !current.isNew();
+        }
+
+        void commit() {
+            if (session != null) {
+                session.commit();
+            }
+        }
+    }
+
+    // Commits the session before anything can commit the response
+    private static class SessionResponse extends HttpServletResponseWrapper {
+
+        private final SessionRequest request;
+
+        SessionResponse(HttpServletResponse response, SessionRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            request.commit();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            request.commit();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            request.commit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            request.commit();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            request.commit();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            request.commit();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.university.backend.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * HttpSession view over a SessionStore entry, so controllers keep using session.getAttribute / setAttribute.
+ * Only the four authorization attributes are supported. A new session is written to the store (and its
+ * cookie added) on the first setAttribute, so anonymous requests never create entries; later changes in
+ * the same request are buffered and written by SessionStoreFilter before the response is committed.
+ */
+class StoreBackedSession implements HttpSession {
+
+    private final SessionStore store;
+    private final ServletContext servletContext;
+    private final HttpServletResponse response;
+    private final int idleTimeoutSeconds;
+
+    private String id;
+    private SessionRecord record;
+    private final boolean isNew;
+    private boolean dirty;
+    private boolean invalidated;
+
+    StoreBackedSession(SessionStore store, ServletContext servletContext, HttpServletResponse response,
+                       int idleTimeoutSeconds, String id, SessionRecord record) {
+        this.store = store;
+        this.servletContext = servletContext;
+        this.response = response;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.id = id;
+        this.isNew = id == null;
+        this.record = record != null ? record : SessionRecord.empty(System.currentTimeMillis());
+    }
+
+    boolean isInvalidated() {
+        return invalidated;
+    }
+
+    /**
+     * Writes buffered attribute changes; called by SessionStoreFilter before the response body is written
+     * and again at the end of the request. A no-op when nothing changed since the last call.
+     */
+    void commit() {
+        if (dirty && !invalidated && id != null) {
+            store.update(id, record);
+            dirty = false;
+        }
+    }
+
+    @Override
+    public long getCreationTime() {
+        checkValid();
+        return record.getCreatedAt();
+    }
+
+    @Override
+    public String getId() {
+        checkValid();
+        ensureStored();
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        checkValid();
+        return record.getLastAccessedAt();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        // The idle timeout is a store-wide setting (session.idle-timeout-minutes)
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return idleTimeoutSeconds;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        checkValid();
+        return record.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        checkValid();
+        List<String> names = new ArrayList<>(4);
+        for (String name : new String[]{SessionRecord.USER_ID, SessionRecord.USER_ROLE,
+                SessionRecord.ACCOUNT_ID, SessionRecord.USERNAME}) {
+            if (record.get(name) != null) {
+                names.add(name);
+            }
+        }
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        checkValid();
+        if (!SessionRecord.isSupported(name)) {
+            throw new IllegalArgumentException("Unsupported session attribute: " + name);
+        }
+        record = record.with(name, value);
+        if (id == null) {
+            ensureStored();
+        } else {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        checkValid();
+        if (SessionRecord.isSupported(name) && record.get(name) != null) {
+            record = record.with(name, null);
+            dirty = id != null;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        checkValid();
+        if (id != null) {
+            store.delete(id);
+            response.addCookie(cookie("", 0));
+        }
+        invalidated = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        checkValid();
+        return isNew;
+    }
+
+    private void ensureStored() {
+        if (id == null) {
+            id = store.create(record);
+            response.addCookie(cookie(id, -1));
+        }
+    }
+
+    private void checkValid() {
+        if (invalidated) {
+            throw new IllegalStateException("Session already invalidated");
+        }
+    }
+
+    private static Cookie cookie(String value, int maxAge) {
+        Cookie cookie = new Cookie(SessionStoreFilter.COOKIE_NAME, value);
+        cookie.setHttpOnly(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+}
@@ -0,0 +1,104 @@
+package com.university.backend.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Stateless authentication (session.store = token): verifies the token from the UMS_TOKEN cookie or an
+ * "Authorization: Bearer" header once per request and stores the RequestPrincipal as a request
+ * attribute. request.getSession() returns a read-only view of that principal, so controllers work
+ * unchanged and no node needs shared session state. Tokens past half their lifetime are re-issued
+ * after AuthTokenService.refresh re-checks the account; if it refuses, the request is anonymous.
+ */
+@Component
+@ConditionalOnProperty(name = "session.store", havingValue = "token")
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthTokenService tokenService;
+
+    public TokenAuthenticationFilter(AuthTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = readToken(request);
+        RequestPrincipal principal = token == null ? null : tokenService.verify(token);
+        if (principal != null) {
+            // Sliding expiry: refresh once less than half the lifetime is left, if the account still qualifies
+            long remaining = principal.getExpiresAt() - System.currentTimeMillis() / 1000;
+            if (remaining < tokenService.getTtlSeconds() / 2) {
+                String refreshed = tokenService.refresh(principal);
+                if (refreshed == null) {
+                    // Session too old, or account deactivated, deleted or changed role: log in again
+                    response.addCookie(tokenService.cookie(null));
+                    principal = null;
+                } else {
+                    response.addCookie(tokenService.cookie(refreshed));
+                }
+            }
+        }
+        if (principal != null) {
+            request.setAttribute(RequestPrincipal.ATTRIBUTE, principal);
+        }
+
+        chain.doFilter(new TokenRequest(request, response), response);
+    }
+
+    private static String readToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (AuthTokenService.COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private class TokenRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletResponse response;
+        private TokenSession session;
+
+        TokenRequest(HttpServletRequest request, HttpServletResponse response) {
+            super(request);
+            this.response = response;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session == null || session.isInvalidated()) {
+                if (!create && RequestPrincipal.from(this) == null) {
+                    return null;
+                }
+                session = new TokenSession(this, response, tokenService);
+            }
+            return session;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.backend.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Read-only HttpSession view over the request's token principal, so existing controllers keep reading
+ * "userID" / "userRole" from the session in token mode. Attributes cannot be written: login issues
+ * a new token instead. invalidate() clears the token cookie.
+ */
+class TokenSession implements HttpSession {
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final AuthTokenService tokenService;
+    private final long createdAt = System.currentTimeMillis();
+    private boolean invalidated;
+
+    TokenSession(HttpServletRequest request, HttpServletResponse response, AuthTokenService tokenService) {
+        this.request = request;
+        this.response = response;
+        this.tokenService = tokenService;
+    }
+
+    boolean isInvalidated() {
+        return invalidated;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return createdAt;
+    }
+
+    @Override
+    public String getId() {
+        return "";
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return createdAt;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return request.getServletContext();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        // Token lifetime is auth.token.ttl-minutes
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return (int) tokenService.getTtlSeconds();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        RequestPrincipal principal = invalidated ? null : RequestPrincipal.from(request);
+        if (principal == null) {
+            return null;
+        }
+        switch (name) {
+            case SessionRecord.USER_ID:
+                return principal.getUserId();
+            case SessionRecord.USER_ROLE:
+                return principal.getRole();
+            case SessionRecord.ACCOUNT_ID:
+                return principal.getAccountId();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        List<String> names = new ArrayList<>(3);
+        for (String name : new String[]{SessionRecord.USER_ID, SessionRecord.USER_ROLE, SessionRecord.ACCOUNT_ID}) {
+            if (getAttribute(name) != null) {
+                names.add(name);
+            }
+        }
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        throw new UnsupportedOperationException("Session attributes are read-only in token mode");
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        throw new UnsupportedOperationException("Session attributes are read-only in token mode");
+    }
+
+    @Override
+    public void invalidate() {
+        request.removeAttribute(RequestPrincipal.ATTRIBUTE);
+        response.addCookie(tokenService.cookie(null));
+        invalidated = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return RequestPrincipal.from(request) == null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.university.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnnouncementFeedCursorTest {
+
+    @Test
+    void roundTripsTimestampAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 3, 14, 7, 9, 123_456_789);
+
+        AnnouncementFeedCursor cursor = AnnouncementFeedCursor.decode(new AnnouncementFeedCursor(createdAt, 981).encode());
+
+        assertEquals(createdAt, cursor.createdAt);
+        assertEquals(981, cursor.id);
+    }
+
+    @Test
+    void roundTripsMissingTimestamp() {
+        AnnouncementFeedCursor cursor = AnnouncementFeedCursor.decode(new AnnouncementFeedCursor(null, 5).encode());
+
+        assertNull(cursor.createdAt);
+        assertEquals(5, cursor.id);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new AnnouncementFeedCursor(LocalDateTime.of(2025, 1, 1, 0, 0), Integer.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(AnnouncementFeedCursor.decode(null));
+        assertNull(AnnouncementFeedCursor.decode(""));
+        assertNull(AnnouncementFeedCursor.decode("   "));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        for (String raw : new String[]{
+                "981",
+                "abc\n2025-11-03T14:07:09",
+                "\n2025-11-03T14:07:09",
+                "981\n2025-13-03T14:07:09",
+                "981\nyesterday",
+                "981; DROP TABLE announcements\n"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> AnnouncementFeedCursor.decode(encodeRaw(raw)), raw);
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementFeedCursor.decode("not base64!"));
+        // Standard-alphabet Base64 is not accepted in place of URL-safe
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementFeedCursor.decode("+/+/"));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,175 @@
+package com.university.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EavBulkWriterTest {
+
+    // SQL Server rejects statements with more than 2100 parameters or INSERT ... VALUES with more than 1000 rows
+    private static final int SQL_SERVER_MAX_PARAMETERS = 2100;
+    private static final int SQL_SERVER_MAX_VALUES_ROWS = 1000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EavBulkWriter writer = new EavBulkWriter(jdbcTemplate);
+    private final List<Statement> statements = new ArrayList<>();
+
+    @Test
+    void threeColumnRowsStayUnderTheParameterLimit() {
+        recordUpdates();
+
+        writer.insertEquipmentValues(rows(2500, 3));
+
+        // 2000 parameters of headroom / 3 columns = 666 rows per statement
+        assertEquals(List.of(666, 666, 666, 502), rowCounts());
+        assertStatementsValid("INSERT INTO equipment_values (equipment_id, equipment_attribute_id, value) VALUES ", 3);
+        assertEquals(2500 * 3, totalParameters());
+    }
+
+    @Test
+    void twoColumnRowsStopAtTheRowLimit() {
+        recordUpdates();
+
+        writer.insertAllocations("FACULTY", rows(2001, 2));
+
+        assertEquals(List.of(1000, 1000, 1), rowCounts());
+        assertStatementsValid("INSERT INTO equipment_faculty_allocation (equipment_id, staff_id) VALUES ", 2);
+    }
+
+    @Test
+    void exactMultiplesLeaveNoEmptyStatement() {
+        recordUpdates();
+
+        writer.insertEquipmentValues(rows(666 * 2, 3));
+        writer.insertAllocations("STUDENT", rows(1000, 2));
+
+        assertEquals(List.of(666, 666, 1000), rowCounts());
+    }
+
+    @Test
+    void nothingToWriteRunsNoStatement() {
+        writer.insertEquipmentValues(List.of());
+        writer.insertAllocations("DEPARTMENT", List.of());
+        writer.insertAnnouncementValues(1, Map.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void unknownHolderTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> writer.insertAllocations("ROOM", rows(1, 2)));
+    }
+
+    @Test
+    void generatedIdsComeBackInInputOrderWhateverTheOutputOrder() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] outputRow = new int[1];
+        when(resultSet.getInt(1)).thenAnswer(invocation -> outputRow[0]);
+        when(resultSet.getInt(2)).thenAnswer(invocation -> 50_000 + outputRow[0]);
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            statements.add(new Statement(sql, args));
+            // SQL Server may emit OUTPUT rows in any order; emit them backwards
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = args.length - 2; i >= 0; i -= 2) {
+                outputRow[0] = (Integer) args[i];
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2345; i++) {
+            names.add("Item " + i);
+        }
+        List<Integer> ids = writer.insertEquipmentEntities(names);
+
+        assertEquals(2345, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(50_000 + i, ids.get(i));
+        }
+        // (rn, name) pairs: 1000 rows = 2000 parameters per MERGE
+        assertEquals(List.of(1000, 1000, 345), rowCounts());
+        for (Statement statement : statements) {
+            assertTrue(statement.sql.startsWith("MERGE INTO equipment_entities USING (VALUES (?, ?)"));
+            assertTrue(statement.sql.endsWith("OUTPUT src.rn, INSERTED.equipment_id;"));
+            assertTrue(statement.args.length <= SQL_SERVER_MAX_PARAMETERS);
+        }
+    }
+
+    private void recordUpdates() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            statements.add(new Statement(invocation.getArgument(0), (Object[]) invocation.getRawArguments()[1]));
+            return 0;
+        });
+    }
+
+    private void assertStatementsValid(String prefix, int width) {
+        for (Statement statement : statements) {
+            assertTrue(statement.sql.startsWith(prefix), statement.sql);
+            long placeholders = statement.sql.chars().filter(c -> c == '?').count();
+            assertEquals(statement.args.length, placeholders);
+            assertEquals(0, statement.args.length % width);
+            assertTrue(statement.args.length <= SQL_SERVER_MAX_PARAMETERS);
+            assertTrue(statement.args.length / width <= SQL_SERVER_MAX_VALUES_ROWS);
+        }
+    }
+
+    private List<Integer> rowCounts() {
+        List<Integer> counts = new ArrayList<>();
+        for (Statement statement : statements) {
+            int rows = 0;
+            for (int i = statement.sql.indexOf("(?"); i >= 0; i = statement.sql.indexOf("(?", i + 1)) {
+                rows++;
+            }
+            counts.add(rows);
+        }
+        return counts;
+    }
+
+    private int totalParameters() {
+        int total = 0;
+        for (Statement statement : statements) {
+            total += statement.args.length;
+        }
+        return total;
+    }
+
+    private static List<Object[]> rows(int count, int width) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object[] row = new Object[width];
+            for (int c = 0; c < width; c++) {
+                row[c] = i * width + c;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static class Statement {
+        private final String sql;
+        private final Object[] args;
+
+        Statement(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.university.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquipmentAllocationCursorTest {
+
+    @Test
+    void roundTripsEveryHolderType() {
+        for (String type : new String[]{"DEPARTMENT", "FACULTY", "STUDENT"}) {
+            EquipmentAllocationCursor cursor =
+                    EquipmentAllocationCursor.decode(new EquipmentAllocationCursor(1234, type, 98_765).encode());
+
+            assertEquals(1234, cursor.equipmentId);
+            assertEquals(type, cursor.type);
+            assertEquals(98_765, cursor.allocationId);
+        }
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new EquipmentAllocationCursor(Integer.MAX_VALUE, "DEPARTMENT", Integer.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(EquipmentAllocationCursor.decode(null));
+        assertNull(EquipmentAllocationCursor.decode(""));
+        assertNull(EquipmentAllocationCursor.decode("   "));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        for (String raw : new String[]{
+                "1234",
+                "1234\nSTUDENT",
+                "1234\nSTUDENT\n5\n6",
+                "abc\nSTUDENT\n5",
+                "1234\nSTUDENT\nabc",
+                "\nSTUDENT\n5",
+                "1234\nSTUDENT\n",
+                "1234\nROOM\n5",
+                "1234\nstudent\n5",
+                "1234\n\n5",
+                "1234\nSTUDENT' OR '1'='1\n5",
+                "99999999999\nSTUDENT\n5"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> EquipmentAllocationCursor.decode(encodeRaw(raw)), raw);
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> EquipmentAllocationCursor.decode("not base64!"));
+        // Standard-alphabet Base64 is not accepted in place of URL-safe
+        assertThrows(IllegalArgumentException.class, () -> EquipmentAllocationCursor.decode("+/+/"));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,214 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.EquipmentImportResultDTO;
+import com.university.backend.repository.DepartmentRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import com.university.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EquipmentImportServiceTest {
+
+    private final EavBulkWriter eavBulkWriter = mock(EavBulkWriter.class);
+    private final AttributeDictionary attributeDictionary = mock(AttributeDictionary.class);
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final StaffMemberRepository staffMemberRepository = mock(StaffMemberRepository.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final EquipmentSearchIndex equipmentSearchIndex = mock(EquipmentSearchIndex.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(attributeDictionary.equipmentAttributeId(anyString())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).startsWith("attr") ? invocation.<String>getArgument(0).length() : null);
+        // Every holder exists
+        when(departmentRepository.findExistingIds(any())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Integer>>getArgument(0)));
+        when(staffMemberRepository.findExistingIds(any())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Integer>>getArgument(0)));
+        when(studentRepository.findExistingIds(any())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Integer>>getArgument(0)));
+        when(eavBulkWriter.insertEquipmentEntities(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < invocation.<List<String>>getArgument(0).size(); i++) {
+                ids.add(i + 1);
+            }
+            return ids;
+        });
+    }
+
+    // ---- parseLine ----
+
+    @Test
+    void parsesPlainAndQuotedFields() {
+        assertEquals(List.of("Laptop", "DEPARTMENT", "3"), EquipmentImportService.parseLine("Laptop,DEPARTMENT,3", 2));
+        assertEquals(List.of("Dell, XPS 13", "16 GB"), EquipmentImportService.parseLine("\"Dell, XPS 13\",16 GB", 2));
+        assertEquals(List.of("15\" screen", "\"quoted\""),
+                EquipmentImportService.parseLine("\"15\"\" screen\",\"\"\"quoted\"\"\"", 2));
+        assertEquals(List.of("", "", ""), EquipmentImportService.parseLine(",,", 2));
+        assertEquals(List.of(""), EquipmentImportService.parseLine("\"\"", 2));
+        // A quote inside an unquoted field is an ordinary character
+        assertEquals(List.of("5\"", "x"), EquipmentImportService.parseLine("5\",x", 2));
+        // Spaces are kept; trimming is up to the caller
+        assertEquals(List.of(" a ", " b"), EquipmentImportService.parseLine(" a , b", 2));
+    }
+
+    @Test
+    void unterminatedQuoteReportsTheLine() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> EquipmentImportService.parseLine("\"Dell, XPS 13,DEPARTMENT,3", 17));
+        assertEquals("Line 17: unterminated quoted field", e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> EquipmentImportService.parseLine("a,\"b\"\"", 2));
+    }
+
+    // ---- Chunking ----
+
+    @Test
+    void writesInChunksOfAThousandRows() {
+        for (int rows : new int[]{1, 999, 1000, 1001, 2500}) {
+            EavBulkWriter writer = mock(EavBulkWriter.class);
+            when(writer.insertEquipmentEntities(anyList())).thenAnswer(
+                    invocation -> new ArrayList<>(Collections.nCopies(invocation.<List<String>>getArgument(0).size(), 1)));
+
+            EquipmentImportResultDTO result = service(writer).importCsv(csv(rows, 2));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<String>> names = ArgumentCaptor.forClass(List.class);
+            verify(writer, times((rows + 999) / 1000)).insertEquipmentEntities(names.capture());
+            List<Integer> sizes = new ArrayList<>();
+            for (List<String> chunk : names.getAllValues()) {
+                sizes.add(chunk.size());
+            }
+            List<Integer> expected = new ArrayList<>();
+            for (int left = rows; left > 0; left -= EquipmentImportService.CHUNK_SIZE) {
+                expected.add(Math.min(left, EquipmentImportService.CHUNK_SIZE));
+            }
+            assertEquals(expected, sizes, rows + " rows");
+            assertEquals(rows, result.getEquipmentImported());
+            assertEquals(rows * 2, result.getValuesImported());
+        }
+    }
+
+    @Test
+    void badRowInALaterChunkRollsBackWithItsLineNumber() {
+        StringBuilder csv = new StringBuilder("name,allocatedToType,allocatedToId\n");
+        for (int i = 0; i < 1500; i++) {
+            csv.append(i == 1200 ? "Broken,ROOM,1\n" : "Item " + i + ",STUDENT,1\n");
+        }
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service(eavBulkWriter).importCsv(input(csv.toString())));
+
+        // Header is line 1, row i is line i + 2
+        assertEquals("Line 1202: invalid allocatedToType: ROOM", e.getMessage());
+        verify(eavBulkWriter, times(1)).insertEquipmentEntities(anyList());
+        verify(transactionManager).rollback(any());
+        verify(equipmentSearchIndex, never()).markAllChanged();
+    }
+
+    @Test
+    void blankLinesAreSkippedButCountedAndBomIsIgnored() {
+        String csv = "\uFEFFname,allocatedToType,allocatedToId,attr1\n"
+                + "A,DEPARTMENT,1,x\n"
+                + "\n"
+                + "B,FACULTY,2,\n"
+                + "C,STUDENT\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service(eavBulkWriter).importCsv(input(csv)));
+        assertEquals("Line 5: name, allocatedToType and allocatedToId are required", e.getMessage());
+
+        EquipmentImportResultDTO result = service(eavBulkWriter).importCsv(input(csv.replace("C,STUDENT\n", "")));
+        assertEquals(2, result.getEquipmentImported());
+        assertEquals(1, result.getValuesImported());
+        verify(equipmentSearchIndex).markAllChanged();
+    }
+
+    @Test
+    void fiftyThousandItemsWithEightAttributes() throws Exception {
+        // Real statement building against a JdbcTemplate that only counts; no database involved
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] outputRow = new int[1];
+        when(resultSet.getInt(1)).thenAnswer(invocation -> outputRow[0]);
+        when(resultSet.getInt(2)).thenAnswer(invocation -> 100_000 + outputRow[0]);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            for (int i = 0; i < args.length; i += 2) {
+                outputRow[0] = (Integer) args[i];
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        int[] updates = new int[1];
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            updates[0]++;
+            return 0;
+        });
+
+        long started = System.nanoTime();
+        EquipmentImportResultDTO result = service(new EavBulkWriter(jdbcTemplate)).importCsv(csv(50_000, 8));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(50_000, result.getEquipmentImported());
+        assertEquals(400_000, result.getValuesImported());
+        // Per 1000-row chunk: one MERGE, 8000 values at 666 rows per INSERT (13 statements),
+        // and one allocation INSERT per holder type
+        verify(jdbcTemplate, times(50)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        assertEquals(50 * (13 + 3), updates[0]);
+        System.out.println("EquipmentImportService: 50k items x 8 attributes parsed and batched in "
+                + elapsedMillis + " ms (" + (50 + updates[0]) + " statements, database time excluded)");
+    }
+
+    private EquipmentImportService service(EavBulkWriter writer) {
+        return new EquipmentImportService(writer, attributeDictionary, departmentRepository,
+                staffMemberRepository, studentRepository, equipmentSearchIndex, transactionManager);
+    }
+
+    private static ByteArrayInputStream csv(int rows, int attributes) {
+        StringBuilder csv = new StringBuilder("name,allocatedToType,allocatedToId");
+        for (int a = 0; a < attributes; a++) {
+            // Distinct lengths give distinct ids from the dictionary stub
+            csv.append(",attr").append("x".repeat(a));
+        }
+        csv.append('\n');
+        String[] types = {"DEPARTMENT", "FACULTY", "STUDENT"};
+        for (int i = 0; i < rows; i++) {
+            csv.append("\"Item ").append(i).append(", rev \"\"B\"\"\",").append(types[i % 3]).append(',').append(i % 7);
+            for (int a = 0; a < attributes; a++) {
+                csv.append(",value ").append(a);
+            }
+            csv.append('\n');
+        }
+        return input(csv.toString());
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
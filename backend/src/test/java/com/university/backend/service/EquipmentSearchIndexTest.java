@@ -0,0 +1,276 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.EquipmentAllocationDTO;
+import com.university.backend.dto.EquipmentDTO;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentDepartmentRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentFacultyRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentAllocationRepository.EquipmentStudentRepository;
+import com.university.backend.repository.ResourceAllocationRepository.EquipmentEAVRepository.EquipmentEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EquipmentSearchIndexTest {
+
+    private static final String[] COLORS = {"Red", "Blue", "Green", "Black"};
+    private static final String[] KINDS = {"Dell Laptop", "HP Laptop", "Lab Projector", "Lapel Microphone", "Desk Lamp"};
+
+    private final EquipmentEntityRepository entityRepository = mock(EquipmentEntityRepository.class);
+    private final EquipmentDepartmentRepository departmentRepository = mock(EquipmentDepartmentRepository.class);
+    private final EquipmentFacultyRepository facultyRepository = mock(EquipmentFacultyRepository.class);
+    private final EquipmentStudentRepository studentRepository = mock(EquipmentStudentRepository.class);
+    private final EquipmentSearchIndex index = new EquipmentSearchIndex(
+            entityRepository, departmentRepository, facultyRepository, studentRepository);
+
+    // The inventory as the repositories see it
+    private final Map<Integer, Item> items = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(entityRepository.findIndexRows()).thenAnswer(invocation -> indexRows(items.keySet()));
+        when(departmentRepository.findAllDepartmentEquipmentsWithNames())
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.DEPARTMENT, items.keySet()));
+        when(facultyRepository.findAllFacultyEquipmentsWithNames())
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.FACULTY, items.keySet()));
+        when(studentRepository.findAllStudentEquipmentsWithNames())
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.STUDENT, items.keySet()));
+
+        when(entityRepository.findIndexRowsByIds(anyList()))
+                .thenAnswer(invocation -> indexRows(invocation.<List<Integer>>getArgument(0)));
+        when(departmentRepository.findAllDepartmentEquipmentsWithNamesByEquipmentIds(anyList()))
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.DEPARTMENT, invocation.getArgument(0)));
+        when(facultyRepository.findAllFacultyEquipmentsWithNamesByEquipmentIds(anyList()))
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.FACULTY, invocation.getArgument(0)));
+        when(studentRepository.findAllStudentEquipmentsWithNamesByEquipmentIds(anyList()))
+                .thenAnswer(invocation -> allocations(EquipmentSearchIndex.STUDENT, invocation.getArgument(0)));
+    }
+
+    @Test
+    void conditionsAreIntersected() {
+        add(1, "Dell Laptop", "Red", "16", EquipmentSearchIndex.DEPARTMENT, 3);
+        add(2, "Dell Laptop", "Blue", "16", EquipmentSearchIndex.DEPARTMENT, 3);
+        add(3, "HP Laptop", "Red", "8", EquipmentSearchIndex.STUDENT, 3);
+        add(4, "Lab Projector", "Red", null, EquipmentSearchIndex.DEPARTMENT, 4);
+        add(5, "Dell Monitor", "Red", null, null, 0);
+
+        assertEquals(List.of(1, 2, 3), ids(search("laptop", Map.of(), null, null)));
+        assertEquals(List.of(1, 2, 5), ids(search("DELL", Map.of(), null, null)));
+        // Word prefixes, every word must match
+        assertEquals(List.of(1, 2, 3, 4), ids(search("la", Map.of(), null, null)));
+        assertEquals(List.of(1, 2), ids(search("de lap", Map.of(), null, null)));
+        // Attribute name and value are exact but case-insensitive
+        assertEquals(List.of(1, 3, 4, 5), ids(search(null, Map.of("color", " red "), null, null)));
+        assertEquals(List.of(1), ids(search("laptop", Map.of("Color", "Red", "RAM", "16"), null, null)));
+        assertEquals(List.of(), ids(search("laptop", Map.of("Color", "Purple"), null, null)));
+        assertEquals(List.of(), ids(search(null, Map.of("Weight", "Red"), null, null)));
+        // Holder type, then one holder of that type
+        assertEquals(List.of(1, 2, 4), ids(search(null, Map.of(), EquipmentSearchIndex.DEPARTMENT, null)));
+        assertEquals(List.of(1, 2), ids(search(null, Map.of(), EquipmentSearchIndex.DEPARTMENT, 3)));
+        assertEquals(List.of(3), ids(search("laptop", Map.of("color", "red"), EquipmentSearchIndex.STUDENT, 3)));
+        // No condition: everything
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(search("  ", Map.of(), null, null)));
+    }
+
+    @Test
+    void agreesWithAFullScanOnARandomInventory() {
+        Random random = new Random(11);
+        for (int id = 1; id <= 20_000; id++) {
+            // Gaps in the id sequence, like deleted items
+            if (random.nextInt(10) == 0) {
+                continue;
+            }
+            add(id, KINDS[random.nextInt(KINDS.length)] + " " + random.nextInt(50),
+                    COLORS[random.nextInt(COLORS.length)], String.valueOf(4 << random.nextInt(4)),
+                    random.nextBoolean() ? EquipmentSearchIndex.DEPARTMENT : EquipmentSearchIndex.STUDENT,
+                    random.nextInt(20));
+        }
+
+        for (int q = 0; q < 300; q++) {
+            String name = random.nextInt(3) == 0 ? null
+                    : KINDS[random.nextInt(KINDS.length)].substring(0, 2 + random.nextInt(2));
+            Map<String, String> attributes = new HashMap<>();
+            if (random.nextBoolean()) {
+                attributes.put("Color", COLORS[random.nextInt(COLORS.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                attributes.put("RAM", String.valueOf(4 << random.nextInt(4)));
+            }
+            String holderType = random.nextInt(3) == 0 ? EquipmentSearchIndex.DEPARTMENT : null;
+            Integer holderId = holderType != null && random.nextBoolean() ? random.nextInt(20) : null;
+
+            List<Integer> expected = scan(name, attributes, holderType, holderId);
+            EquipmentSearchIndex.Result result = index.search(name, attributes, holderType, holderId, null, 50);
+
+            assertEquals(expected.size(), result.total);
+            assertEquals(expected.subList(0, Math.min(50, expected.size())), ids(result));
+            assertEquals(expected.size() > 50, result.hasMore);
+        }
+    }
+
+    @Test
+    void idCursorPagesThroughEveryMatchOnce() {
+        for (int id = 1; id <= 500; id++) {
+            add(id * 3, KINDS[id % KINDS.length], COLORS[id % COLORS.length], "8", EquipmentSearchIndex.STUDENT, id % 4);
+        }
+        List<Integer> expected = scan("la", Map.of("color", "red"), null, null);
+
+        List<Integer> paged = new ArrayList<>();
+        Integer afterId = null;
+        while (true) {
+            EquipmentSearchIndex.Result result = index.search("la", Map.of("color", "red"), null, null, afterId, 7);
+            assertEquals(expected.size(), result.total);
+            paged.addAll(ids(result));
+            if (!result.hasMore) {
+                break;
+            }
+            afterId = result.page.get(result.page.size() - 1).equipmentId;
+        }
+        assertEquals(expected, paged);
+
+        // A cursor between ids, e.g. after the item it named was deleted, resumes at the next larger id
+        int gap = expected.get(10) - 1;
+        assertEquals(expected.get(10), ids(index.search("la", Map.of("color", "red"), null, null, gap, 1)).get(0));
+
+        EquipmentSearchIndex.Result pastEnd = index.search("la", Map.of("color", "red"), null, null,
+                expected.get(expected.size() - 1), 7);
+        assertTrue(pastEnd.page.isEmpty());
+        assertFalse(pastEnd.hasMore);
+    }
+
+    @Test
+    void changedItemsAreReloadedAndImportsRebuild() {
+        add(1, "Dell Laptop", "Red", "16", EquipmentSearchIndex.DEPARTMENT, 3);
+        add(2, "HP Laptop", "Blue", "8", EquipmentSearchIndex.STUDENT, 5);
+        assertEquals(List.of(1), ids(search(null, Map.of("color", "red"), null, null)));
+
+        // Item 1 repainted and moved to a student, item 2 deleted
+        add(1, "Dell Laptop", "Green", "16", EquipmentSearchIndex.STUDENT, 9);
+        items.remove(2);
+        index.markChanged(1);
+        index.markChanged(2);
+
+        assertEquals(List.of(), ids(search(null, Map.of("color", "red"), null, null)));
+        assertEquals(List.of(1), ids(search(null, Map.of("color", "green"), EquipmentSearchIndex.STUDENT, 9)));
+        assertEquals(List.of(1), ids(search("laptop", Map.of(), null, null)));
+        assertEquals(List.of(), ids(search(null, Map.of(), EquipmentSearchIndex.DEPARTMENT, null)));
+
+        // A bulk import rebuilds from scratch
+        add(7, "Desk Lamp", "Black", null, EquipmentSearchIndex.DEPARTMENT, 1);
+        add(8, "Desk Lamp", "Black", null, EquipmentSearchIndex.DEPARTMENT, 1);
+        index.markAllChanged();
+        assertEquals(List.of(7, 8), ids(search("lamp", Map.of(), EquipmentSearchIndex.DEPARTMENT, 1)));
+        verify(entityRepository, times(2)).findIndexRows();
+    }
+
+    private EquipmentSearchIndex.Result search(String name, Map<String, String> attributes,
+                                               String holderType, Integer holderId) {
+        return index.search(name, attributes, holderType, holderId, null, 1000);
+    }
+
+    private List<Integer> scan(String name, Map<String, String> query, String holderType, Integer holderId) {
+        Map<String, String> attributes = new HashMap<>();
+        query.forEach((key, value) -> attributes.put(key.trim().equalsIgnoreCase("color") ? "Color" : key.trim(), value.trim()));
+        List<Integer> matches = new ArrayList<>();
+        for (Item item : items.values()) {
+            if (name != null && !name.isBlank()) {
+                boolean all = true;
+                for (String word : name.trim().toLowerCase().split("\\s+")) {
+                    boolean any = false;
+                    for (String itemWord : item.name.toLowerCase().split("\\s+")) {
+                        any |= itemWord.startsWith(word);
+                    }
+                    all &= any;
+                }
+                if (!all) {
+                    continue;
+                }
+            }
+            if (attributes.containsKey("Color") && !attributes.get("Color").equalsIgnoreCase(item.color)) {
+                continue;
+            }
+            if (attributes.containsKey("RAM") && !attributes.get("RAM").equals(item.ram)) {
+                continue;
+            }
+            if (holderType != null && !holderType.equals(item.holderType)) {
+                continue;
+            }
+            if (holderId != null && holderId != item.holderId) {
+                continue;
+            }
+            matches.add(item.id);
+        }
+        matches.sort(Integer::compare);
+        return matches;
+    }
+
+    private void add(int id, String name, String color, String ram, String holderType, int holderId) {
+        items.put(id, new Item(id, name, color, ram, holderType, holderId));
+    }
+
+    private List<EquipmentDTO> indexRows(Iterable<Integer> ids) {
+        List<EquipmentDTO> rows = new ArrayList<>();
+        for (Integer id : ids) {
+            Item item = items.get(id);
+            if (item == null) {
+                continue;
+            }
+            rows.add(new EquipmentDTO(id, item.name, 1, "Color", null, item.color));
+            rows.add(new EquipmentDTO(id, item.name, 2, "RAM", null, item.ram));
+        }
+        rows.sort((a, b) -> Integer.compare(a.getEquipmentId(), b.getEquipmentId()));
+        return rows;
+    }
+
+    private List<EquipmentAllocationDTO> allocations(String type, Iterable<Integer> ids) {
+        List<EquipmentAllocationDTO> allocations = new ArrayList<>();
+        for (Integer id : ids) {
+            Item item = items.get(id);
+            if (item != null && type.equals(item.holderType)) {
+                allocations.add(new EquipmentAllocationDTO(id, item.name, "Holder", String.valueOf(item.holderId),
+                        item.holderId));
+            }
+        }
+        return allocations;
+    }
+
+    private static List<Integer> ids(EquipmentSearchIndex.Result result) {
+        List<Integer> ids = new ArrayList<>();
+        for (EquipmentSearchIndex.Entry entry : result.page) {
+            ids.add(entry.equipmentId);
+        }
+        return ids;
+    }
+
+    private static class Item {
+        final int id;
+        final String name;
+        final String color;
+        final String ram;
+        final String holderType;
+        final int holderId;
+
+        Item(int id, String name, String color, String ram, String holderType, int holderId) {
+            this.id = id;
+            this.name = name;
+            this.color = color;
+            this.ram = ram;
+            this.holderType = holderType;
+            this.holderId = holderId;
+        }
+    }
+}
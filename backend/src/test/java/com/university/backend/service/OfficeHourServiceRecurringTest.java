@@ -0,0 +1,183 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.OfficeHourRequestDTO;
+import com.university.backend.dto.SlotIntervalDTO;
+import com.university.backend.model.Professor;
+import com.university.backend.repository.OfficeHourSlotRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OfficeHourServiceRecurringTest {
+
+    private static final int STAFF_ID = 5;
+    private static final LocalTime START = LocalTime.of(9, 0);
+    private static final LocalTime END = LocalTime.of(17, 0);
+
+    private final OfficeHourSlotRepository officeHourRepository = mock(OfficeHourSlotRepository.class);
+    private final StaffMemberRepository staffMemberRepository = mock(StaffMemberRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OfficeHourService service = new OfficeHourService(
+            officeHourRepository, staffMemberRepository, jdbcTemplate, mock(OfficeHourAvailabilityCache.class));
+
+    private final LocalDate firstMonday = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    @BeforeEach
+    void setUp() {
+        Professor professor = new Professor();
+        professor.setUserId(STAFF_ID);
+        when(staffMemberRepository.findById(STAFF_ID)).thenReturn(Optional.of(professor));
+        when(officeHourRepository.findByStaffMember_UserIdAndSlotDateTimeBetween(
+                anyInt(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void fiftyTwoWeeksOfFiveMinuteSlots() {
+        existing(List.of());
+
+        long started = System.nanoTime();
+        service.createRecurringOfficeHours(request(52, 5));
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+
+        List<LocalDateTime> starts = insertedStarts();
+        assertEquals(52 * 96, starts.size());
+        assertEquals(LocalDateTime.of(firstMonday, START), starts.get(0));
+        assertEquals(LocalDateTime.of(firstMonday.plusWeeks(51), END.minusMinutes(5)), starts.get(starts.size() - 1));
+        System.out.println("OfficeHourService: 52 weeks x 96 five-minute slots generated in " + elapsedMicros + " us");
+    }
+
+    @Test
+    void touchingSlotsDoNotBlockAWeekButOverlappingOnesDo() {
+        existing(List.of(
+                // Week 0: ends exactly at 09:00 and starts exactly at 17:00 - both outside the block
+                interval(0, LocalTime.of(8, 0), START),
+                interval(0, END, LocalTime.of(18, 0)),
+                // Week 1: one minute inside the block
+                interval(1, LocalTime.of(16, 59), LocalTime.of(17, 30)),
+                // Week 3 to week 5: one long interval covers three blocks
+                new SlotIntervalDTO(LocalDateTime.of(firstMonday.plusWeeks(3), LocalTime.of(12, 0)),
+                        LocalDateTime.of(firstMonday.plusWeeks(5), LocalTime.of(10, 0))),
+                // Week 4: a short slot inside the long one, sorted after it
+                interval(4, LocalTime.of(13, 0), LocalTime.of(13, 30))));
+
+        service.createRecurringOfficeHours(request(8, 30));
+
+        assertEquals(List.of(0, 2, 6, 7), weeksWithInserts());
+    }
+
+    @Test
+    void noFreeWeekMeansNoInsert() {
+        List<SlotIntervalDTO> everyWeek = new ArrayList<>();
+        for (int week = 0; week < 4; week++) {
+            everyWeek.add(interval(week, LocalTime.of(10, 0), LocalTime.of(10, 30)));
+        }
+        existing(everyWeek);
+
+        assertEquals(List.of(), service.createRecurringOfficeHours(request(4, 30)));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void sweepAgreesWithCheckingEveryWeekAgainstEverySlot() {
+        Random random = new Random(7);
+        long sweepNanos = 0;
+        int generated = 0;
+        for (int round = 0; round < 200; round++) {
+            List<SlotIntervalDTO> slots = new ArrayList<>();
+            int count = random.nextInt(60);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = LocalDateTime.of(firstMonday, LocalTime.MIDNIGHT)
+                        .plusMinutes(random.nextInt(52 * 7 * 24 * 60));
+                // Mostly short slots, now and then one spanning several days or weeks
+                int minutes = random.nextInt(10) == 0 ? random.nextInt(3 * 7 * 24 * 60) : 5 + random.nextInt(120);
+                slots.add(new SlotIntervalDTO(start, start.plusMinutes(minutes)));
+            }
+            slots.sort(Comparator.comparing(SlotIntervalDTO::getStartTime));
+            existing(slots);
+            clearInvocations(jdbcTemplate);
+
+            long started = System.nanoTime();
+            service.createRecurringOfficeHours(request(52, 5));
+            sweepNanos += System.nanoTime() - started;
+
+            List<Integer> expected = new ArrayList<>();
+            for (int week = 0; week < 52; week++) {
+                LocalDateTime blockStart = LocalDateTime.of(firstMonday.plusWeeks(week), START);
+                LocalDateTime blockEnd = LocalDateTime.of(firstMonday.plusWeeks(week), END);
+                boolean free = slots.stream().noneMatch(slot ->
+                        slot.getStartTime().isBefore(blockEnd) && slot.getEndTime().isAfter(blockStart));
+                if (free) {
+                    expected.add(week);
+                }
+            }
+            if (expected.isEmpty()) {
+                verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+            } else {
+                assertEquals(expected, weeksWithInserts());
+            }
+            generated += expected.size() * 96;
+        }
+        System.out.println("OfficeHourService: 200 x 52-week requests, " + generated + " slots, avg "
+                + sweepNanos / 200 / 1_000 + " us per request");
+    }
+
+    private OfficeHourRequestDTO request(int weeks, int duration) {
+        return new OfficeHourRequestDTO(STAFF_ID, "monday", START, END, weeks, duration);
+    }
+
+    private void existing(List<SlotIntervalDTO> slots) {
+        when(officeHourRepository.findActiveIntervals(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(slots);
+    }
+
+    private SlotIntervalDTO interval(int week, LocalTime start, LocalTime end) {
+        LocalDate date = firstMonday.plusWeeks(week);
+        return new SlotIntervalDTO(LocalDateTime.of(date, start), LocalDateTime.of(date, end));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LocalDateTime> insertedStarts() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (Object[] row : batch.getValue()) {
+            starts.add(((Timestamp) row[2]).toLocalDateTime());
+        }
+        return starts;
+    }
+
+    private List<Integer> weeksWithInserts() {
+        TreeSet<Integer> weeks = new TreeSet<>();
+        for (LocalDateTime start : insertedStarts()) {
+            weeks.add((int) (ChronoUnit.WEEKS.between(firstMonday, start.toLocalDate())));
+        }
+        return new ArrayList<>(weeks);
+    }
+}
@@ -0,0 +1,143 @@
+package com.university.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    // Low work factor: these tests are about the format and the upgrade rules, not the cost
+    private final PasswordHashingService service = new PasswordHashingService(1_000, 2, 10);
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void hashVerifiesAndUsesAFreshSaltEachTime() {
+        String first = service.hash("correct horse");
+        String second = service.hash("correct horse");
+
+        assertTrue(first.startsWith("pbkdf2-sha256$1000$"));
+        assertNotEquals(first, second);
+
+        PasswordHashingService.Verification verification = service.verify("correct horse", first);
+        assertTrue(verification.matches());
+        assertFalse(verification.needsUpgrade());
+        assertTrue(service.verify("correct horse", second).matches());
+    }
+
+    @Test
+    void wrongPasswordDoesNotMatch() {
+        String stored = service.hash("correct horse");
+
+        assertFalse(service.verify("Correct horse", stored).matches());
+        assertFalse(service.verify("", stored).matches());
+        assertFalse(service.verify(null, stored).matches());
+        assertFalse(service.verify("correct horse", null).matches());
+    }
+
+    @Test
+    void legacyPlaintextMatchesAndAsksForUpgrade() {
+        PasswordHashingService.Verification verification = service.verify("secret123", "secret123");
+        assertTrue(verification.matches());
+        assertTrue(verification.needsUpgrade());
+
+        PasswordHashingService.Verification wrong = service.verify("secret124", "secret123");
+        assertFalse(wrong.matches());
+        assertFalse(wrong.needsUpgrade());
+
+        // The dummy PBKDF2 run happens for legacy rows too, so they cost the same as hashed ones
+        long before = (long) service.getMetrics().get("completed");
+        service.verify("secret123", "secret123");
+        assertEquals(before + 1, (long) service.getMetrics().get("completed"));
+    }
+
+    @Test
+    void hashWithFewerIterationsAsksForUpgrade() {
+        PasswordHashingService older = new PasswordHashingService(500, 1, 10);
+        PasswordHashingService newer = new PasswordHashingService(2_000, 1, 10);
+        try {
+            String stored = older.hash("correct horse");
+
+            PasswordHashingService.Verification verification = service.verify("correct horse", stored);
+            assertTrue(verification.matches());
+            assertTrue(verification.needsUpgrade());
+
+            // Never "upgrade" down to a lower work factor, and never upgrade on a failed match
+            assertFalse(service.verify("correct horse", newer.hash("correct horse")).needsUpgrade());
+            assertFalse(service.verify("wrong", stored).needsUpgrade());
+        } finally {
+            older.stop();
+            newer.stop();
+        }
+    }
+
+    @Test
+    void tamperedHashesDoNotMatch() {
+        String stored = service.hash("correct horse");
+        String[] parts = stored.split("\\$");
+        byte[] hash = Base64.getDecoder().decode(parts[3]);
+        hash[0] ^= 1;
+        byte[] salt = Base64.getDecoder().decode(parts[2]);
+        salt[0] ^= 1;
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+
+        assertFalse(service.verify("correct horse",
+                parts[0] + "$" + parts[1] + "$" + parts[2] + "$" + encoder.encodeToString(hash)).matches());
+        assertFalse(service.verify("correct horse",
+                parts[0] + "$" + parts[1] + "$" + encoder.encodeToString(salt) + "$" + parts[3]).matches());
+        assertFalse(service.verify("correct horse",
+                parts[0] + "$999$" + parts[2] + "$" + parts[3]).matches());
+    }
+
+    @Test
+    void malformedHashesDoNotMatch() {
+        for (String stored : new String[]{
+                "pbkdf2-sha256$",
+                "pbkdf2-sha256$1000$c2FsdA",
+                "pbkdf2-sha256$lots$c2FsdA$aGFzaA",
+                "pbkdf2-sha256$1000$not base64!$aGFzaA",
+                "pbkdf2-sha256$1000$c2FsdA$aGFzaA$extra"}) {
+            PasswordHashingService.Verification verification = service.verify("anything", stored);
+            assertFalse(verification.matches(), stored);
+            assertFalse(verification.needsUpgrade(), stored);
+        }
+    }
+
+    @Test
+    void saturatedPoolTurnsRequestsAway() throws Exception {
+        // One worker, one queue slot, and a work factor slow enough to keep both occupied
+        PasswordHashingService slow = new PasswordHashingService(2_000_000, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            callers.submit(() -> slow.hash("first"));
+            callers.submit(() -> slow.hash("second"));
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (((int) slow.getMetrics().get("active") < 1 || (int) slow.getMetrics().get("queued") < 1)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            assertThrows(IllegalStateException.class, () -> slow.verifyDummy("third"));
+            assertEquals(1L, slow.getMetrics().get("rejected"));
+        } finally {
+            callers.shutdownNow();
+            slow.stop();
+        }
+    }
+}
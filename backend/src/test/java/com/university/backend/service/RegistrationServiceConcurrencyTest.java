@@ -0,0 +1,183 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.RegistrationRequestDTO;
+import com.university.backend.dto.RegistrationResponseDTO;
+import com.university.backend.model.Course;
+import com.university.backend.model.RegistrationConfig;
+import com.university.backend.model.Student;
+import com.university.backend.model.StudentCourses;
+import com.university.backend.repository.CourseRepository;
+import com.university.backend.repository.RegistrationConfigRepository;
+import com.university.backend.repository.StudentCourseRepository;
+import com.university.backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parallel registrations through the transactional RegistrationService proxy, against an in-memory
+ * course and enrollment table that mimic the database guarantees the service relies on: the seat
+ * UPDATE is atomic and (student_id, course_id) is unique. Transactions are simulated, so a rolled-back
+ * seat shows up as a rollback-only transaction status rather than as a restored counter.
+ */
+class RegistrationServiceConcurrencyTest {
+
+    private static final int COURSE_ID = 10;
+
+    private final ConcurrentHashMap<Integer, StudentCourses> enrollments = new ConcurrentHashMap<>();
+    private final List<SimpleTransactionStatus> transactions = new CopyOnWriteArrayList<>();
+    private int capacity;
+    private int seatsTaken;
+
+    private RegistrationService registrationService;
+
+    @BeforeEach
+    void setUp() {
+        StudentCourseRepository studentCourseRepository = mock(StudentCourseRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        RegistrationContextCache registrationContextCache = mock(RegistrationContextCache.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            SimpleTransactionStatus status = new SimpleTransactionStatus();
+            transactions.add(status);
+            return status;
+        });
+        when(studentRepository.findById(anyInt())).thenAnswer(invocation -> {
+            Student student = new Student();
+            student.setUserId(invocation.getArgument(0));
+            return Optional.of(student);
+        });
+        when(courseRepository.findById(anyInt())).thenAnswer(invocation -> {
+            Course course = new Course();
+            course.setCourseId(invocation.getArgument(0));
+            course.setCode("CS101");
+            course.setCreditHours(3);
+            course.setCapacity(capacity);
+            return Optional.of(course);
+        });
+        when(courseRepository.tryReserveSeat(anyInt())).thenAnswer(invocation -> {
+            synchronized (this) {
+                if (seatsTaken >= capacity) {
+                    return 0;
+                }
+                seatsTaken++;
+                return 1;
+            }
+        });
+        when(registrationContextCache.getConfig()).thenReturn(new RegistrationConfig());
+        when(studentCourseRepository.sumCreditsForTerm(anyInt(), anyString())).thenReturn(0L);
+        when(studentCourseRepository.existsByStudentUserIdAndCourseCourseId(anyInt(), anyInt())).thenAnswer(invocation -> {
+            boolean exists = enrollments.containsKey(invocation.<Integer>getArgument(0));
+            // Widen the window between the duplicate check and the insert
+            Thread.sleep(1);
+            return exists;
+        });
+        when(studentCourseRepository.save(any(StudentCourses.class))).thenAnswer(invocation -> {
+            StudentCourses enrollment = invocation.getArgument(0);
+            if (enrollments.putIfAbsent(enrollment.getStudent().getUserId(), enrollment) != null) {
+                throw new DataIntegrityViolationException("Violation of UNIQUE KEY constraint on student_courses");
+            }
+            return enrollment;
+        });
+
+        RegistrationService target = new RegistrationService(studentCourseRepository, courseRepository,
+                studentRepository, mock(RegistrationConfigRepository.class), new CourseSeatAllocator(courseRepository),
+                registrationContextCache);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        registrationService = (RegistrationService) proxyFactory.getProxy();
+    }
+
+    @Test
+    void thousandsOfStudentsNeverOversubscribeAFiftySeatCourse() throws Exception {
+        capacity = 50;
+        int students = 2_000;
+
+        long startedAt = System.nanoTime();
+        List<RegistrationResponseDTO> responses = registerInParallel(students, i -> 1_000 + i);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        System.out.printf("RegistrationService: %d registrations in %.0f ms (%.0f/s)%n",
+                students, seconds * 1000, students / seconds);
+
+        long succeeded = responses.stream().filter(RegistrationResponseDTO::isSuccess).count();
+        long full = responses.stream().filter(r -> r.getMessage().startsWith("Course is full")).count();
+        assertEquals(50, succeeded);
+        assertEquals(students - 50, full);
+        assertEquals(50, enrollments.size());
+        assertEquals(50, seatsTaken);
+    }
+
+    @Test
+    void sameStudentDoubleSubmittingEnrollsOnce() throws Exception {
+        capacity = 1_000;
+        int attempts = 50;
+
+        List<RegistrationResponseDTO> responses = registerInParallel(attempts, i -> 42);
+
+        long succeeded = responses.stream().filter(RegistrationResponseDTO::isSuccess).count();
+        long duplicates = responses.stream()
+                .filter(r -> "You are already enrolled in this course".equals(r.getMessage())).count();
+        assertEquals(1, succeeded);
+        assertEquals(attempts - 1, duplicates);
+        assertEquals(1, enrollments.size());
+        // The 1 ms duplicate check lets several attempts reach the insert
+        assertTrue(seatsTaken > 1, "no attempt raced past the duplicate check");
+        // Every attempt that took a seat but lost the insert rolls back, returning its seat
+        long rolledBack = transactions.stream().filter(SimpleTransactionStatus::isRollbackOnly).count();
+        assertEquals(seatsTaken - 1, rolledBack);
+    }
+
+    private List<RegistrationResponseDTO> registerInParallel(int count, IntUnaryOperator studentId)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RegistrationResponseDTO>> futures = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                int student = studentId.applyAsInt(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    RegistrationRequestDTO request = new RegistrationRequestDTO();
+                    request.setCourseId(COURSE_ID);
+                    return registrationService.registerForCourse(student, request);
+                }));
+            }
+            start.countDown();
+            List<RegistrationResponseDTO> responses = new ArrayList<>(count);
+            for (Future<RegistrationResponseDTO> future : futures) {
+                responses.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.university.backend.service;
+
+import com.university.backend.model.Booking;
+import com.university.backend.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    @Test
+    void roomWithoutBookingsIsFree() {
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.build(List.of(booking(2, 9, 0, 10, 0)));
+
+        assertNull(index.findOverlapping(1, at(9, 0), at(10, 0)));
+        assertNull(RoomAvailabilityIndex.build(List.of()).findOverlapping(1, at(0, 0), at(23, 0)));
+    }
+
+    @Test
+    void backToBackSlotsDoNotOverlap() {
+        Booking booking = booking(1, 9, 30, 11, 0);
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.build(List.of(booking));
+
+        assertNull(index.findOverlapping(1, at(8, 0), at(9, 30)));
+        assertNull(index.findOverlapping(1, at(11, 0), at(12, 30)));
+        assertSame(booking, index.findOverlapping(1, at(9, 30), at(11, 0)));
+        assertSame(booking, index.findOverlapping(1, at(10, 59), at(11, 30)));
+        assertSame(booking, index.findOverlapping(1, at(9, 0), at(9, 31)));
+    }
+
+    @Test
+    void bookingSpanningSeveralSlotsIsFoundFromEverySlot() {
+        Booking longBooking = booking(1, 8, 0, 14, 0);
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.build(List.of(longBooking));
+
+        assertSame(longBooking, index.findOverlapping(1, at(8, 0), at(9, 30)));
+        assertSame(longBooking, index.findOverlapping(1, at(11, 0), at(12, 30)));
+        assertSame(longBooking, index.findOverlapping(1, at(12, 30), at(14, 0)));
+        assertNull(index.findOverlapping(1, at(14, 0), at(15, 30)));
+    }
+
+    @Test
+    void longEarlyBookingIsFoundPastShorterLaterOnes() {
+        // Only the running maximum of end times finds the 08:00-17:00 booking for the 15:30 slot
+        Booking longBooking = booking(1, 8, 0, 17, 0);
+        Booking shortBooking = booking(1, 9, 0, 9, 15);
+        Booking anotherShort = booking(1, 12, 0, 12, 30);
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.build(
+                new ArrayList<>(List.of(shortBooking, anotherShort, longBooking)));
+
+        assertSame(longBooking, index.findOverlapping(1, at(15, 30), at(17, 0)));
+        assertNull(index.findOverlapping(1, at(17, 0), at(18, 0)));
+    }
+
+    @Test
+    void agreesWithLinearScanOnRandomBookings() {
+        Random random = new Random(42);
+        for (int size : new int[]{100, 1_000, 10_000}) {
+            List<Booking> bookings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int room = 1 + random.nextInt(20);
+                int startMinute = random.nextInt(60 * 24 * 7);
+                bookings.add(booking(room, DAY.plusMinutes(startMinute),
+                        DAY.plusMinutes(startMinute + 15 + random.nextInt(240))));
+            }
+            RoomAvailabilityIndex index = RoomAvailabilityIndex.build(new ArrayList<>(bookings));
+
+            for (int q = 0; q < 2_000; q++) {
+                int room = 1 + random.nextInt(21);
+                LocalDateTime start = DAY.plusMinutes(random.nextInt(60 * 24 * 7));
+                LocalDateTime end = start.plusMinutes(1 + random.nextInt(180));
+
+                Booking found = index.findOverlapping(room, start, end);
+                boolean expected = bookings.stream().anyMatch(b -> b.getRoom().getRoom_id() == room
+                        && b.getStartTime().isBefore(end) && b.getEndTime().isAfter(start));
+                assertEquals(expected, found != null, "size " + size + ", query " + q);
+                if (found != null) {
+                    assertEquals(room, found.getRoom().getRoom_id());
+                    assertTrue(found.getStartTime().isBefore(end) && found.getEndTime().isAfter(start));
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private static Booking booking(int roomId, int startHour, int startMinute, int endHour, int endMinute) {
+        return booking(roomId, at(startHour, startMinute), at(endHour, endMinute));
+    }
+
+    private static Booking booking(int roomId, LocalDateTime start, LocalDateTime end) {
+        Room room = new Room();
+        room.setRoom_id(roomId);
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        return booking;
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.BookingIntervalDTO;
+import com.university.backend.dto.RoomAvailabilityDTO;
+import com.university.backend.dto.RoomDTO;
+import com.university.backend.dto.RoomDailyAvailabilityDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomOccupancyBitmapTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 10);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 16);
+
+    @Test
+    void roomWithoutBookingsIsFree() {
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, TO, List.of(interval(2, 0, "09:00", 0, "10:00")));
+
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(0, 0), LocalTime.of(23, 45)));
+    }
+
+    @Test
+    void backToBackSlotsDoNotOverlap() {
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, TO, List.of(interval(1, 0, "09:30", 0, "11:00")));
+
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(8, 0), LocalTime.of(9, 30)));
+        assertTrue(bitmap.isOccupied(1, 0, LocalTime.of(9, 30), LocalTime.of(11, 0)));
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(11, 0), LocalTime.of(12, 30)));
+        assertFalse(bitmap.isOccupied(1, 1, LocalTime.of(9, 30), LocalTime.of(11, 0)));
+    }
+
+    @Test
+    void partlyCoveredQuantaCountAsOccupied() {
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, TO, List.of(interval(1, 0, "09:05", 0, "09:20")));
+
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(8, 45), LocalTime.of(9, 0)));
+        assertTrue(bitmap.isOccupied(1, 0, LocalTime.of(9, 0), LocalTime.of(9, 15)));
+        assertTrue(bitmap.isOccupied(1, 0, LocalTime.of(9, 15), LocalTime.of(9, 30)));
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(9, 30), LocalTime.of(10, 0)));
+        // A slot boundary inside a quantum still sees that quantum
+        assertTrue(bitmap.isOccupied(1, 0, LocalTime.of(9, 25), LocalTime.of(9, 40)));
+    }
+
+    @Test
+    void bookingAcrossMidnightSpansBothDays() {
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, TO, List.of(interval(1, 2, "22:00", 3, "02:00")));
+
+        assertFalse(bitmap.isOccupied(1, 2, LocalTime.of(20, 0), LocalTime.of(22, 0)));
+        assertTrue(bitmap.isOccupied(1, 2, LocalTime.of(23, 0), LocalTime.of(23, 45)));
+        assertTrue(bitmap.isOccupied(1, 3, LocalTime.of(0, 0), LocalTime.of(1, 0)));
+        assertFalse(bitmap.isOccupied(1, 3, LocalTime.of(2, 0), LocalTime.of(3, 0)));
+    }
+
+    @Test
+    void bookingsBeyondTheRangeAreClipped() {
+        List<BookingIntervalDTO> bookings = List.of(
+                new BookingIntervalDTO(1, FROM.minusDays(1).atTime(20, 0), FROM.atTime(1, 0)),
+                new BookingIntervalDTO(1, TO.atTime(23, 0), TO.plusDays(2).atTime(10, 0)),
+                new BookingIntervalDTO(2, FROM.minusDays(5).atStartOfDay(), FROM.minusDays(4).atStartOfDay()));
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, TO, bookings);
+
+        assertTrue(bitmap.isOccupied(1, 0, LocalTime.of(0, 0), LocalTime.of(0, 15)));
+        assertFalse(bitmap.isOccupied(1, 0, LocalTime.of(1, 0), LocalTime.of(2, 0)));
+        assertTrue(bitmap.isOccupied(1, 6, LocalTime.of(23, 0), LocalTime.of(23, 45)));
+        assertFalse(bitmap.isOccupied(2, 0, LocalTime.of(0, 0), LocalTime.of(23, 45)));
+    }
+
+    @Test
+    void rangeEmitsEveryDayInOrderWithBookedSlots() {
+        List<RoomDTO> rooms = List.of(
+                RoomDTO.builder().id(1).roomCode("A-101").capacity(30).roomType("Lecture").build(),
+                RoomDTO.builder().id(2).roomCode("B-202").capacity(20).roomType("Lab").build());
+        List<DailySlot> slots = List.of(DailySlot.parse("08:00-09:30"), DailySlot.parse("09:30-11:00"));
+        RoomOccupancyBitmap bitmap = RoomOccupancyBitmap.build(FROM, FROM.plusDays(2),
+                List.of(interval(1, 1, "09:30", 1, "11:00")));
+
+        List<RoomDailyAvailabilityDTO> days = new ArrayList<>();
+        new RoomAvailabilityRange(FROM, FROM.plusDays(2), rooms, slots, bitmap).forEachDay(days::add);
+
+        assertEquals(3, days.size());
+        for (int i = 0; i < days.size(); i++) {
+            RoomDailyAvailabilityDTO day = days.get(i);
+            assertEquals(FROM.plusDays(i), day.getDate());
+            assertEquals(4, day.getSlots().size());
+            for (RoomAvailabilityDTO slot : day.getSlots()) {
+                boolean booked = i == 1 && slot.getId() == 1 && slot.getTimeSlot().equals("09:30-11:00");
+                assertEquals(booked ? "Booked" : "Free", slot.getStatus(), day.getDate() + " " + slot.getTimeSlot());
+            }
+        }
+    }
+
+    private static BookingIntervalDTO interval(int roomId, int startDay, String start, int endDay, String end) {
+        LocalDateTime startTime = FROM.plusDays(startDay).atTime(LocalTime.parse(start));
+        LocalDateTime endTime = FROM.plusDays(endDay).atTime(LocalTime.parse(end));
+        return new BookingIntervalDTO(roomId, startTime, endTime);
+    }
+}
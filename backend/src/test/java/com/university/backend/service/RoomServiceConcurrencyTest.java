@@ -0,0 +1,181 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.BookingRequestDTO;
+import com.university.backend.model.Booking;
+import com.university.backend.model.BookingStatus;
+import com.university.backend.model.Professor;
+import com.university.backend.model.Room;
+import com.university.backend.repository.BookingRepository;
+import com.university.backend.repository.BookingStatusRepository;
+import com.university.backend.repository.RoomRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires many overlapping createBooking calls at RoomService, backed by an in-memory booking table whose
+ * conflict check is deliberately slow, so any gap between the check and the insert would let several
+ * bookings through. Covers the in-process room lock; the room row lock that serializes other nodes
+ * needs a real database and is not exercised here.
+ */
+class RoomServiceConcurrencyTest {
+
+    private static final LocalDateTime SLOT_START = LocalDateTime.of(2025, 3, 10, 9, 30);
+
+    private final List<Booking> table = new CopyOnWriteArrayList<>();
+    private final AtomicInteger checksInFlight = new AtomicInteger();
+    private final AtomicInteger maxChecksInFlight = new AtomicInteger();
+    private RoomService roomService;
+
+    @BeforeEach
+    void setUp() {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        BookingStatusRepository bookingStatusRepository = mock(BookingStatusRepository.class);
+        StaffMemberRepository staffMemberRepository = mock(StaffMemberRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        when(roomRepository.findByIdForUpdate(anyInt())).thenAnswer(invocation -> {
+            Room room = new Room();
+            room.setRoom_id(invocation.getArgument(0));
+            return Optional.of(room);
+        });
+        when(bookingRepository.findConflictingBookings(anyInt(), any(), any())).thenAnswer(invocation -> {
+            int roomId = invocation.getArgument(0);
+            LocalDateTime start = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            List<Booking> conflicts = new ArrayList<>();
+            for (Booking booking : table) {
+                if (booking.getRoom().getRoom_id() == roomId
+                        && booking.getStartTime().isBefore(end) && booking.getEndTime().isAfter(start)) {
+                    conflicts.add(booking);
+                }
+            }
+            // Widen the check-then-insert window, and record how many checks overlap in time
+            maxChecksInFlight.accumulateAndGet(checksInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } finally {
+                checksInFlight.decrementAndGet();
+            }
+            return conflicts;
+        });
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            table.add(booking);
+            return booking;
+        });
+        when(staffMemberRepository.findById(anyInt())).thenReturn(Optional.of(new Professor()));
+        when(bookingStatusRepository.findById(anyInt())).thenReturn(Optional.of(new BookingStatus()));
+
+        roomService = new RoomService(roomRepository, bookingRepository, bookingStatusRepository,
+                staffMemberRepository, new TransactionTemplate(transactionManager), mock(JdbcTemplate.class));
+    }
+
+    @Test
+    void exactlyOneOfManyOverlappingBookingsWins() throws Exception {
+        int requests = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                // Every request overlaps 10:00-10:15, each with a different start and end
+                LocalDateTime requestStart = SLOT_START.plusMinutes(i % 30);
+                BookingRequestDTO request = request(1, requestStart, requestStart.plusMinutes(45 + i % 20));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        roomService.createBooking(request, 7);
+                        won.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, won.get());
+        assertEquals(1, maxChecksInFlight.get());
+        assertEquals(requests - 1, rejected.get());
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void differentRoomsBookInParallel() throws Exception {
+        int rooms = 64;
+        int bookingsPerRoom = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int room = 1; room <= rooms; room++) {
+                for (int i = 0; i < bookingsPerRoom; i++) {
+                    // Consecutive, non-overlapping slots in each room
+                    LocalDateTime requestStart = SLOT_START.plusHours(i);
+                    BookingRequestDTO request = request(room, requestStart, requestStart.plusHours(1));
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return roomService.createBooking(request, 7);
+                    }));
+                }
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            System.out.printf("RoomService: %d bookings over %d rooms in %.0f ms (%.0f bookings/s, 1 ms simulated check)%n",
+                    futures.size(), rooms, seconds * 1000, futures.size() / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(rooms * bookingsPerRoom, table.size());
+        // Rooms on different stripes must not wait for each other
+        assertTrue(maxChecksInFlight.get() > 1, "conflict checks never overlapped");
+    }
+
+    private static BookingRequestDTO request(int roomId, LocalDateTime start, LocalDateTime end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setRoomId(roomId);
+        request.setPurpose("Lecture");
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return request;
+    }
+}
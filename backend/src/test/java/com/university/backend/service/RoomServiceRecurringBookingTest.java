@@ -0,0 +1,90 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.RecurringBookingRequestDTO;
+import com.university.backend.repository.BookingRepository;
+import com.university.backend.repository.BookingStatusRepository;
+import com.university.backend.repository.RoomRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Request validation of recurring bookings: every invalid request must fail with IllegalArgumentException
+ * (400) before any database work.
+ */
+class RoomServiceRecurringBookingTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RoomService roomService = new RoomService(roomRepository, mock(BookingRepository.class),
+            mock(BookingStatusRepository.class), mock(StaffMemberRepository.class),
+            new TransactionTemplate(transactionManager), mock(JdbcTemplate.class));
+
+    @Test
+    void rejectsMissingPurpose() {
+        RecurringBookingRequestDTO request = validRequest();
+        request.setPurpose(null);
+        assertRejected(request);
+
+        request.setPurpose("  ");
+        assertRejected(request);
+    }
+
+    @Test
+    void rejectsNullDayOfWeek() {
+        RecurringBookingRequestDTO request = validRequest();
+        request.setDaysOfWeek(new ArrayList<>(Arrays.asList(DayOfWeek.MONDAY, null)));
+        assertRejected(request);
+    }
+
+    @Test
+    void rejectsEmptyPatternAndInvertedRanges() {
+        RecurringBookingRequestDTO request = validRequest();
+        request.setDaysOfWeek(List.of());
+        assertRejected(request);
+
+        request = validRequest();
+        request.setEndDate(request.getStartDate().minusDays(1));
+        assertRejected(request);
+
+        request = validRequest();
+        request.setEndTime(request.getStartTime());
+        assertRejected(request);
+
+        request = validRequest();
+        request.setDaysOfWeek(List.of(DayOfWeek.SUNDAY));
+        request.setEndDate(request.getStartDate().plusDays(2));
+        assertRejected(request);
+    }
+
+    private void assertRejected(RecurringBookingRequestDTO request) {
+        assertThrows(IllegalArgumentException.class, () -> roomService.createRecurringBooking(request, 7));
+        verifyNoInteractions(roomRepository, transactionManager);
+    }
+
+    // Monday 2025-03-10 to Friday 2025-03-14
+    private static RecurringBookingRequestDTO validRequest() {
+        RecurringBookingRequestDTO request = new RecurringBookingRequestDTO();
+        request.setRoomId(1);
+        request.setPurpose("Lecture");
+        request.setStartDate(LocalDate.of(2025, 3, 10));
+        request.setEndDate(LocalDate.of(2025, 3, 14));
+        request.setStartTime(LocalTime.of(9, 30));
+        request.setEndTime(LocalTime.of(11, 0));
+        request.setDaysOfWeek(List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+        return request;
+    }
+}
@@ -0,0 +1,187 @@
+package com.university.backend.service;
+
+import com.university.backend.model.OfficeHourSlot;
+import com.university.backend.model.Professor;
+import com.university.backend.model.Student;
+import com.university.backend.repository.CourseRepository;
+import com.university.backend.repository.OfficeHourSlotRepository;
+import com.university.backend.repository.ProfessorRepository;
+import com.university.backend.repository.StaffMemberRepository;
+import com.university.backend.repository.StudentRepository;
+import com.university.backend.repository.TARepository;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contention on office hour booking. The repository fake applies tryBookSlot's conditions (slot still
+ * available, no other booking with the same staff member that day) atomically, as the UPDATE does in
+ * the database; the tests check that the service leaves the decision to it and reports the outcome.
+ */
+class StaffDirectoryServiceBookingTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(7).toLocalDate().atStartOfDay();
+
+    private final OfficeHourSlotRepository officeHourSlotRepository = mock(OfficeHourSlotRepository.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final OfficeHourAvailabilityCache officeHourAvailabilityCache = mock(OfficeHourAvailabilityCache.class);
+    private final HttpSession session = mock(HttpSession.class);
+    private final ThreadLocal<Integer> sessionUserId = new ThreadLocal<>();
+
+    private final Professor professor = new Professor();
+    private final Map<Integer, OfficeHourSlot> slots = new HashMap<>();
+    // slot id -> booking student id, guarded by slots
+    private final Map<Integer, Integer> bookedBy = new HashMap<>();
+
+    private StaffDirectoryService service;
+
+    @BeforeEach
+    void setUp() {
+        professor.setUserId(1);
+        professor.setFirstName("Mona");
+        professor.setLastName("Adel");
+
+        when(session.getAttribute("userID")).thenAnswer(invocation -> sessionUserId.get());
+        when(studentRepository.findById(anyInt())).thenAnswer(invocation -> {
+            Student student = new Student();
+            student.setUserId(invocation.getArgument(0));
+            student.setFirstName("Student");
+            student.setLastName(String.valueOf(student.getUserId()));
+            return Optional.of(student);
+        });
+        when(officeHourSlotRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(slots.get(invocation.<Integer>getArgument(0))));
+        when(officeHourSlotRepository.tryBookSlot(anyInt(), any(Student.class), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            Integer slotId = invocation.getArgument(0);
+            Integer studentId = invocation.<Student>getArgument(1).getUserId();
+            LocalDateTime dayStart = invocation.getArgument(4);
+            LocalDateTime dayEnd = invocation.getArgument(5);
+            synchronized (slots) {
+                if (bookedBy.containsKey(slotId)) {
+                    return 0;
+                }
+                for (Map.Entry<Integer, Integer> booking : bookedBy.entrySet()) {
+                    LocalDateTime start = slots.get(booking.getKey()).getStartTime();
+                    if (booking.getValue().equals(studentId) && !start.isBefore(dayStart) && start.isBefore(dayEnd)) {
+                        return 0;
+                    }
+                }
+                bookedBy.put(slotId, studentId);
+                return 1;
+            }
+        });
+        when(officeHourSlotRepository.existsStudentBookingWithStaff(anyInt(), anyInt(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            synchronized (slots) {
+                return bookedBy.containsValue(invocation.<Integer>getArgument(0));
+            }
+        });
+
+        service = new StaffDirectoryService(mock(StaffMemberRepository.class), mock(ProfessorRepository.class),
+                mock(TARepository.class), officeHourSlotRepository, mock(CourseRepository.class), studentRepository,
+                mock(StaffSearchIndex.class), officeHourAvailabilityCache, session);
+    }
+
+    @Test
+    void hundredsOfStudentsRacingForOneSlotYieldOneBooking() throws Exception {
+        addSlot(10, DAY.plusHours(10));
+
+        List<String> outcomes = runConcurrently(300, i -> book(1000 + i, 10));
+
+        assertEquals(1, count(outcomes, "booked"));
+        assertEquals(299, count(outcomes, "This time slot is no longer available"));
+        assertEquals(1, bookedBy.size());
+        verify(officeHourAvailabilityCache, times(1)).slotsChanged(1);
+    }
+
+    @Test
+    void oneStudentRacingForSeveralSlotsOnOneDayGetsOne() throws Exception {
+        for (int slotId = 20; slotId < 30; slotId++) {
+            addSlot(slotId, DAY.plusHours(8).plusMinutes(30L * (slotId - 20)));
+        }
+        addSlot(30, DAY.plusDays(1).plusHours(9));
+
+        // Double-clicks and parallel tabs: every request of student 7 for a slot on the same day
+        List<String> outcomes = runConcurrently(200, i -> book(7, 20 + i % 10));
+
+        assertEquals(1, count(outcomes, "booked"));
+        assertEquals(199, count(outcomes, "You already have a booking with this staff member for this date"));
+        assertEquals(1, bookedBy.size());
+
+        // Another day is still open to them
+        assertEquals("booked", book(7, 30));
+    }
+
+    private String book(int studentId, int slotId) {
+        sessionUserId.set(studentId);
+        try {
+            service.bookOfficeHourSlot(slotId, "Questions");
+            return "booked";
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        } finally {
+            sessionUserId.remove();
+        }
+    }
+
+    private List<String> runConcurrently(int attempts, IntFunction<String> attempt)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.apply(index);
+                }));
+            }
+            start.countDown();
+            List<String> outcomes = new ArrayList<>();
+            for (Future<String> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addSlot(int id, LocalDateTime start) {
+        OfficeHourSlot slot = new OfficeHourSlot();
+        slot.setId(id);
+        slot.setStaffMember(professor);
+        slot.setStartTime(start);
+        slot.setEndTime(start.plusMinutes(30));
+        slot.setStatus(OfficeHourSlot.SlotStatus.AVAILABLE);
+        slots.put(id, slot);
+    }
+
+    private static long count(List<String> outcomes, String value) {
+        return outcomes.stream().filter(value::equals).count();
+    }
+}
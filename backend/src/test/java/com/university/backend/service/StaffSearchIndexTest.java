@@ -0,0 +1,196 @@
+package com.university.backend.service;
+
+import com.university.backend.dto.StaffDirectoryRowDTO;
+import com.university.backend.repository.StaffMemberRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffSearchIndexTest {
+
+    private final StaffMemberRepository staffMemberRepository = mock(StaffMemberRepository.class);
+    private final StaffSearchIndex index = new StaffSearchIndex(staffMemberRepository);
+
+    @Test
+    void longQueriesMatchAnywhereInNameOrEmail() {
+        when(staffMemberRepository.findDirectoryRows()).thenReturn(List.of(
+                row(1, "Mohamed", "Hassan", "mhassan@uni.edu", "Professor"),
+                row(2, "Sara", "Mahmoud", "sara.m@uni.edu", "Teaching Assistant"),
+                row(3, "Omar", "Khaled", "okhaled@uni.edu", "Professor")));
+
+        assertEquals(List.of(1), ids(index.search("assa", null, null, 10)));
+        assertEquals(List.of(2), ids(index.search("MAH", null, null, 10)));
+        assertEquals(List.of(1, 3, 2), ids(index.search("uni.edu", null, null, 10)));
+        assertEquals(List.of(2), ids(index.search("sara mah", null, null, 10)));
+        assertEquals(List.of(3), ids(index.search("okhal", null, null, 10)));
+        assertEquals(List.of(2), ids(index.search("uni", "Teaching Assistant", null, 10)));
+        // All trigrams present, but never contiguous in one field
+        assertEquals(List.of(), ids(index.search("hassanmahmoud", null, null, 10)));
+        assertEquals(List.of(), ids(index.search("xyz", null, null, 10)));
+    }
+
+    @Test
+    void shortQueriesMatchWordPrefixesOnly() {
+        when(staffMemberRepository.findDirectoryRows()).thenReturn(List.of(
+                row(1, "Mohamed", "Hassan", "mhassan@uni.edu", "Professor"),
+                row(2, "Sara", "Mahmoud", "sara.m@uni.edu", "Teaching Assistant"),
+                row(3, "Omar", "Khaled", "okhaled@uni.edu", "Professor")));
+
+        assertEquals(List.of(1, 2), ids(index.search("m", null, null, 10)));
+        assertEquals(List.of(1), ids(index.search("ha", null, null, 10)));
+        // "am" is inside "Mohamed" and "Omar" but starts no word
+        assertEquals(List.of(), ids(index.search("am", null, null, 10)));
+        // Email words count as well: "uni" in "@uni.edu", "m" after the dot
+        assertEquals(List.of(2), ids(index.search("m", "Teaching Assistant", null, 10)));
+    }
+
+    @Test
+    void pagesFollowDirectoryOrderAcrossCursors() {
+        List<StaffDirectoryRowDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Same last name for every row: ordering falls back to first name, then user id
+            rows.add(row(100 - i, "Amir" + (char) ('a' + i % 5), "Adel", "staff" + i + "@uni.edu", "Professor"));
+        }
+        when(staffMemberRepository.findDirectoryRows()).thenReturn(rows);
+
+        for (String query : new String[]{"a", "adel"}) {
+            List<Integer> all = ids(index.search(query, null, null, 100));
+            assertEquals(25, all.size());
+
+            List<Integer> paged = new ArrayList<>();
+            StaffDirectoryCursor cursor = null;
+            while (true) {
+                List<StaffSearchIndex.Entry> page = index.search(query, null, cursor, 7);
+                if (page.isEmpty()) {
+                    break;
+                }
+                paged.addAll(ids(page));
+                StaffDirectoryRowDTO last = page.get(page.size() - 1).row;
+                // Through the wire format, as the controller sees it
+                cursor = StaffDirectoryCursor.decode(
+                        new StaffDirectoryCursor(last.getLastName(), last.getFirstName(), last.getUserId()).encode());
+            }
+            assertEquals(all, paged);
+        }
+    }
+
+    @Test
+    void cursorRoundTripsAndRejectsGarbage() {
+        StaffDirectoryCursor cursor = StaffDirectoryCursor.decode(
+                new StaffDirectoryCursor("El-Sayed", "Nour\nAli", 42).encode());
+        assertEquals("El-Sayed", cursor.lastName);
+        assertEquals("Nour\nAli", cursor.firstName);
+        assertEquals(42, cursor.userId);
+
+        assertNull(StaffDirectoryCursor.decode(null));
+        assertNull(StaffDirectoryCursor.decode("  "));
+        assertThrows(IllegalArgumentException.class, () -> StaffDirectoryCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> StaffDirectoryCursor.decode(encodeRaw("42\nonly-one")));
+        assertThrows(IllegalArgumentException.class, () -> StaffDirectoryCursor.decode(encodeRaw("x\nA\nB")));
+    }
+
+    @Test
+    void changedUsersAreReloadedBeforeTheNextSearch() {
+        when(staffMemberRepository.findDirectoryRows()).thenReturn(List.of(
+                row(1, "Mohamed", "Hassan", "mhassan@uni.edu", "Professor")));
+        assertEquals(List.of(1), ids(index.search("hassan", null, null, 10)));
+
+        when(staffMemberRepository.findDirectoryRowsByIds(List.of(1)))
+                .thenReturn(List.of(row(1, "Mohamed", "Fathy", "mfathy@uni.edu", "Professor")));
+        index.markChanged(1);
+
+        assertEquals(List.of(), ids(index.search("hassan", null, null, 10)));
+        assertEquals(List.of(1), ids(index.search("fathy", null, null, 10)));
+
+        // No longer staff: dropped
+        when(staffMemberRepository.findDirectoryRowsByIds(List.of(1))).thenReturn(List.of());
+        index.markChanged(1);
+        assertEquals(List.of(), ids(index.search("fathy", null, null, 10)));
+    }
+
+    @Test
+    void reloadThatReadAnOlderRowIsNeverAppliedLast() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch olderReadStarted = new CountDownLatch(1);
+        CountDownLatch newerReadDone = new CountDownLatch(1);
+        when(staffMemberRepository.findDirectoryRows())
+                .thenReturn(List.of(row(1, "v0", "Hassan", "mhassan@uni.edu", "Professor")));
+        when(staffMemberRepository.findDirectoryRowsByIds(anyList())).thenAnswer(invocation -> {
+            int read = version.get();
+            if (read == 1) {
+                // Hold the older row until a newer reload has read (and had time to apply) its row.
+                // With reloads serialized the newer one cannot start, so this just times out.
+                olderReadStarted.countDown();
+                if (newerReadDone.await(300, TimeUnit.MILLISECONDS)) {
+                    Thread.sleep(50);
+                }
+            } else {
+                newerReadDone.countDown();
+            }
+            return List.of(row(1, "v" + read, "Hassan", "mhassan@uni.edu", "Professor"));
+        });
+        index.search("hassan", null, null, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            version.set(1);
+            index.markChanged(1);
+            Future<?> older = executor.submit(() -> index.search("hassan", null, null, 10));
+            assertTrue(olderReadStarted.await(5, TimeUnit.SECONDS));
+
+            version.set(2);
+            index.markChanged(1);
+            Future<?> newer = executor.submit(() -> index.search("hassan", null, null, 10));
+
+            older.get(5, TimeUnit.SECONDS);
+            newer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<StaffSearchIndex.Entry> result = index.search("hassan", null, null, 10);
+        assertEquals(1, result.size());
+        assertEquals("v2", result.get(0).row.getFirstName());
+    }
+
+    @Test
+    void nonPositiveLimitOrBlankQueryReturnsNothing() {
+        when(staffMemberRepository.findDirectoryRows()).thenReturn(List.of(
+                row(1, "Mohamed", "Hassan", "mhassan@uni.edu", "Professor")));
+
+        assertTrue(index.search("  ", null, null, 10).isEmpty());
+        assertTrue(index.search("m", null, null, 0).isEmpty());
+    }
+
+    private static StaffDirectoryRowDTO row(int userId, String first, String last, String email, String type) {
+        return new StaffDirectoryRowDTO(userId, first, last, email, "CS", false, type);
+    }
+
+    private static List<Integer> ids(List<StaffSearchIndex.Entry> entries) {
+        List<Integer> ids = new ArrayList<>();
+        for (StaffSearchIndex.Entry entry : entries) {
+            ids.add(entry.row.getUserId());
+        }
+        return ids;
+    }
+
+    private static String encodeRaw(String raw) {
+        return java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,196 @@
+package com.university.backend.session;
+
+import com.university.backend.dto.LoginPrincipalDTO;
+import com.university.backend.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AuthTokenService service = new AuthTokenService(SECRET, 60, 12, accountRepository);
+
+    @Test
+    void issuedTokenVerifiesToTheSamePrincipal() {
+        long before = now();
+        String token = service.issue(42, "Professor", 7);
+
+        RequestPrincipal principal = service.verify(token);
+        assertNotNull(principal);
+        assertEquals(42, principal.getUserId());
+        assertEquals("Professor", principal.getRole());
+        assertEquals(7, principal.getAccountId());
+        assertTrue(principal.getAuthTime() >= before && principal.getAuthTime() <= now());
+        assertEquals(principal.getAuthTime() + 3600, principal.getExpiresAt(), 1);
+        assertTrue(token.length() < 120, token);
+    }
+
+    @Test
+    void nullIdsAndRoleRoundTrip() {
+        RequestPrincipal principal = service.verify(service.issue(null, null, null));
+
+        assertNotNull(principal);
+        assertNull(principal.getUserId());
+        assertNull(principal.getRole());
+        assertNull(principal.getAccountId());
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String token = service.issue(42, "Student", 7);
+        int dot = token.indexOf('.');
+        byte[] payload = DECODER.decode(token.substring(0, dot));
+        byte[] signature = DECODER.decode(token.substring(dot + 1));
+
+        // Another user id, same signature
+        byte[] otherUser = payload.clone();
+        otherUser[4] ^= 1;
+        assertNull(service.verify(ENCODER.encodeToString(otherUser) + token.substring(dot)));
+
+        // Role escalated, same signature
+        byte[] escalated = ByteBuffer.allocate(payload.length - "Student".length() + "Admin".length())
+                .put(payload, 0, payload.length - "Student".length())
+                .put("Admin".getBytes(StandardCharsets.UTF_8)).array();
+        assertNull(service.verify(ENCODER.encodeToString(escalated) + token.substring(dot)));
+
+        // Flipped signature bit, truncated signature
+        byte[] badSignature = signature.clone();
+        badSignature[signature.length - 1] ^= 1;
+        assertNull(service.verify(token.substring(0, dot + 1) + ENCODER.encodeToString(badSignature)));
+        assertNull(service.verify(token.substring(0, token.length() - 4)));
+
+        // Signed by a node with a different secret
+        AuthTokenService other = new AuthTokenService("fedcba9876543210fedcba9876543210", 60, 12, accountRepository);
+        assertNull(service.verify(other.issue(42, "Student", 7)));
+
+        assertEquals(5L, service.getMetrics().get("rejected"));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String token : new String[]{null, "", ".", "abc", "abc.", ".abc", "!!!.???", "AAAA.AAAA"}) {
+            assertNull(service.verify(token), String.valueOf(token));
+        }
+    }
+
+    @Test
+    void validlySignedButExpiredOrForeignPayloadsAreRejected() {
+        long now = now();
+
+        assertNotNull(service.verify(signed(payload((byte) 2, now + 60, now))));
+        // Expired
+        assertNull(service.verify(signed(payload((byte) 2, now - 1, now - 3600))));
+        // Not yet expired, but the login is older than the maximum session age
+        assertNull(service.verify(signed(payload((byte) 2, now + 60, now - 12 * 3600))));
+        // Older token format
+        assertNull(service.verify(signed(payload((byte) 1, now + 60, now))));
+        // Shorter than the fixed layout
+        assertNull(service.verify(signed(new byte[]{2, 0, 0, 0, 42})));
+    }
+
+    @Test
+    void secretMustBeLongEnough() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenService(null, 60, 12, accountRepository));
+        assertThrows(IllegalStateException.class, () -> new AuthTokenService("", 60, 12, accountRepository));
+        assertThrows(IllegalStateException.class, () -> new AuthTokenService(" ".repeat(40), 60, 12, accountRepository));
+        assertThrows(IllegalStateException.class,
+                () -> new AuthTokenService("x".repeat(31), 60, 12, accountRepository));
+    }
+
+    @Test
+    void refreshKeepsLoginTimeForActiveAccountWithSameRole() {
+        when(accountRepository.findLoginPrincipalByAccountId(7))
+                .thenReturn(Optional.of(account(7, "Student", true)));
+        long authTime = now() - 1800;
+
+        RequestPrincipal refreshed = service.verify(service.refresh(principal(authTime)));
+
+        assertNotNull(refreshed);
+        assertEquals(42, refreshed.getUserId());
+        assertEquals(authTime, refreshed.getAuthTime());
+        assertEquals(1L, service.getMetrics().get("refreshed"));
+    }
+
+    @Test
+    void refreshNeverExtendsPastTheMaximumSessionAge() {
+        when(accountRepository.findLoginPrincipalByAccountId(7))
+                .thenReturn(Optional.of(account(7, "Student", true)));
+        long authTime = now() - 12 * 3600 + 600;
+
+        RequestPrincipal refreshed = service.verify(service.refresh(principal(authTime)));
+
+        assertNotNull(refreshed);
+        assertEquals(authTime + 12 * 3600, refreshed.getExpiresAt());
+    }
+
+    @Test
+    void refreshIsRefusedForOldSessionsAndChangedAccounts() {
+        // Past the maximum session age: refused without a lookup
+        assertNull(service.refresh(principal(now() - 12 * 3600)));
+        verify(accountRepository, never()).findLoginPrincipalByAccountId(anyInt());
+
+        when(accountRepository.findLoginPrincipalByAccountId(7)).thenReturn(Optional.empty());
+        assertNull(service.refresh(principal(now())));
+
+        when(accountRepository.findLoginPrincipalByAccountId(7))
+                .thenReturn(Optional.of(account(7, "Student", false)));
+        assertNull(service.refresh(principal(now())));
+
+        when(accountRepository.findLoginPrincipalByAccountId(7))
+                .thenReturn(Optional.of(account(7, "Teaching Assistant", true)));
+        assertNull(service.refresh(principal(now())));
+
+        assertNull(service.refresh(new RequestPrincipal(42, "Student", null, now() + 60, now())));
+
+        assertEquals(5L, service.getMetrics().get("revoked"));
+    }
+
+    private static RequestPrincipal principal(long authTime) {
+        return new RequestPrincipal(42, "Student", 7, authTime + 3600, authTime);
+    }
+
+    private static LoginPrincipalDTO account(int accountId, String role, boolean active) {
+        return new LoginPrincipalDTO(accountId, "s@uni.edu", "hash", role, 42, active);
+    }
+
+    private static byte[] payload(byte version, long expiresAt, long authTime) {
+        byte[] role = "Student".getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + 4 + 4 + 8 + 8 + role.length)
+                .put(version).putInt(42).putInt(7).putLong(expiresAt).putLong(authTime).put(role).array();
+    }
+
+    private static String signed(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac.doFinal(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}